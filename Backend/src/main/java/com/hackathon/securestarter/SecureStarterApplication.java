@@ -2,8 +2,12 @@ package com.hackathon.securestarter;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.resilience.annotation.EnableResilientMethods;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableResilientMethods
 public class SecureStarterApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,95 @@
+package com.hackathon.securestarter.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated, bounded executors for background work.
+ * Each workload gets its own pool so one cannot starve another.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${analytics.backfill.threads:4}")
+    private int backfillThreads;
+
+    @Value("${analytics.backfill.queue-capacity:500}")
+    private int backfillQueueCapacity;
+
+    @Value("${dashboard.stream.threads:2}")
+    private int streamThreads;
+
+    @Value("${dashboard.stream.queue-capacity:1000}")
+    private int streamQueueCapacity;
+
+    @Value("${email.dispatcher.threads:2}")
+    private int emailThreads;
+
+    @Value("${auth.password-hash.threads:0}") // 0 = one per CPU core
+    private int passwordHashThreads;
+
+    @Value("${auth.password-hash.queue-capacity:64}")
+    private int passwordHashQueueCapacity;
+
+    @Bean(name = "summaryBackfillExecutor")
+    public ThreadPoolTaskExecutor summaryBackfillExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(backfillThreads);
+        executor.setMaxPoolSize(backfillThreads);
+        executor.setQueueCapacity(backfillQueueCapacity);
+        executor.setThreadNamePrefix("summary-backfill-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Writes queued status events to SSE subscribers, so publishing threads never block on a socket.
+     */
+    @Bean(name = "statusStreamExecutor")
+    public ThreadPoolTaskExecutor statusStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamThreads);
+        executor.setMaxPoolSize(streamThreads);
+        executor.setQueueCapacity(streamQueueCapacity);
+        executor.setThreadNamePrefix("status-stream-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Sends queued emails. One chunk per task and one SMTP connection per chunk;
+     * the dispatcher never has more chunks in flight than threads, so no queue is needed.
+     */
+    @Bean(name = "emailSenderExecutor")
+    public ThreadPoolTaskExecutor emailSenderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(emailThreads);
+        executor.setMaxPoolSize(emailThreads);
+        executor.setQueueCapacity(emailThreads);
+        executor.setThreadNamePrefix("email-sender-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs login password checks (BCrypt), so a login burst uses at most one thread per core.
+     * A full queue rejects at once and the login is answered with 429.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        int threads = passwordHashThreads > 0 ? passwordHashThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(passwordHashQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,51 @@
+package com.hackathon.securestarter.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    @Value("${jpa.jdbc-batch-size:50}")
+    private int jdbcBatchSize;
+
+    /**
+     * Send flushed INSERTs/UPDATEs to the driver in JDBC batches.
+     * Ordering groups statements per entity type so mixed trip/vehicle/driver
+     * flushes (e.g. batch dispatch) still batch. Explicit spring.jpa.properties win.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", jdbcBatchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+
+    /**
+     * Let MySQL Connector/J honour fetch sizes (the export cursors ask for 500 rows at a time).
+     * Without useCursorFetch the driver ignores the fetch size and reads the whole result
+     * into memory. Only statements that set a fetch size use a server-side cursor.
+     * An explicit useCursorFetch in the JDBC URL or hikari data-source-properties wins.
+     */
+    @Bean
+    public static BeanPostProcessor mysqlCursorFetchPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")
+                        && !dataSource.getJdbcUrl().contains("useCursorFetch")) {
+                    dataSource.getDataSourceProperties().putIfAbsent("useCursorFetch", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
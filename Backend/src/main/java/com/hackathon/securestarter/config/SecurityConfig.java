@@ -2,6 +2,7 @@ package com.hackathon.securestarter.config;
 
 import com.hackathon.securestarter.security.JwtAuthenticationEntryPoint;
 import com.hackathon.securestarter.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,6 +52,9 @@ public class SecurityConfig {
 
                 // Authorization rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async re-dispatches (SSE completion) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // Public endpoints - No authentication required
                         .requestMatchers(
                                 "/api/auth/**"
@@ -1,15 +1,24 @@
 package com.hackathon.securestarter.controller;
 
+import com.hackathon.securestarter.dto.request.SummaryBackfillRequest;
+import com.hackathon.securestarter.dto.response.BackfillJobResponse;
+import com.hackathon.securestarter.dto.response.CacheStatsResponse;
 import com.hackathon.securestarter.dto.response.MonthlyFinancialSummaryResponse;
 import com.hackathon.securestarter.dto.response.VehicleCostResponse;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.enums.VehicleType;
 import com.hackathon.securestarter.service.AnalyticsService;
+import com.hackathon.securestarter.service.SummaryBackfillService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/analytics")
@@ -18,6 +27,7 @@ import java.util.List;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final SummaryBackfillService summaryBackfillService;
 
     // ===== READ Operations (FINANCIAL_ANALYST full, FLEET_MANAGER view) =====
 
@@ -32,9 +42,13 @@ public class AnalyticsController {
 
     @GetMapping("/vehicle-costs")
     @PreAuthorize("hasAnyRole('FINANCIAL_ANALYST', 'FLEET_MANAGER')")
-    public ResponseEntity<List<VehicleCostResponse>> getVehicleCosts() {
-        log.info("Vehicle cost analytics requested");
-        List<VehicleCostResponse> responses = analyticsService.getVehicleCosts();
+    public ResponseEntity<List<VehicleCostResponse>> getVehicleCosts(
+            @RequestParam(required = false) VehicleType type,
+            @RequestParam(required = false) VehicleStatus status,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        log.info("Vehicle cost analytics requested (type: {}, status: {}, page: {}, size: {})", type, status, page, size);
+        List<VehicleCostResponse> responses = analyticsService.getVehicleCosts(type, status, page, size);
         return ResponseEntity.ok(responses);
     }
 
@@ -55,6 +69,20 @@ public class AnalyticsController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/fleet-summary/cache-stats")
+    @PreAuthorize("hasAnyRole('FINANCIAL_ANALYST', 'FLEET_MANAGER')")
+    public ResponseEntity<CacheStatsResponse> getFleetSummaryCacheStats() {
+        CacheStatsResponse response = analyticsService.getFleetSummaryCacheStats();
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/backfill-summaries/{jobId}")
+    @PreAuthorize("hasAnyRole('FINANCIAL_ANALYST', 'FLEET_MANAGER')")
+    public ResponseEntity<BackfillJobResponse> getBackfillJob(@PathVariable UUID jobId) {
+        BackfillJobResponse response = summaryBackfillService.getJob(jobId);
+        return ResponseEntity.ok(response);
+    }
+
     // ===== WRITE Operations (FINANCIAL_ANALYST only — generate summaries) =====
 
     @PostMapping("/generate-summary")
@@ -74,4 +102,14 @@ public class AnalyticsController {
         MonthlyFinancialSummaryResponse response = analyticsService.generateCurrentMonthSummary();
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/backfill-summaries")
+    @PreAuthorize("hasRole('FINANCIAL_ANALYST')")
+    public ResponseEntity<BackfillJobResponse> backfillSummaries(
+            @Valid @RequestBody SummaryBackfillRequest request) {
+        log.info("Backfill monthly summaries from {}/{} to {}/{}",
+                request.getFromYear(), request.getFromMonth(), request.getToYear(), request.getToMonth());
+        BackfillJobResponse response = summaryBackfillService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
 }
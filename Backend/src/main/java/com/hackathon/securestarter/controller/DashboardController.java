@@ -1,14 +1,20 @@
 package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.response.DashboardResponse;
+import com.hackathon.securestarter.dto.response.StatusCountersResponse;
+import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.service.DashboardService;
+import com.hackathon.securestarter.service.StatusEventStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -17,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final StatusEventStream statusEventStream;
 
     /**
      * Dashboard is accessible to all authenticated roles.
@@ -29,4 +36,25 @@ public class DashboardController {
         DashboardResponse response = dashboardService.getDashboard();
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Live status counters behind the KPIs, with reconciliation drift metrics.
+     */
+    @GetMapping("/status-counters")
+    @PreAuthorize("hasAnyRole('FLEET_MANAGER', 'DISPATCHER', 'SAFETY_OFFICER', 'FINANCIAL_ANALYST')")
+    public ResponseEntity<StatusCountersResponse> getStatusCounters() {
+        StatusCountersResponse response = dashboardService.getStatusCounters();
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Server-Sent Events stream of trip, vehicle and driver status changes.
+     * Each client only receives the entity types its role can read.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('FLEET_MANAGER', 'DISPATCHER', 'SAFETY_OFFICER', 'FINANCIAL_ANALYST')")
+    public SseEmitter streamStatusEvents(@AuthenticationPrincipal User currentUser) {
+        log.info("Status stream opened by: {}", currentUser.getEmail());
+        return statusEventStream.subscribe(currentUser);
+    }
 }
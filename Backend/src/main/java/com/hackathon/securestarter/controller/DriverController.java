@@ -2,6 +2,7 @@ package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.request.CreateDriverRequest;
 import com.hackathon.securestarter.dto.request.UpdateDriverRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.DriverResponse;
 import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.entity.User;
@@ -103,6 +104,16 @@ public class DriverController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('SAFETY_OFFICER', 'FLEET_MANAGER', 'DISPATCHER')")
+    public ResponseEntity<CursorPageResponse<DriverResponse>> getDriversPage(
+            @RequestParam(required = false) DriverStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageResponse<DriverResponse> response = driverService.getDriversPage(status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/available")
     @PreAuthorize("hasAnyRole('SAFETY_OFFICER', 'FLEET_MANAGER', 'DISPATCHER')")
     public ResponseEntity<List<DriverResponse>> getAvailableDrivers() {
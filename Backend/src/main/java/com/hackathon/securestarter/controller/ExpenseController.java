@@ -2,11 +2,15 @@ package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.request.CreateExpenseRequest;
 import com.hackathon.securestarter.dto.request.UpdateExpenseRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.ExpenseResponse;
 import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.ExportFormat;
 import com.hackathon.securestarter.enums.ExpenseStatus;
 import com.hackathon.securestarter.service.ExpenseService;
+import com.hackathon.securestarter.util.ExportResponseWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +20,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +31,7 @@ import java.util.UUID;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExportResponseWriter exportResponseWriter;
 
     // ===== WRITE Operations (FINANCIAL_ANALYST only) =====
 
@@ -73,6 +79,16 @@ public class ExpenseController {
 
     // ===== READ Operations (FINANCIAL_ANALYST and FLEET_MANAGER) =====
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('FINANCIAL_ANALYST', 'FLEET_MANAGER')")
+    public void exportExpenses(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletResponse response) throws IOException {
+        log.info("Expense export requested as {}", format);
+        exportResponseWriter.write(response, format,
+                "expenses", ExpenseResponse.class, expenseService::exportExpenses);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('FINANCIAL_ANALYST', 'FLEET_MANAGER')")
     public ResponseEntity<ExpenseResponse> getExpenseById(@PathVariable UUID id) {
@@ -101,4 +117,14 @@ public class ExpenseController {
         }
         return ResponseEntity.ok(responses);
     }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('FINANCIAL_ANALYST', 'FLEET_MANAGER')")
+    public ResponseEntity<CursorPageResponse<ExpenseResponse>> getExpensesPage(
+            @RequestParam(required = false) ExpenseStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageResponse<ExpenseResponse> response = expenseService.getExpensesPage(status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 }
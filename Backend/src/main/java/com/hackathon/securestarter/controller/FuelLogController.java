@@ -1,10 +1,14 @@
 package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.request.CreateFuelLogRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.FuelLogResponse;
 import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.ExportFormat;
 import com.hackathon.securestarter.service.FuelLogService;
+import com.hackathon.securestarter.util.ExportResponseWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,6 +29,7 @@ import java.util.UUID;
 public class FuelLogController {
 
     private final FuelLogService fuelLogService;
+    private final ExportResponseWriter exportResponseWriter;
 
     // ===== WRITE Operations (FINANCIAL_ANALYST only) =====
 
@@ -49,6 +55,16 @@ public class FuelLogController {
 
     // ===== READ Operations (FINANCIAL_ANALYST and FLEET_MANAGER) =====
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('FINANCIAL_ANALYST', 'FLEET_MANAGER')")
+    public void exportFuelLogs(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletResponse response) throws IOException {
+        log.info("Fuel log export requested as {}", format);
+        exportResponseWriter.write(response, format,
+                "fuel-logs", FuelLogResponse.class, fuelLogService::exportFuelLogs);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('FINANCIAL_ANALYST', 'FLEET_MANAGER')")
     public ResponseEntity<FuelLogResponse> getFuelLogById(@PathVariable UUID id) {
@@ -71,4 +87,13 @@ public class FuelLogController {
         }
         return ResponseEntity.ok(responses);
     }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('FINANCIAL_ANALYST', 'FLEET_MANAGER')")
+    public ResponseEntity<CursorPageResponse<FuelLogResponse>> getFuelLogsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageResponse<FuelLogResponse> response = fuelLogService.getFuelLogsPage(cursor, size);
+        return ResponseEntity.ok(response);
+    }
 }
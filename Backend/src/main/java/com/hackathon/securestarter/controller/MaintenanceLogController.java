@@ -3,6 +3,7 @@ package com.hackathon.securestarter.controller;
 import com.hackathon.securestarter.dto.request.CreateMaintenanceLogRequest;
 import com.hackathon.securestarter.dto.request.UpdateMaintenanceLogRequest;
 import com.hackathon.securestarter.dto.request.UpdateMaintenanceStatusRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.MaintenanceLogResponse;
 import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.entity.User;
@@ -97,4 +98,14 @@ public class MaintenanceLogController {
         }
         return ResponseEntity.ok(responses);
     }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('FLEET_MANAGER', 'SAFETY_OFFICER', 'FINANCIAL_ANALYST')")
+    public ResponseEntity<CursorPageResponse<MaintenanceLogResponse>> getMaintenanceLogsPage(
+            @RequestParam(required = false) MaintenanceStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageResponse<MaintenanceLogResponse> response = maintenanceLogService.getMaintenanceLogsPage(status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -1,12 +1,31 @@
 package com.hackathon.securestarter.controller;
 
+import com.hackathon.securestarter.dto.request.AssignmentProposalRequest;
+import com.hackathon.securestarter.dto.request.BatchDispatchRequest;
 import com.hackathon.securestarter.dto.request.CancelTripRequest;
 import com.hackathon.securestarter.dto.request.CompleteTripRequest;
 import com.hackathon.securestarter.dto.request.CreateTripRequest;
+import com.hackathon.securestarter.dto.response.AssignmentProposalResponse;
+import com.hackathon.securestarter.dto.response.BatchDispatchResponse;
+import com.hackathon.securestarter.dto.response.ConsolidationPlanResponse;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
+import com.hackathon.securestarter.dto.response.OptimizedAssignmentResponse;
+import com.hackathon.securestarter.dto.response.TripImportResponse;
 import com.hackathon.securestarter.dto.response.TripResponse;
+import com.hackathon.securestarter.dto.response.TripTransitionResponse;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.ExportFormat;
 import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.service.TripAssignmentOptimizer;
+import com.hackathon.securestarter.service.TripConsolidationService;
+import com.hackathon.securestarter.service.TripImportService;
 import com.hackathon.securestarter.service.TripService;
+import com.hackathon.securestarter.service.TripTransitionLog;
+import com.hackathon.securestarter.service.VehicleAssignmentService;
+import com.hackathon.securestarter.util.ExportResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +35,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +48,12 @@ import java.util.UUID;
 public class TripController {
 
     private final TripService tripService;
+    private final TripImportService tripImportService;
+    private final VehicleAssignmentService vehicleAssignmentService;
+    private final TripAssignmentOptimizer tripAssignmentOptimizer;
+    private final TripConsolidationService tripConsolidationService;
+    private final TripTransitionLog tripTransitionLog;
+    private final ExportResponseWriter exportResponseWriter;
 
     // ===== WRITE Operations (DISPATCHER only) =====
 
@@ -49,6 +77,72 @@ public class TripController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Dispatch many DRAFT trips at once. Trips that cannot be dispatched are
+     * reported per trip; the others are still dispatched.
+     */
+    @PostMapping("/batch-dispatch")
+    @PreAuthorize("hasRole('DISPATCHER')")
+    public ResponseEntity<BatchDispatchResponse> dispatchTrips(
+            @Valid @RequestBody BatchDispatchRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        log.info("Batch dispatch of {} trips by user: {}", request.getTripIds().size(), currentUser.getEmail());
+        BatchDispatchResponse response = tripService.dispatchTrips(request.getTripIds(), currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Create DRAFT trips from a CSV manifest sent as the request body (text/csv).
+     * Rows that fail validation are reported by line; the rest are imported.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('DISPATCHER')")
+    public ResponseEntity<TripImportResponse> importTrips(
+            HttpServletRequest request,
+            @AuthenticationPrincipal User currentUser) throws IOException {
+        log.info("Trip import by user: {}", currentUser.getEmail());
+        TripImportResponse response = tripImportService.importTrips(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Propose a best-fit AVAILABLE vehicle for each DRAFT trip, never the same vehicle twice.
+     * Read-only: nothing is assigned until the dispatcher acts on the proposals.
+     */
+    @PostMapping("/assignment-proposals")
+    @PreAuthorize("hasRole('DISPATCHER')")
+    public ResponseEntity<AssignmentProposalResponse> proposeAssignments(
+            @Valid @RequestBody AssignmentProposalRequest request) {
+        AssignmentProposalResponse response = vehicleAssignmentService.proposeAssignments(
+                request.getTripIds(), request.getVehicleType());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Plan every pending DRAFT trip onto AVAILABLE vehicles and drivers at once,
+     * serving as many trips as possible at the lowest total cost. Read-only.
+     */
+    @GetMapping("/optimized-assignments")
+    @PreAuthorize("hasAnyRole('DISPATCHER', 'FLEET_MANAGER')")
+    public ResponseEntity<OptimizedAssignmentResponse> getOptimizedAssignments(
+            @RequestParam(required = false) VehicleType vehicleType) {
+        OptimizedAssignmentResponse response = tripAssignmentOptimizer.optimizePendingTrips(vehicleType);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Group pending DRAFT trips by route and pack their cargo onto the fewest AVAILABLE vehicles.
+     * Read-only: the loads are a proposal for the dispatcher.
+     */
+    @GetMapping("/consolidation-plan")
+    @PreAuthorize("hasAnyRole('DISPATCHER', 'FLEET_MANAGER')")
+    public ResponseEntity<ConsolidationPlanResponse> getConsolidationPlan(
+            @RequestParam(required = false) VehicleType vehicleType) {
+        ConsolidationPlanResponse response = tripConsolidationService.planConsolidation(vehicleType);
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{id}/in-transit")
     @PreAuthorize("hasRole('DISPATCHER')")
     public ResponseEntity<TripResponse> markInTransit(
@@ -83,6 +177,15 @@ public class TripController {
 
     // ===== READ Operations (DISPATCHER and FLEET_MANAGER) =====
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('DISPATCHER', 'FLEET_MANAGER', 'FINANCIAL_ANALYST')")
+    public void exportTrips(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletResponse response) throws IOException {
+        log.info("Trip export requested as {}", format);
+        exportResponseWriter.write(response, format, "trips", TripResponse.class, tripService::exportTrips);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('DISPATCHER', 'FLEET_MANAGER', 'FINANCIAL_ANALYST')")
     public ResponseEntity<TripResponse> getTripById(@PathVariable UUID id) {
@@ -90,6 +193,16 @@ public class TripController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Status history of a trip, oldest first, with the time spent in each status.
+     */
+    @GetMapping("/{id}/transitions")
+    @PreAuthorize("hasAnyRole('DISPATCHER', 'FLEET_MANAGER', 'FINANCIAL_ANALYST')")
+    public ResponseEntity<List<TripTransitionResponse>> getTripTransitions(@PathVariable UUID id) {
+        List<TripTransitionResponse> response = tripTransitionLog.getHistory(id);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('DISPATCHER', 'FLEET_MANAGER', 'FINANCIAL_ANALYST')")
     public ResponseEntity<List<TripResponse>> getAllTrips(
@@ -108,4 +221,14 @@ public class TripController {
         }
         return ResponseEntity.ok(responses);
     }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('DISPATCHER', 'FLEET_MANAGER', 'FINANCIAL_ANALYST')")
+    public ResponseEntity<CursorPageResponse<TripResponse>> getTripsPage(
+            @RequestParam(required = false) TripStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageResponse<TripResponse> response = tripService.getTripsPage(status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 }
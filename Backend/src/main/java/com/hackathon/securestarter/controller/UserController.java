@@ -2,17 +2,22 @@ package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.request.ChangePasswordRequest;
 import com.hackathon.securestarter.dto.request.UpdateProfileRequest;
+import com.hackathon.securestarter.dto.response.LoginAdmissionStatsResponse;
 import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.dto.response.UserResponse;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.LoginAdmissionControl;
 import com.hackathon.securestarter.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -20,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final LoginAdmissionControl loginAdmissionControl;
 
     /**
      * Get current user profile
@@ -63,4 +69,32 @@ public class UserController {
         return ResponseEntity.ok(new MessageResponse("Password changed successfully"));
     }
 
+    /**
+     * Deactivate a user account
+     * PATCH /api/users/{id}/deactivate
+     * Requires: FLEET_MANAGER role
+     */
+    @PatchMapping("/{id}/deactivate")
+    @PreAuthorize("hasRole('FLEET_MANAGER')")
+    public ResponseEntity<MessageResponse> deactivateUser(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Deactivate user {} request by: {}", id, currentUser.getEmail());
+        userService.deactivateUser(id, currentUser);
+        return ResponseEntity.ok(new MessageResponse("User deactivated successfully"));
+    }
+
+    /**
+     * Login admission metrics: password hash latency, hash queue depth and 429 counts
+     * GET /api/users/login-admission-stats
+     * Requires: FLEET_MANAGER role
+     */
+    @GetMapping("/login-admission-stats")
+    @PreAuthorize("hasRole('FLEET_MANAGER')")
+    public ResponseEntity<LoginAdmissionStatsResponse> getLoginAdmissionStats() {
+        LoginAdmissionStatsResponse response = loginAdmissionControl.getStats();
+        return ResponseEntity.ok(response);
+    }
+
 }
\ No newline at end of file
@@ -3,10 +3,12 @@ package com.hackathon.securestarter.controller;
 import com.hackathon.securestarter.dto.request.CreateVehicleRequest;
 import com.hackathon.securestarter.dto.request.UpdateVehicleRequest;
 import com.hackathon.securestarter.dto.response.MessageResponse;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.VehicleResponse;
 import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.enums.VehicleStatus;
 import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.service.VehicleAssignmentService;
 import com.hackathon.securestarter.service.VehicleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +29,7 @@ import java.util.UUID;
 public class VehicleController {
 
     private final VehicleService vehicleService;
+    private final VehicleAssignmentService vehicleAssignmentService;
 
     // ===== WRITE Operations (FLEET_MANAGER only) =====
 
@@ -97,10 +100,32 @@ public class VehicleController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('FLEET_MANAGER', 'DISPATCHER', 'SAFETY_OFFICER', 'FINANCIAL_ANALYST')")
+    public ResponseEntity<CursorPageResponse<VehicleResponse>> getVehiclesPage(
+            @RequestParam(required = false) VehicleStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageResponse<VehicleResponse> response = vehicleService.getVehiclesPage(status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/available")
     @PreAuthorize("hasAnyRole('FLEET_MANAGER', 'DISPATCHER')")
     public ResponseEntity<List<VehicleResponse>> getAvailableVehicles() {
         List<VehicleResponse> responses = vehicleService.getAvailableVehicles();
         return ResponseEntity.ok(responses);
     }
+
+    /**
+     * Smallest AVAILABLE vehicle that can carry the cargo, optionally of one type.
+     */
+    @GetMapping("/best-fit")
+    @PreAuthorize("hasAnyRole('FLEET_MANAGER', 'DISPATCHER')")
+    public ResponseEntity<VehicleResponse> getBestFitVehicle(
+            @RequestParam Double cargoWeight,
+            @RequestParam(required = false) VehicleType type) {
+        UUID vehicleId = vehicleAssignmentService.findBestFit(cargoWeight, type);
+        return ResponseEntity.ok(vehicleService.getVehicleById(vehicleId));
+    }
 }
@@ -0,0 +1,20 @@
+package com.hackathon.securestarter.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDispatchRequest {
+
+    @NotEmpty(message = "At least one trip id is required")
+    @Size(max = 500, message = "At most 500 trips can be dispatched in one batch")
+    private List<UUID> tripIds;
+}
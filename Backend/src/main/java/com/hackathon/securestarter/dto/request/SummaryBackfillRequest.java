@@ -0,0 +1,32 @@
+package com.hackathon.securestarter.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryBackfillRequest {
+
+    @NotNull(message = "From year is required")
+    @Min(value = 2000, message = "From year must be 2000 or later")
+    private Integer fromYear;
+
+    @NotNull(message = "From month is required")
+    @Min(value = 1, message = "From month must be between 1 and 12")
+    @Max(value = 12, message = "From month must be between 1 and 12")
+    private Integer fromMonth;
+
+    @NotNull(message = "To year is required")
+    @Min(value = 2000, message = "To year must be 2000 or later")
+    private Integer toYear;
+
+    @NotNull(message = "To month is required")
+    @Min(value = 1, message = "To month must be between 1 and 12")
+    @Max(value = 12, message = "To month must be between 1 and 12")
+    private Integer toMonth;
+}
@@ -0,0 +1,39 @@
+package com.hackathon.securestarter.dto.response;
+
+import com.hackathon.securestarter.enums.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssignmentProposalResponse {
+
+    private Integer requested;
+    private Integer proposed;
+    private List<TripProposal> proposals;  // same order as the request
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TripProposal {
+        private UUID tripId;
+        private Long tripNumber;
+        private Double cargoWeight;
+        private UUID currentVehicleId;
+        private UUID proposedVehicleId;        // null when no vehicle fits
+        private String proposedVehicleName;
+        private String proposedLicensePlate;
+        private VehicleType proposedVehicleType;
+        private Double proposedCapacity;
+        private Double capacitySlack;          // proposedCapacity - cargoWeight
+        private String reason;                 // why nothing was proposed
+    }
+}
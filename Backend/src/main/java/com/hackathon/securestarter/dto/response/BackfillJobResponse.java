@@ -0,0 +1,40 @@
+package com.hackathon.securestarter.dto.response;
+
+import com.hackathon.securestarter.enums.BackfillStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackfillJobResponse {
+
+    private UUID jobId;
+    private BackfillStatus status;
+    private Integer totalMonths;
+    private Integer succeededMonths;
+    private Integer failedMonths;
+    private Integer pendingMonths;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private List<MonthResult> months;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MonthResult {
+        private Integer year;
+        private Integer month;
+        private BackfillStatus status;
+        private Integer attempts;
+        private String lastError;
+    }
+}
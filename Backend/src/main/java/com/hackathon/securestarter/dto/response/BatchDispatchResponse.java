@@ -0,0 +1,32 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchDispatchResponse {
+
+    private Integer requested;
+    private Integer dispatched;
+    private Integer failed;
+    private List<TripResult> results;     // same order as the request
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TripResult {
+        private UUID tripId;
+        private Long tripNumber;
+        private Boolean dispatched;
+        private String error;             // null when dispatched
+    }
+}
@@ -0,0 +1,24 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsResponse {
+
+    private String name;
+    private Long hits;
+    private Long misses;
+    private Long loads;
+    private Long loadFailures;
+    private Long invalidations;
+    private Double hitRate;              // percentage (0-100)
+    private Double averageLoadTimeMs;
+    private Double lastLoadTimeMs;
+    private Long ttlSeconds;
+}
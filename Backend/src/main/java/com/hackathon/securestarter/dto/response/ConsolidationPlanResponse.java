@@ -0,0 +1,53 @@
+package com.hackathon.securestarter.dto.response;
+
+import com.hackathon.securestarter.enums.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConsolidationPlanResponse {
+
+    private Integer pendingTrips;
+    private Integer routes;                 // distinct origin/destination pairs
+    private Integer plannedTrips;
+    private Integer vehiclesUsed;
+    private Integer vehicleTripsSaved;      // plannedTrips - vehiclesUsed
+    private Long computeTimeMs;
+    private List<ConsolidatedLoad> loads;   // heaviest route first
+    private List<UUID> unplannedTripIds;    // no remaining vehicle can carry them
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ConsolidatedLoad {
+        private String origin;
+        private String destination;
+        private UUID vehicleId;
+        private String vehicleName;
+        private String vehicleLicensePlate;
+        private VehicleType vehicleType;
+        private Double vehicleCapacity;
+        private Double totalCargoWeight;
+        private Double utilization;         // percentage of vehicleCapacity
+        private List<TripLoad> trips;       // heaviest cargo first
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TripLoad {
+        private UUID tripId;
+        private Long tripNumber;
+        private Double cargoWeight;
+    }
+}
@@ -0,0 +1,27 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginAdmissionStatsResponse {
+
+    private Long verifications;             // password checks run on the hash executor
+    private Long rejectedQueueFull;         // answered 429 because the hash queue was full
+    private Long throttledByAccount;        // answered 429 by the per-account window
+    private Long throttledByIp;             // answered 429 by the per-IP window
+    private Integer hashThreads;
+    private Integer activeHashThreads;
+    private Integer queueDepth;
+    private Integer queueCapacity;
+    private Double averageQueueWaitMs;
+    private Double averageHashTimeMs;       // password check incl. user lookup
+    private Double maxHashTimeMs;
+    private Integer trackedAccounts;        // accounts with a live sliding window
+    private Integer trackedIps;
+}
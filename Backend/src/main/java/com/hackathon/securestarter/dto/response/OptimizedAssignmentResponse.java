@@ -0,0 +1,46 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OptimizedAssignmentResponse {
+
+    private Integer pendingTrips;
+    private Integer availableVehicles;
+    private Integer availableDrivers;
+    private Integer assigned;
+    private Double totalCost;
+    private Double totalCapacitySlack;     // kg of unused capacity over all assignments
+    private Long computeTimeMs;
+    private List<Assignment> assignments;  // heaviest cargo first
+    private List<UUID> unassignedTripIds;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Assignment {
+        private UUID tripId;
+        private Long tripNumber;
+        private Double cargoWeight;
+        private UUID vehicleId;
+        private String vehicleLicensePlate;
+        private Double vehicleCapacity;
+        private BigDecimal vehicleCostPerKm;
+        private UUID driverId;
+        private String driverName;
+        private Double driverSafetyScore;
+        private Double driverCompletionRate;
+        private Double cost;
+    }
+}
@@ -0,0 +1,28 @@
+package com.hackathon.securestarter.dto.response;
+
+import com.hackathon.securestarter.enums.DriverStatus;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusCountersResponse {
+
+    private Map<VehicleStatus, Long> vehicles;
+    private Map<TripStatus, Long> trips;
+    private Map<DriverStatus, Long> drivers;
+    private Long reconciliations;
+    private Long reconciliationsWithDrift;
+    private Long lastDrift;              // sum of |db - counter| found by the last reconciliation
+    private Long totalDrift;
+    private LocalDateTime lastReconciledAt;
+}
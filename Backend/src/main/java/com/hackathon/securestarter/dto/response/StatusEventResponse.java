@@ -0,0 +1,22 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusEventResponse {
+
+    private String type;                 // TRIP, VEHICLE or DRIVER
+    private UUID id;
+    private String previousStatus;       // null when created
+    private String newStatus;            // null when deleted
+    private LocalDateTime occurredAt;
+}
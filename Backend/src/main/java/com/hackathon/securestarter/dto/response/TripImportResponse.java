@@ -0,0 +1,30 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TripImportResponse {
+
+    private Long totalRows;
+    private Long imported;
+    private Long failed;
+    private List<RowError> errors;        // first errors only, see errorsTruncated
+    private Boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private Long line;                // line in the uploaded file (header is line 1)
+        private String message;
+    }
+}
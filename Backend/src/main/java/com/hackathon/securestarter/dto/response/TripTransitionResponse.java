@@ -0,0 +1,23 @@
+package com.hackathon.securestarter.dto.response;
+
+import com.hackathon.securestarter.enums.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TripTransitionResponse {
+
+    private TripStatus fromStatus;       // null for the creating transition
+    private TripStatus toStatus;
+    private UUID changedBy;
+    private LocalDateTime occurredAt;
+    private Long secondsInStatus;        // dwell time in toStatus; null while the trip is still in it
+}
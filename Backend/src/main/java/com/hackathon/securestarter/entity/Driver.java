@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -33,6 +34,8 @@ import java.util.UUID;
         @Index(name = "idx_driver_license_number", columnList = "license_number"),
         @Index(name = "idx_driver_status", columnList = "status"),
         @Index(name = "idx_driver_license_expiry", columnList = "license_expiry_date"),
+        @Index(name = "idx_driver_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_driver_status_created_at", columnList = "status, created_at, id"),
 })
 @Getter
 @Setter
@@ -106,6 +109,12 @@ public class Driver {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: concurrent status transitions on the same row fail instead of overwriting each other
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /**
      * Check if the driver's license has expired.
      */
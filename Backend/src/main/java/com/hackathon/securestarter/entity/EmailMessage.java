@@ -0,0 +1,65 @@
+package com.hackathon.securestarter.entity;
+
+import com.hackathon.securestarter.enums.EmailStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * EmailMessage entity — one outgoing email in the delivery queue.
+ *
+ * Enqueued as PENDING in the caller's transaction with the HTML already
+ * rendered. The dispatcher claims due rows (SKIP LOCKED), marks them SENDING
+ * with nextAttemptAt as a lease, and records SENT, or PENDING again with
+ * exponential backoff. After too many attempts the row goes DEAD and stays
+ * for inspection. A SENDING row whose lease ran out (the sender died) is
+ * claimed again.
+ */
+@Entity
+@Table(name = "email_queue", indexes = {
+        @Index(name = "idx_email_queue_due", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "recipient", nullable = false, updatable = false)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false, updatable = false)
+    private String subject;
+
+    @Lob
+    @Column(name = "html_body", nullable = false, updatable = false)
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private EmailStatus status;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
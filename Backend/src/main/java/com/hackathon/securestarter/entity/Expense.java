@@ -28,6 +28,13 @@ import java.util.UUID;
         @Index(name = "idx_expense_vehicle", columnList = "vehicle_id"),
         @Index(name = "idx_expense_driver", columnList = "driver_id"),
         @Index(name = "idx_expense_status", columnList = "status"),
+        @Index(name = "idx_expense_created_at", columnList = "created_at, id"),
+})
+@NamedEntityGraph(name = "Expense.withAssociations", attributeNodes = {
+        @NamedAttributeNode("trip"),
+        @NamedAttributeNode("vehicle"),
+        @NamedAttributeNode("driver"),
+        @NamedAttributeNode("createdBy")
 })
 @Getter
 @Setter
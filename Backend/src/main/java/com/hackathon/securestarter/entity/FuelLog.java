@@ -19,6 +19,13 @@ import java.util.UUID;
 @Table(name = "fuel_logs", indexes = {
         @Index(name = "idx_fuel_log_vehicle", columnList = "vehicle_id"),
         @Index(name = "idx_fuel_log_trip", columnList = "trip_id"),
+        @Index(name = "idx_fuel_log_fill_date", columnList = "fill_date"),
+        @Index(name = "idx_fuel_log_created_at_id", columnList = "created_at, id"),
+})
+@NamedEntityGraph(name = "FuelLog.withAssociations", attributeNodes = {
+        @NamedAttributeNode("vehicle"),
+        @NamedAttributeNode("trip"),
+        @NamedAttributeNode("recordedBy")
 })
 @Getter
 @Setter
@@ -29,6 +29,12 @@ import java.util.UUID;
         @Index(name = "idx_maintenance_vehicle", columnList = "vehicle_id"),
         @Index(name = "idx_maintenance_status", columnList = "status"),
         @Index(name = "idx_maintenance_service_date", columnList = "service_date"),
+        @Index(name = "idx_maintenance_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_maintenance_status_created_at", columnList = "status, created_at, id"),
+})
+@NamedEntityGraph(name = "MaintenanceLog.withAssociations", attributeNodes = {
+        @NamedAttributeNode("vehicle"),
+        @NamedAttributeNode("createdBy")
 })
 @Getter
 @Setter
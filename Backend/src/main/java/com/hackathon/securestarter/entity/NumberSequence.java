@@ -0,0 +1,35 @@
+package com.hackathon.securestarter.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * NumberSequence entity — named counters for human-readable business numbers
+ * (e.g. trip numbers).
+ *
+ * nextValue is the first number not yet handed out to any application instance.
+ * Instances reserve whole blocks by bumping it under a row lock.
+ */
+@Entity
+@Table(name = "number_sequences")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NumberSequence {
+
+    @Id
+    @Column(name = "name", length = 50, updatable = false, nullable = false)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
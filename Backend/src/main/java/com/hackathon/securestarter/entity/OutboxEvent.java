@@ -0,0 +1,56 @@
+package com.hackathon.securestarter.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * OutboxEvent entity — a domain event waiting for, or done with, delivery.
+ *
+ * Written in the same transaction as the change that published the event.
+ * The relay claims deliverable rows (not delivered, availableAt reached) with
+ * SELECT ... FOR UPDATE SKIP LOCKED, so several instances can drain the table
+ * without handing the same row to two of them. A failed delivery pushes
+ * availableAt back; after too many attempts availableAt is cleared and the
+ * row is parked for inspection.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_deliverable", columnList = "delivered_at, available_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "event_type", nullable = false, length = 150, updatable = false)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, length = 4000, updatable = false)
+    private String payload; // JSON
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "available_at")
+    private LocalDateTime availableAt; // null once parked
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -38,6 +39,15 @@ import java.util.UUID;
         @Index(name = "idx_trip_vehicle", columnList = "vehicle_id"),
         @Index(name = "idx_trip_driver", columnList = "driver_id"),
         @Index(name = "idx_trip_dispatched_by", columnList = "dispatched_by"),
+        @Index(name = "idx_trip_status_completed_at", columnList = "status, completed_at"),
+        @Index(name = "idx_trip_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_trip_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_trip_status_updated_at", columnList = "status, updated_at"),
+})
+@NamedEntityGraph(name = "Trip.withAssociations", attributeNodes = {
+        @NamedAttributeNode("vehicle"),
+        @NamedAttributeNode("driver"),
+        @NamedAttributeNode("dispatchedBy")
 })
 @Getter
 @Setter
@@ -124,4 +134,10 @@ public class Trip {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Optimistic lock: concurrent status transitions on the same row fail instead of overwriting each other
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
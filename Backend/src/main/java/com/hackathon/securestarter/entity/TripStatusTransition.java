@@ -0,0 +1,51 @@
+package com.hackathon.securestarter.entity;
+
+import com.hackathon.securestarter.enums.TripStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * TripStatusTransition entity — append-only log of trip status changes.
+ *
+ * One narrow row per transition, written by the outbox relay
+ * (see TripTransitionLog). Plain id columns instead of associations keep
+ * inserts cheap; the time between consecutive rows of a trip is the dwell
+ * time in each stage.
+ */
+@Entity
+@Table(name = "trip_status_transitions", indexes = {
+        @Index(name = "idx_trip_transition_trip", columnList = "trip_id, occurred_at"),
+        @Index(name = "idx_trip_transition_to_status", columnList = "to_status, occurred_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TripStatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "trip_id", nullable = false, updatable = false)
+    private UUID tripId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 20, updatable = false)
+    private TripStatus fromStatus; // null for the creating transition
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, length = 20, updatable = false)
+    private TripStatus toStatus;
+
+    @Column(name = "changed_by", updatable = false)
+    private UUID changedBy;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -30,6 +31,8 @@ import java.util.UUID;
         @Index(name = "idx_vehicle_license_plate", columnList = "license_plate"),
         @Index(name = "idx_vehicle_status", columnList = "status"),
         @Index(name = "idx_vehicle_type", columnList = "type"),
+        @Index(name = "idx_vehicle_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_vehicle_status_created_at", columnList = "status, created_at, id"),
 })
 @Getter
 @Setter
@@ -90,4 +93,10 @@ public class Vehicle {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Optimistic lock: concurrent status transitions on the same row fail instead of overwriting each other
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,9 @@
+package com.hackathon.securestarter.enums;
+
+public enum BackfillStatus {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    PARTIALLY_FAILED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.hackathon.securestarter.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,6 @@
+package com.hackathon.securestarter.enums;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,9 @@
+package com.hackathon.securestarter.event;
+
+/**
+ * Marker for domain events. Every published DomainEvent is also written to
+ * the outbox in the publisher's transaction and later delivered to
+ * DomainEventSubscriber beans (see EventOutbox).
+ */
+public interface DomainEvent {
+}
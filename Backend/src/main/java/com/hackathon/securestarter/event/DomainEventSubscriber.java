@@ -0,0 +1,14 @@
+package com.hackathon.securestarter.event;
+
+/**
+ * Receives domain events from the outbox relay, after the publishing transaction committed.
+ *
+ * Delivery is at-least-once and runs inside the relay's transaction: database
+ * writes made here commit together with the event's delivered mark, but any
+ * other side effect may be repeated if delivery is retried. Events of a type
+ * the subscriber does not handle are simply ignored.
+ */
+public interface DomainEventSubscriber {
+
+    void onEvent(DomainEvent event);
+}
@@ -0,0 +1,16 @@
+package com.hackathon.securestarter.event;
+
+import com.hackathon.securestarter.enums.DriverStatus;
+
+import java.util.UUID;
+
+/**
+ * Published on every driver status transition.
+ * previousStatus is null when the driver is created; newStatus is null when it is deleted.
+ */
+public record DriverStatusChangedEvent(
+        UUID driverId,
+        DriverStatus previousStatus,
+        DriverStatus newStatus
+) implements DomainEvent {
+}
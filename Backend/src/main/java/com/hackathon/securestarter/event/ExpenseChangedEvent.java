@@ -0,0 +1,16 @@
+package com.hackathon.securestarter.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when an expense is created, updated or deleted.
+ * fuelCostDelta is the signed change in fuel cost (negative on delete).
+ */
+public record ExpenseChangedEvent(
+        UUID expenseId,
+        LocalDateTime recordedAt,
+        BigDecimal fuelCostDelta
+) implements DomainEvent {
+}
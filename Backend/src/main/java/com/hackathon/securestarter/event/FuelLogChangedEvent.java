@@ -0,0 +1,15 @@
+package com.hackathon.securestarter.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when a fuel log is created or deleted.
+ * litersDelta is the signed change in liters (negative on delete).
+ */
+public record FuelLogChangedEvent(
+        UUID fuelLogId,
+        LocalDateTime fillDate,
+        Double litersDelta
+) implements DomainEvent {
+}
@@ -0,0 +1,16 @@
+package com.hackathon.securestarter.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Published when a maintenance log's cost is added, changed or removed.
+ * costDelta is the signed change booked against the month of serviceDate.
+ */
+public record MaintenanceCostChangedEvent(
+        UUID maintenanceLogId,
+        LocalDate serviceDate,
+        BigDecimal costDelta
+) implements DomainEvent {
+}
@@ -0,0 +1,17 @@
+package com.hackathon.securestarter.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when a trip moves to COMPLETED.
+ * Carries the revenue and distance that roll into the month of completion.
+ */
+public record TripCompletedEvent(
+        UUID tripId,
+        LocalDateTime completedAt,
+        BigDecimal revenue,
+        Double distance
+) implements DomainEvent {
+}
@@ -0,0 +1,19 @@
+package com.hackathon.securestarter.event;
+
+import com.hackathon.securestarter.enums.TripStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published on every trip status transition.
+ * previousStatus is null when the trip is created; changedBy is the acting user's id.
+ */
+public record TripStatusChangedEvent(
+        UUID tripId,
+        TripStatus previousStatus,
+        TripStatus newStatus,
+        UUID changedBy,
+        LocalDateTime occurredAt
+) implements DomainEvent {
+}
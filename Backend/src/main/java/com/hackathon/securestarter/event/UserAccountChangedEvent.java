@@ -0,0 +1,12 @@
+package com.hackathon.securestarter.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's profile, password or active flag changes.
+ * Not a DomainEvent: it only drops the user from in-memory caches and is not stored in the outbox.
+ */
+public record UserAccountChangedEvent(
+        UUID userId
+) {
+}
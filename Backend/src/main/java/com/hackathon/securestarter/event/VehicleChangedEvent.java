@@ -0,0 +1,11 @@
+package com.hackathon.securestarter.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a vehicle is created, updated, has its status changed, or is deleted.
+ */
+public record VehicleChangedEvent(
+        UUID vehicleId
+) implements DomainEvent {
+}
@@ -0,0 +1,16 @@
+package com.hackathon.securestarter.event;
+
+import com.hackathon.securestarter.enums.VehicleStatus;
+
+import java.util.UUID;
+
+/**
+ * Published on every vehicle status transition.
+ * previousStatus is null when the vehicle is created; newStatus is null when it is deleted.
+ */
+public record VehicleStatusChangedEvent(
+        UUID vehicleId,
+        VehicleStatus previousStatus,
+        VehicleStatus newStatus
+) implements DomainEvent {
+}
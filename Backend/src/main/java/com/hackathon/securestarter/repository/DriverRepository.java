@@ -2,12 +2,14 @@ package com.hackathon.securestarter.repository;
 
 import com.hackathon.securestarter.entity.Driver;
 import com.hackathon.securestarter.enums.DriverStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,10 +30,45 @@ public interface DriverRepository extends JpaRepository<Driver, UUID> {
     @Query("SELECT d FROM Driver d WHERE d.status = 'ON_DUTY' AND d.licenseExpiryDate > :today")
     List<Driver> findAvailableDrivers(@Param("today") LocalDate today);
 
+    @Query("SELECT COUNT(d) FROM Driver d WHERE d.status = 'ON_DUTY' AND d.licenseExpiryDate > :today")
+    Long countAvailableDrivers(@Param("today") LocalDate today);
+
+    /**
+     * Driver count per status in one grouped query, plus how many of each
+     * still hold a valid license (ON_DUTY + valid = available for dispatch).
+     */
+    @Query("SELECT d.status AS status, COUNT(d) AS total, " +
+           "SUM(CASE WHEN d.licenseExpiryDate > :today THEN 1 ELSE 0 END) AS validLicense " +
+           "FROM Driver d GROUP BY d.status")
+    List<DriverStatusCount> countGroupedByStatus(@Param("today") LocalDate today);
+
     /**
      * Find drivers with expired licenses (for Safety Officer alerts).
      */
     @Query("SELECT d FROM Driver d WHERE d.licenseExpiryDate <= :today AND d.status != 'SUSPENDED'")
     List<Driver> findDriversWithExpiredLicense(@Param("today") LocalDate today);
 
+    /**
+     * Keyset pages over drivers, newest first (see PageCursor).
+     */
+    @Query("SELECT d FROM Driver d LEFT JOIN FETCH d.createdBy " +
+           "WHERE (:status IS NULL OR d.status = :status) ORDER BY d.createdAt DESC, d.id DESC")
+    List<Driver> findFirstPage(@Param("status") DriverStatus status, Limit limit);
+
+    @Query("SELECT d FROM Driver d LEFT JOIN FETCH d.createdBy " +
+           "WHERE (:status IS NULL OR d.status = :status) " +
+           "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) " +
+           "ORDER BY d.createdAt DESC, d.id DESC")
+    List<Driver> findPageAfter(@Param("status") DriverStatus status,
+                               @Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") UUID id, Limit limit);
+
+    /**
+     * Per-status driver count projection.
+     */
+    interface DriverStatusCount {
+        DriverStatus getStatus();
+        Long getTotal();
+        Long getValidLicense();
+    }
 }
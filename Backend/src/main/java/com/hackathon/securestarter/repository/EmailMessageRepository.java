@@ -0,0 +1,39 @@
+package com.hackathon.securestarter.repository;
+
+import com.hackathon.securestarter.entity.EmailMessage;
+import com.hackathon.securestarter.enums.EmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailMessageRepository extends JpaRepository<EmailMessage, UUID> {
+
+    /**
+     * Due messages in the given statuses, locked with SELECT ... FOR UPDATE SKIP LOCKED
+     * (lock timeout -2), so rows already claimed by another dispatcher are passed over.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailMessage m WHERE m.status IN :statuses AND m.nextAttemptAt <= :now " +
+           "ORDER BY m.nextAttemptAt")
+    List<EmailMessage> claimDue(@Param("statuses") Collection<EmailStatus> statuses,
+                                @Param("now") LocalDateTime now,
+                                Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM EmailMessage m WHERE m.status = 'SENT' AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -2,24 +2,43 @@ package com.hackathon.securestarter.repository;
 
 import com.hackathon.securestarter.entity.Expense;
 import com.hackathon.securestarter.enums.ExpenseStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
 
+    /**
+     * List reads fetch trip, vehicle, driver and createdBy in the same select.
+     */
+    @Override
+    @EntityGraph("Expense.withAssociations")
+    List<Expense> findAll();
+
+    @EntityGraph("Expense.withAssociations")
     List<Expense> findByTripId(UUID tripId);
 
+    @EntityGraph("Expense.withAssociations")
     List<Expense> findByVehicleId(UUID vehicleId);
 
+    @EntityGraph("Expense.withAssociations")
     List<Expense> findByDriverId(UUID driverId);
 
+    @EntityGraph("Expense.withAssociations")
     List<Expense> findByStatus(ExpenseStatus status);
 
     /**
@@ -34,6 +53,14 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
     @Query("SELECT COALESCE(SUM(e.fuelCost), 0) FROM Expense e WHERE e.vehicle.id = :vehicleId")
     BigDecimal totalFuelCostByVehicleId(@Param("vehicleId") UUID vehicleId);
 
+    /**
+     * Total and fuel cost per vehicle for a set of vehicles, in one grouped query.
+     */
+    @Query("SELECT e.vehicle.id AS vehicleId, COALESCE(SUM(e.totalCost), 0) AS totalCost, " +
+           "COALESCE(SUM(e.fuelCost), 0) AS fuelCost FROM Expense e " +
+           "WHERE e.vehicle.id IN :vehicleIds GROUP BY e.vehicle.id")
+    List<VehicleExpenseTotals> totalsByVehicleIds(@Param("vehicleIds") Collection<UUID> vehicleIds);
+
     /**
      * Total fuel cost across all vehicles.
      */
@@ -41,10 +68,49 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
     BigDecimal totalFuelCostAll();
 
     /**
-     * Top N costliest vehicles by total expense.
+     * Total operational cost (fuel + misc) across all vehicles.
+     */
+    @Query("SELECT COALESCE(SUM(e.totalCost), 0) FROM Expense e")
+    BigDecimal totalCostAll();
+
+    /**
+     * Total fuel cost of expenses recorded in [from, to).
      */
-    @Query("SELECT e.vehicle.id, SUM(e.totalCost) as total FROM Expense e " +
-           "GROUP BY e.vehicle.id ORDER BY total DESC")
-    List<Object[]> findTopCostliestVehicles();
+    @Query("SELECT COALESCE(SUM(e.fuelCost), 0) FROM Expense e " +
+           "WHERE e.createdAt >= :from AND e.createdAt < :to")
+    BigDecimal totalFuelCostBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
+    /**
+     * Forward-only export cursor over all expenses (see TripRepository.streamAllForExport).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Expense e JOIN FETCH e.trip JOIN FETCH e.vehicle JOIN FETCH e.driver LEFT JOIN FETCH e.createdBy")
+    Stream<Expense> streamAllForExport();
+
+    /**
+     * Keyset pages over expenses, newest first (see PageCursor).
+     */
+    @Query("SELECT e FROM Expense e JOIN FETCH e.trip JOIN FETCH e.vehicle JOIN FETCH e.driver LEFT JOIN FETCH e.createdBy " +
+           "WHERE (:status IS NULL OR e.status = :status) ORDER BY e.createdAt DESC, e.id DESC")
+    List<Expense> findFirstPage(@Param("status") ExpenseStatus status, Limit limit);
+
+    @Query("SELECT e FROM Expense e JOIN FETCH e.trip JOIN FETCH e.vehicle JOIN FETCH e.driver LEFT JOIN FETCH e.createdBy " +
+           "WHERE (:status IS NULL OR e.status = :status) " +
+           "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Expense> findPageAfter(@Param("status") ExpenseStatus status,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") UUID id, Limit limit);
+
+    /**
+     * Per-vehicle expense totals projection.
+     */
+    interface VehicleExpenseTotals {
+        UUID getVehicleId();
+        BigDecimal getTotalCost();
+        BigDecimal getFuelCost();
+    }
 }
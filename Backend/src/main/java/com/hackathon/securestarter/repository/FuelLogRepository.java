@@ -1,20 +1,37 @@
 package com.hackathon.securestarter.repository;
 
 import com.hackathon.securestarter.entity.FuelLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface FuelLogRepository extends JpaRepository<FuelLog, UUID> {
 
+    /**
+     * List reads fetch vehicle, trip and recordedBy in the same select.
+     */
+    @Override
+    @EntityGraph("FuelLog.withAssociations")
+    List<FuelLog> findAll();
+
+    @EntityGraph("FuelLog.withAssociations")
     List<FuelLog> findByVehicleId(UUID vehicleId);
 
+    @EntityGraph("FuelLog.withAssociations")
     List<FuelLog> findByTripId(UUID tripId);
 
     /**
@@ -29,4 +46,48 @@ public interface FuelLogRepository extends JpaRepository<FuelLog, UUID> {
     @Query("SELECT COALESCE(SUM(f.liters), 0) FROM FuelLog f WHERE f.vehicle.id = :vehicleId")
     Double totalLitersByVehicleId(@Param("vehicleId") UUID vehicleId);
 
+    /**
+     * Total liters per vehicle for a set of vehicles, in one grouped query.
+     */
+    @Query("SELECT f.vehicle.id AS vehicleId, COALESCE(SUM(f.liters), 0) AS totalLiters FROM FuelLog f " +
+           "WHERE f.vehicle.id IN :vehicleIds GROUP BY f.vehicle.id")
+    List<VehicleFuelTotal> totalLitersByVehicleIds(@Param("vehicleIds") Collection<UUID> vehicleIds);
+
+    /**
+     * Total liters filled in [from, to).
+     */
+    @Query("SELECT COALESCE(SUM(f.liters), 0) FROM FuelLog f " +
+           "WHERE f.fillDate >= :from AND f.fillDate < :to")
+    Double totalLitersBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Forward-only export cursor over all fuel logs (see TripRepository.streamAllForExport).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM FuelLog f JOIN FETCH f.vehicle LEFT JOIN FETCH f.trip LEFT JOIN FETCH f.recordedBy")
+    Stream<FuelLog> streamAllForExport();
+
+    /**
+     * Keyset pages over fuel logs, newest first (see PageCursor).
+     */
+    @Query("SELECT f FROM FuelLog f JOIN FETCH f.vehicle LEFT JOIN FETCH f.trip LEFT JOIN FETCH f.recordedBy " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FuelLog> findFirstPage(Limit limit);
+
+    @Query("SELECT f FROM FuelLog f JOIN FETCH f.vehicle LEFT JOIN FETCH f.trip LEFT JOIN FETCH f.recordedBy " +
+           "WHERE f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FuelLog> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") UUID id, Limit limit);
+
+    /**
+     * Per-vehicle fuel liters projection.
+     */
+    interface VehicleFuelTotal {
+        UUID getVehicleId();
+        Double getTotalLiters();
+    }
 }
@@ -2,22 +2,37 @@ package com.hackathon.securestarter.repository;
 
 import com.hackathon.securestarter.entity.MaintenanceLog;
 import com.hackathon.securestarter.enums.MaintenanceStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface MaintenanceLogRepository extends JpaRepository<MaintenanceLog, UUID> {
 
+    /**
+     * List reads fetch vehicle and createdBy in the same select.
+     */
+    @Override
+    @EntityGraph("MaintenanceLog.withAssociations")
+    List<MaintenanceLog> findAll();
+
+    @EntityGraph("MaintenanceLog.withAssociations")
     List<MaintenanceLog> findByVehicleId(UUID vehicleId);
 
+    @EntityGraph("MaintenanceLog.withAssociations")
     List<MaintenanceLog> findByStatus(MaintenanceStatus status);
 
+    @EntityGraph("MaintenanceLog.withAssociations")
     List<MaintenanceLog> findByVehicleIdAndStatus(UUID vehicleId, MaintenanceStatus status);
 
     /**
@@ -27,10 +42,39 @@ public interface MaintenanceLogRepository extends JpaRepository<MaintenanceLog,
     BigDecimal totalCostByVehicleId(@Param("vehicleId") UUID vehicleId);
 
     /**
-     * Total maintenance cost across all vehicles for a given month/year.
+     * Total maintenance cost per vehicle for a set of vehicles, in one grouped query.
+     */
+    @Query("SELECT m.vehicle.id AS vehicleId, COALESCE(SUM(m.cost), 0) AS totalCost FROM MaintenanceLog m " +
+           "WHERE m.vehicle.id IN :vehicleIds GROUP BY m.vehicle.id")
+    List<VehicleMaintenanceTotal> totalsByVehicleIds(@Param("vehicleIds") Collection<UUID> vehicleIds);
+
+    /**
+     * Total maintenance cost across all vehicles for services dated in [from, to).
      */
     @Query("SELECT COALESCE(SUM(m.cost), 0) FROM MaintenanceLog m " +
-           "WHERE YEAR(m.serviceDate) = :year AND MONTH(m.serviceDate) = :month")
-    BigDecimal totalCostByMonth(@Param("year") int year, @Param("month") int month);
+           "WHERE m.serviceDate >= :from AND m.serviceDate < :to")
+    BigDecimal totalCostBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
 
+    /**
+     * Keyset pages over maintenance logs, newest first (see PageCursor).
+     */
+    @Query("SELECT m FROM MaintenanceLog m JOIN FETCH m.vehicle LEFT JOIN FETCH m.createdBy " +
+           "WHERE (:status IS NULL OR m.status = :status) ORDER BY m.createdAt DESC, m.id DESC")
+    List<MaintenanceLog> findFirstPage(@Param("status") MaintenanceStatus status, Limit limit);
+
+    @Query("SELECT m FROM MaintenanceLog m JOIN FETCH m.vehicle LEFT JOIN FETCH m.createdBy " +
+           "WHERE (:status IS NULL OR m.status = :status) " +
+           "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MaintenanceLog> findPageAfter(@Param("status") MaintenanceStatus status,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") UUID id, Limit limit);
+
+    /**
+     * Per-vehicle maintenance cost projection.
+     */
+    interface VehicleMaintenanceTotal {
+        UUID getVehicleId();
+        BigDecimal getTotalCost();
+    }
 }
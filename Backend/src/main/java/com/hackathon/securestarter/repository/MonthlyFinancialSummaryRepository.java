@@ -1,9 +1,15 @@
 package com.hackathon.securestarter.repository;
 
 import com.hackathon.securestarter.entity.MonthlyFinancialSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,8 +19,41 @@ public interface MonthlyFinancialSummaryRepository extends JpaRepository<Monthly
 
     Optional<MonthlyFinancialSummary> findByYearAndMonth(Integer year, Integer month);
 
+    /**
+     * The month's row read with SELECT ... FOR UPDATE. If the row does not exist yet,
+     * MySQL still locks the gap, so a concurrent insert of the month waits for our commit.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM MonthlyFinancialSummary s WHERE s.year = :year AND s.month = :month")
+    Optional<MonthlyFinancialSummary> lockByYearAndMonth(@Param("year") int year, @Param("month") int month);
+
     List<MonthlyFinancialSummary> findByYearOrderByMonthAsc(Integer year);
 
     List<MonthlyFinancialSummary> findAllByOrderByYearDescMonthDesc();
 
+    /**
+     * Atomically add deltas to a month's summary row.
+     * The increments are evaluated by the database, so concurrent writers never lose updates.
+     * Returns the number of rows updated (0 if the month row does not exist yet).
+     */
+    @Modifying
+    @Query("UPDATE MonthlyFinancialSummary s SET " +
+           "s.revenue = COALESCE(s.revenue, 0) + :revenue, " +
+           "s.fuelCost = COALESCE(s.fuelCost, 0) + :fuelCost, " +
+           "s.maintenanceCost = COALESCE(s.maintenanceCost, 0) + :maintenanceCost, " +
+           "s.netProfit = COALESCE(s.netProfit, 0) + :revenue - :fuelCost - :maintenanceCost, " +
+           "s.totalTrips = COALESCE(s.totalTrips, 0) + :trips, " +
+           "s.totalDistance = COALESCE(s.totalDistance, 0) + :distance, " +
+           "s.totalFuelLiters = COALESCE(s.totalFuelLiters, 0) + :liters, " +
+           "s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.year = :year AND s.month = :month")
+    int applyDelta(@Param("year") int year,
+                   @Param("month") int month,
+                   @Param("revenue") BigDecimal revenue,
+                   @Param("fuelCost") BigDecimal fuelCost,
+                   @Param("maintenanceCost") BigDecimal maintenanceCost,
+                   @Param("trips") int trips,
+                   @Param("distance") double distance,
+                   @Param("liters") double liters);
+
 }
@@ -0,0 +1,41 @@
+package com.hackathon.securestarter.repository;
+
+import com.hackathon.securestarter.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Oldest deliverable events, locked with SELECT ... FOR UPDATE SKIP LOCKED
+     * (lock timeout -2), so rows already claimed by another relay are passed over.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.deliveredAt IS NULL AND e.availableAt <= :now " +
+           "ORDER BY e.createdAt")
+    List<OutboxEvent> claimDeliverable(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Events not delivered yet of the given types, including ones in backoff or parked.
+     */
+    List<OutboxEvent> findByDeliveredAtIsNullAndEventTypeIn(Collection<String> eventTypes);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.deliveredAt < :before")
+    int deleteDeliveredBefore(@Param("before") LocalDateTime before);
+}
@@ -2,47 +2,153 @@ package com.hackathon.securestarter.repository;
 
 import com.hackathon.securestarter.entity.Trip;
 import com.hackathon.securestarter.enums.TripStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TripRepository extends JpaRepository<Trip, UUID> {
 
+    /**
+     * Every list read loads its to-one associations in the same select
+     * (Trip.withAssociations), so mapping to responses triggers no lazy loads.
+     */
+    @Override
+    @EntityGraph("Trip.withAssociations")
+    List<Trip> findAll();
+
     Optional<Trip> findByTripNumber(Long tripNumber);
 
+    /**
+     * Load a set of trips with vehicle, driver and dispatcher in one IN query.
+     */
+    @EntityGraph("Trip.withAssociations")
+    List<Trip> findByIdIn(Collection<UUID> ids);
+
+    @EntityGraph("Trip.withAssociations")
     List<Trip> findByStatus(TripStatus status);
 
+    @EntityGraph("Trip.withAssociations")
     List<Trip> findByVehicleId(UUID vehicleId);
 
+    @EntityGraph("Trip.withAssociations")
     List<Trip> findByDriverId(UUID driverId);
 
+    @EntityGraph("Trip.withAssociations")
     List<Trip> findByDispatchedById(UUID userId);
 
+    /**
+     * Trip count per status in one grouped query (dashboard KPIs).
+     */
+    @Query("SELECT t.status AS status, COUNT(t) AS total FROM Trip t GROUP BY t.status")
+    List<TripStatusCount> countGroupedByStatus();
+
+    /**
+     * Most recently updated trips in one status, associations fetch-joined.
+     * Equality on status lets this walk the (status, updated_at) index backwards and
+     * stop at the Limit (InnoDB appends the id to the index, so the tie-break is free);
+     * an IN list over several statuses would filesort every matching row instead.
+     */
+    @Query("SELECT t FROM Trip t JOIN FETCH t.vehicle JOIN FETCH t.driver LEFT JOIN FETCH t.dispatchedBy " +
+           "WHERE t.status = :status ORDER BY t.updatedAt DESC, t.id DESC")
+    List<Trip> findRecentByStatus(@Param("status") TripStatus status, Limit limit);
+
     @Query("SELECT COUNT(t) FROM Trip t WHERE t.status = 'DRAFT'")
     Long countPendingCargo();
 
     @Query("SELECT COUNT(t) FROM Trip t WHERE t.status = 'DISPATCHED' OR t.status = 'IN_TRANSIT'")
     Long countActiveTrips();
 
+    /**
+     * Total revenue across all completed trips.
+     */
+    @Query("SELECT COALESCE(SUM(t.revenue), 0) FROM Trip t WHERE t.status = 'COMPLETED'")
+    BigDecimal totalCompletedRevenue();
+
+    /**
+     * Revenue, trip count and distance of trips completed in [from, to).
+     * Range predicate on completed_at so the (status, completed_at) index is used.
+     */
+    @Query("SELECT COALESCE(SUM(t.revenue), 0) AS revenue, COUNT(t) AS tripCount, " +
+           "COALESCE(SUM(t.actualDistance), 0) AS distance FROM Trip t " +
+           "WHERE t.status = 'COMPLETED' AND t.completedAt >= :from AND t.completedAt < :to")
+    CompletedTripTotals completedTripTotalsBetween(@Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
     @Query("SELECT COALESCE(MAX(t.tripNumber), 0) FROM Trip t")
     Long findMaxTripNumber();
 
     /**
      * Find completed trips for a vehicle (for expense linking).
      */
+    @EntityGraph("Trip.withAssociations")
     List<Trip> findByVehicleIdAndStatus(UUID vehicleId, TripStatus status);
 
     /**
      * Find trips by vehicle and multiple statuses.
      */
+    @EntityGraph("Trip.withAssociations")
     @Query("SELECT t FROM Trip t WHERE t.vehicle.id = :vehicleId AND t.status IN :statuses")
     List<Trip> findByVehicleIdAndStatusIn(@Param("vehicleId") UUID vehicleId,
                                           @Param("statuses") List<TripStatus> statuses);
 
+    /**
+     * Forward-only cursor over all trips for export, associations fetch-joined.
+     * Must be consumed inside a transaction and closed. Rows arrive 500 at a time
+     * through a server-side cursor (JpaConfig turns on useCursorFetch for MySQL).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Trip t JOIN FETCH t.vehicle JOIN FETCH t.driver LEFT JOIN FETCH t.dispatchedBy")
+    Stream<Trip> streamAllForExport();
+
+    /**
+     * Keyset pagination, newest first: first page, then pages after a
+     * (createdAt, id) cursor. Served by the (created_at, id) indexes.
+     */
+    @Query("SELECT t FROM Trip t JOIN FETCH t.vehicle JOIN FETCH t.driver LEFT JOIN FETCH t.dispatchedBy " +
+           "WHERE (:status IS NULL OR t.status = :status) ORDER BY t.createdAt DESC, t.id DESC")
+    List<Trip> findFirstPage(@Param("status") TripStatus status, Limit limit);
+
+    @Query("SELECT t FROM Trip t JOIN FETCH t.vehicle JOIN FETCH t.driver LEFT JOIN FETCH t.dispatchedBy " +
+           "WHERE (:status IS NULL OR t.status = :status) " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Trip> findPageAfter(@Param("status") TripStatus status,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") UUID id, Limit limit);
+
+    /**
+     * Aggregate projection for completed trips in a period.
+     */
+    interface CompletedTripTotals {
+        BigDecimal getRevenue();
+        Long getTripCount();
+        Double getDistance();
+    }
+
+    /**
+     * Per-status trip count projection.
+     */
+    interface TripStatusCount {
+        TripStatus getStatus();
+        Long getTotal();
+    }
+
 }
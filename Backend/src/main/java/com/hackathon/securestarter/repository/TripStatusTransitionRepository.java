@@ -0,0 +1,14 @@
+package com.hackathon.securestarter.repository;
+
+import com.hackathon.securestarter.entity.TripStatusTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TripStatusTransitionRepository extends JpaRepository<TripStatusTransition, UUID> {
+
+    List<TripStatusTransition> findByTripIdOrderByOccurredAtAsc(UUID tripId);
+}
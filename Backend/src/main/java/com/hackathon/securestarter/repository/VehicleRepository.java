@@ -3,10 +3,15 @@ package com.hackathon.securestarter.repository;
 import com.hackathon.securestarter.entity.Vehicle;
 import com.hackathon.securestarter.enums.VehicleStatus;
 import com.hackathon.securestarter.enums.VehicleType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +29,30 @@ public interface VehicleRepository extends JpaRepository<Vehicle, UUID> {
 
     List<Vehicle> findByStatusAndType(VehicleStatus status, VehicleType type);
 
+    /**
+     * Non-retired vehicles for cost analytics, optionally filtered by type and status.
+     */
+    @Query("SELECT v FROM Vehicle v WHERE v.status <> 'RETIRED' " +
+           "AND (:type IS NULL OR v.type = :type) AND (:status IS NULL OR v.status = :status)")
+    List<Vehicle> findNonRetired(@Param("type") VehicleType type,
+                                 @Param("status") VehicleStatus status,
+                                 Pageable pageable);
+
+    /**
+     * Top N costliest non-retired vehicles, ranked in the database by
+     * total expense cost + total maintenance cost. Limit via the Pageable.
+     */
+    @Query("SELECT v FROM Vehicle v WHERE v.status <> 'RETIRED' ORDER BY " +
+           "((SELECT COALESCE(SUM(e.totalCost), 0) FROM Expense e WHERE e.vehicle = v) + " +
+           "(SELECT COALESCE(SUM(m.cost), 0) FROM MaintenanceLog m WHERE m.vehicle = v)) DESC, v.id")
+    List<Vehicle> findTopCostliest(Pageable pageable);
+
+    /**
+     * Vehicle count per status in one grouped query (dashboard KPIs).
+     */
+    @Query("SELECT v.status AS status, COUNT(v) AS total FROM Vehicle v GROUP BY v.status")
+    List<VehicleStatusCount> countGroupedByStatus();
+
     @Query("SELECT COUNT(v) FROM Vehicle v WHERE v.status = 'ON_TRIP'")
     Long countActiveFleet();
 
@@ -36,4 +65,32 @@ public interface VehicleRepository extends JpaRepository<Vehicle, UUID> {
     @Query("SELECT COUNT(v) FROM Vehicle v WHERE v.status = 'ON_TRIP' OR v.status = 'IN_SHOP'")
     Long countAssigned();
 
+    /**
+     * Total acquisition cost across all vehicles (for fleet ROI).
+     */
+    @Query("SELECT COALESCE(SUM(v.acquisitionCost), 0) FROM Vehicle v")
+    BigDecimal totalAcquisitionCost();
+
+    /**
+     * Keyset pages over vehicles, newest first (see PageCursor).
+     */
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.createdBy " +
+           "WHERE (:status IS NULL OR v.status = :status) ORDER BY v.createdAt DESC, v.id DESC")
+    List<Vehicle> findFirstPage(@Param("status") VehicleStatus status, Limit limit);
+
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.createdBy " +
+           "WHERE (:status IS NULL OR v.status = :status) " +
+           "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id)) " +
+           "ORDER BY v.createdAt DESC, v.id DESC")
+    List<Vehicle> findPageAfter(@Param("status") VehicleStatus status,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") UUID id, Limit limit);
+
+    /**
+     * Per-status vehicle count projection.
+     */
+    interface VehicleStatusCount {
+        VehicleStatus getStatus();
+        Long getTotal();
+    }
 }
@@ -0,0 +1,86 @@
+package com.hackathon.securestarter.security;
+
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.event.UserAccountChangedEvent;
+import com.hackathon.securestarter.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, expiring cache of authenticated users, keyed by the userId claim.
+ *
+ * Entries are least-recently-used ordered and dropped past maxSize, and are
+ * reloaded once older than the TTL, so a change made on another instance
+ * shows up within the TTL. Changes made here publish UserAccountChangedEvent
+ * and are evicted as soon as they commit. A load that overlaps an eviction is
+ * returned but not cached, so it cannot put back the state that was just
+ * invalidated. Cached users are detached and shared between requests: read
+ * them, never modify them.
+ */
+@Component
+@Slf4j
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<UUID, CachedUser> users;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AuthenticatedUserCache(UserRepository userRepository,
+                                  @Value("${security.user-cache.max-size:10000}") int maxSize,
+                                  @Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * The user with this id, from the cache while fresh, else from the database. Null if there is none.
+     */
+    public User get(UUID userId) {
+        long now = System.nanoTime();
+        synchronized (users) {
+            CachedUser cached = users.get(userId);
+            if (cached != null && now - cached.loadedAt() < ttlNanos) {
+                return cached.user();
+            }
+        }
+
+        long evictionsBefore = evictions.get();
+        User user = userRepository.findById(userId).orElse(null);
+        if (user != null && evictions.get() == evictionsBefore) {
+            synchronized (users) {
+                users.put(userId, new CachedUser(user, now));
+            }
+        }
+        return user;
+    }
+
+    public void evict(UUID userId) {
+        evictions.incrementAndGet();
+        synchronized (users) {
+            users.remove(userId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        evict(event.userId());
+        log.debug("Evicted cached user: {}", event.userId());
+    }
+
+    private record CachedUser(User user, long loadedAt) {
+    }
+}
@@ -1,11 +1,13 @@
 package com.hackathon.securestarter.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,7 +17,17 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
+/**
+ * Authenticates requests carrying a Bearer JWT.
+ *
+ * By default (security.jwt.principal-source=claims) the user is identified by
+ * the verified userId claim and taken from AuthenticatedUserCache, so a
+ * request costs no query while the cached entry is fresh. With
+ * principal-source=database the user is loaded by email on every request.
+ * Deactivated users are not authenticated in either mode.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -23,6 +35,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final AuthenticatedUserCache userCache;
+
+    @Value("${security.jwt.principal-source:claims}")
+    private String principalSource;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,22 +47,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtService.validateToken(jwt)) {
-                String email = jwtService.getEmailFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? jwtService.validateAndExtract(jwt) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (claims != null) {
+                UserDetails userDetails = loadUser(claims);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                if (userDetails != null && userDetails.isAccountNonLocked()) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Set authentication for user: {}", email);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Set authentication for user: {}", userDetails.getUsername());
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -55,6 +73,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * The token's user: by userId claim through the cache, or by email from the database
+     */
+    private UserDetails loadUser(Claims claims) {
+        if ("database".equalsIgnoreCase(principalSource)) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return userCache.get(UUID.fromString(claims.get("userId", String.class)));
+    }
+
     /**
      * Extract JWT token from Authorization header
      */
@@ -11,7 +11,12 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -24,12 +29,27 @@ public class JwtService {
     @Value("${jwt.expiration-ms:86400000}") // Default: 24 hours
     private long jwtExpirationMs;
 
+    @Value("${jwt.verified-cache.size:1024}") // 0 disables the cache
+    private int verifiedCacheSize;
+
     private SecretKey secretKey;
+    private JwtParser parser; // immutable and thread-safe, shared by all requests
+    private Map<String, Claims> verifiedTokens; // SHA-256 of token -> claims, LRU, guarded by itself
 
     @PostConstruct
     public void init() {
         this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        log.info("JWT Service initialized with expiration: {} ms", jwtExpirationMs);
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        };
+        log.info("JWT Service initialized with expiration: {} ms, verified token cache: {}",
+                jwtExpirationMs, verifiedCacheSize);
     }
 
     /**
@@ -51,6 +71,42 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Verify the token once and return all of its claims, or null if it is invalid or expired.
+     * Tokens verified recently are answered from the cache (keyed by SHA-256 of the token)
+     * without repeating the signature check; their expiry is still checked on every call.
+     */
+    public Claims validateAndExtract(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String digest = verifiedCacheSize > 0 ? digest(token) : null;
+        if (digest != null) {
+            Claims cached;
+            synchronized (verifiedTokens) {
+                cached = verifiedTokens.get(digest);
+            }
+            if (cached != null) {
+                if (cached.getExpiration().after(new Date())) {
+                    return cached;
+                }
+                synchronized (verifiedTokens) {
+                    verifiedTokens.remove(digest);
+                }
+                log.error("Expired JWT token: {}", cached.getSubject());
+                return null;
+            }
+        }
+
+        Claims claims = verify(token);
+        if (claims != null && digest != null && claims.getExpiration() != null) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(digest, claims);
+            }
+        }
+        return claims;
+    }
+
     /**
      * Extract email (username) from JWT token
      */
@@ -80,21 +136,7 @@ public class JwtService {
      * Validate JWT token
      */
     public boolean validateToken(String token) {
-        try {
-            parseToken(token);
-            return true;
-        } catch (SignatureException ex) {
-            log.error("Invalid JWT signature: {}", ex.getMessage());
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token: {}", ex.getMessage());
-        } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token: {}", ex.getMessage());
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token: {}", ex.getMessage());
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty: {}", ex.getMessage());
-        }
-        return false;
+        return validateAndExtract(token) != null;
     }
 
     /**
@@ -121,11 +163,36 @@ public class JwtService {
      * Parse and extract claims from token
      */
     private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Parse the token, logging why it was rejected
+     */
+    private Claims verify(String token) {
+        try {
+            return parseToken(token);
+        } catch (SignatureException ex) {
+            log.error("Invalid JWT signature: {}", ex.getMessage());
+        } catch (MalformedJwtException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
+        } catch (ExpiredJwtException ex) {
+            log.error("Expired JWT token: {}", ex.getMessage());
+        } catch (UnsupportedJwtException ex) {
+            log.error("Unsupported JWT token: {}", ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            log.error("JWT claims string is empty: {}", ex.getMessage());
+        }
+        return null;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+package com.hackathon.securestarter.security;
+
+import com.hackathon.securestarter.dto.response.LoginAdmissionStatsResponse;
+import com.hackathon.securestarter.exception.TooManyRequestsException;
+import com.hackathon.securestarter.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control in front of password verification.
+ *
+ * Every login attempt for an existing account first takes a slot in an
+ * in-memory sliding window per account (at most maxAttempts in the last
+ * window-seconds). A full window answers 429 with the seconds until its
+ * oldest attempt expires. A successful login clears the account's window.
+ * Windows are only created after the account lookup, so a spray of made-up
+ * emails cannot grow the table; those attempts cost a lookup and no hashing.
+ *
+ * A second window per client IP is opt-in (auth.login.max-attempts-per-ip,
+ * 0 = off). The IP is request.getRemoteAddr(), which behind a load balancer
+ * or reverse proxy is the proxy's address, so one window would throttle every
+ * user at once. Before enabling it there, set server.forward-headers-strategy
+ * (native, with server.tomcat.remoteip.internal-proxies matching the trusted
+ * proxies) so the servlet container resolves the client from X-Forwarded-For
+ * only when the request comes through a trusted proxy.
+ *
+ * The password check itself (AuthenticationManager, i.e. the user lookup
+ * and BCrypt) runs on passwordHashExecutor: one thread per core and a short
+ * bounded queue. When the queue is full the login is answered 429 at once,
+ * so a burst of logins queues a bounded amount of CPU work instead of
+ * occupying every servlet thread with hashing.
+ *
+ * Windows are per instance and idle ones are swept on a schedule.
+ */
+@Component
+@Slf4j
+public class LoginAdmissionControl {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolTaskExecutor hashExecutor;
+    private final Map<String, SlidingWindow> accountWindows = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindow> ipWindows = new ConcurrentHashMap<>();
+
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder throttledByAccount = new LongAdder();
+    private final LongAdder throttledByIp = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    @Value("${auth.login.max-attempts-per-account:10}")
+    private int maxAttemptsPerAccount;
+
+    @Value("${auth.login.max-attempts-per-ip:0}")
+    private int maxAttemptsPerIp;
+
+    @Value("${auth.login.window-seconds:300}")
+    private long windowSeconds;
+
+    @Value("${auth.password-hash.queue-capacity:64}")
+    private int queueCapacity;
+
+    public LoginAdmissionControl(AuthenticationManager authenticationManager,
+                                 @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor hashExecutor) {
+        this.authenticationManager = authenticationManager;
+        this.hashExecutor = hashExecutor;
+    }
+
+    /**
+     * Count the attempt against the client's IP window, if enabled. Call before the account lookup.
+     * Throws TooManyRequestsException if the window is full.
+     */
+    public void admitClient(String clientIp) {
+        if (maxAttemptsPerIp <= 0) {
+            return;
+        }
+        long wait = ipWindows.computeIfAbsent(clientIp, key -> new SlidingWindow(maxAttemptsPerIp))
+                .tryAcquire(System.nanoTime(), TimeUnit.SECONDS.toNanos(windowSeconds));
+        if (wait > 0) {
+            throttledByIp.increment();
+            log.warn("Login attempts throttled for IP: {}", clientIp);
+            throw new TooManyRequestsException(Constants.TOO_MANY_LOGIN_ATTEMPTS, toRetryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * Count the attempt against the account's window. Call only for an existing account, before hashing.
+     * Throws TooManyRequestsException if the window is full.
+     */
+    public void admitAccount(String email) {
+        long wait = accountWindows.computeIfAbsent(email, key -> new SlidingWindow(maxAttemptsPerAccount))
+                .tryAcquire(System.nanoTime(), TimeUnit.SECONDS.toNanos(windowSeconds));
+        if (wait > 0) {
+            throttledByAccount.increment();
+            log.warn("Login attempts throttled for account: {}", email);
+            throw new TooManyRequestsException(Constants.TOO_MANY_LOGIN_ATTEMPTS, toRetryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * Check the credentials on the hash executor and wait for the result.
+     * Authentication failures are rethrown as they are; a full queue throws TooManyRequestsException.
+     */
+    public Authentication authenticate(String email, String password) {
+        long submittedAt = System.nanoTime();
+        Future<Authentication> result;
+        try {
+            result = hashExecutor.submit(() -> {
+                long startedAt = System.nanoTime();
+                totalQueueWaitNanos.add(startedAt - submittedAt);
+                try {
+                    return authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(email, password));
+                } finally {
+                    long hashNanos = System.nanoTime() - startedAt;
+                    verifications.increment();
+                    totalHashNanos.add(hashNanos);
+                    maxHashNanos.accumulate(hashNanos);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            rejectedQueueFull.increment();
+            throw new TooManyRequestsException(Constants.LOGIN_BUSY, 1);
+        }
+
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new IllegalStateException("Interrupted while verifying password", e);
+        }
+    }
+
+    /**
+     * Forget the account's attempts after a successful login.
+     */
+    public void recordSuccess(String email) {
+        accountWindows.remove(email);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login.sweep-interval-ms:60000}",
+            initialDelayString = "${auth.login.sweep-interval-ms:60000}")
+    public void sweepIdleWindows() {
+        long now = System.nanoTime();
+        long windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        accountWindows.values().removeIf(window -> window.isIdle(now, windowNanos));
+        ipWindows.values().removeIf(window -> window.isIdle(now, windowNanos));
+    }
+
+    public LoginAdmissionStatsResponse getStats() {
+        long verified = verifications.sum();
+        return LoginAdmissionStatsResponse.builder()
+                .verifications(verified)
+                .rejectedQueueFull(rejectedQueueFull.sum())
+                .throttledByAccount(throttledByAccount.sum())
+                .throttledByIp(throttledByIp.sum())
+                .hashThreads(hashExecutor.getMaxPoolSize())
+                .activeHashThreads(hashExecutor.getActiveCount())
+                .queueDepth(hashExecutor.getQueueSize())
+                .queueCapacity(queueCapacity)
+                .averageQueueWaitMs(verified > 0 ? totalQueueWaitNanos.sum() / (verified * 1_000_000.0) : 0.0)
+                .averageHashTimeMs(verified > 0 ? totalHashNanos.sum() / (verified * 1_000_000.0) : 0.0)
+                .maxHashTimeMs(maxHashNanos.get() / 1_000_000.0)
+                .trackedAccounts(accountWindows.size())
+                .trackedIps(ipWindows.size())
+                .build();
+    }
+
+    // ---- Internal helper methods ----
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    /**
+     * Times of the last maxAttempts attempts in a ring; the slot about to be
+     * overwritten holds the oldest one.
+     */
+    private static final class SlidingWindow {
+        private final long[] attempts;
+        private int next;
+        private int size;
+
+        private SlidingWindow(int maxAttempts) {
+            this.attempts = new long[Math.max(1, maxAttempts)];
+        }
+
+        /**
+         * Record an attempt and return 0, or return the nanos until one is allowed again.
+         */
+        private synchronized long tryAcquire(long now, long windowNanos) {
+            if (size == attempts.length) {
+                long age = now - attempts[next];
+                if (age < windowNanos) {
+                    return windowNanos - age;
+                }
+            } else {
+                size++;
+            }
+            attempts[next] = now;
+            next = (next + 1) % attempts.length;
+            return 0;
+        }
+
+        private synchronized boolean isIdle(long now, long windowNanos) {
+            int newest = (next - 1 + attempts.length) % attempts.length;
+            return size == 0 || now - attempts[newest] >= windowNanos;
+        }
+    }
+}
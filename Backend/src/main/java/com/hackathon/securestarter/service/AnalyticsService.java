@@ -1,21 +1,33 @@
 package com.hackathon.securestarter.service;
 
+import com.hackathon.securestarter.dto.response.CacheStatsResponse;
 import com.hackathon.securestarter.dto.response.MonthlyFinancialSummaryResponse;
 import com.hackathon.securestarter.dto.response.VehicleCostResponse;
 import com.hackathon.securestarter.entity.MonthlyFinancialSummary;
+import com.hackathon.securestarter.entity.OutboxEvent;
 import com.hackathon.securestarter.entity.Vehicle;
 import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.enums.VehicleType;
 import com.hackathon.securestarter.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -24,12 +36,18 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AnalyticsService {
 
+    private static final int DEFAULT_COST_PAGE_SIZE = 50;
+    private static final int MAX_COST_PAGE_SIZE = 500;
+
     private final VehicleRepository vehicleRepository;
     private final ExpenseRepository expenseRepository;
     private final MaintenanceLogRepository maintenanceLogRepository;
     private final FuelLogRepository fuelLogRepository;
     private final TripRepository tripRepository;
     private final MonthlyFinancialSummaryRepository financialSummaryRepository;
+    private final FleetSummaryCache fleetSummaryCache;
+    private final OutboxEventRepository outboxEventRepository;
+    private final DomainEventCodec eventCodec;
 
     /**
      * Get monthly financial summaries for a specific year, or all summaries if year is null.
@@ -48,67 +66,48 @@ public class AnalyticsService {
 
     /**
      * Generate/update the monthly financial summary for a given month.
-     * Aggregates from trips, expenses, maintenance logs, and fuel logs.
+     * Aggregates from trips, expenses, maintenance logs, and fuel logs
+     * with one range-bounded aggregate query per source table.
+     *
+     * The summary row is locked first, so incremental updates wait for the recompute
+     * instead of being overwritten by it, and every later read sees the same snapshot.
+     * Changes whose outbox events are not delivered yet are left out; the relay adds
+     * them when it delivers the events, so they are counted exactly once.
      */
-    @Transactional
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public MonthlyFinancialSummaryResponse generateMonthlySummary(int year, int month) {
         MonthlyFinancialSummary summary = financialSummaryRepository
-                .findByYearAndMonth(year, month)
+                .lockByYearAndMonth(year, month)
                 .orElse(MonthlyFinancialSummary.builder()
                         .year(year)
                         .month(month)
                         .build());
 
-        // Calculate revenue from completed trips in this month
-        BigDecimal revenue = tripRepository.findByStatus(com.hackathon.securestarter.enums.TripStatus.COMPLETED)
-                .stream()
-                .filter(t -> t.getCompletedAt() != null
-                        && t.getCompletedAt().getYear() == year
-                        && t.getCompletedAt().getMonthValue() == month)
-                .map(t -> t.getRevenue() != null ? t.getRevenue() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate total fuel cost from expenses
-        BigDecimal fuelCost = expenseRepository.findAll().stream()
-                .filter(e -> e.getCreatedAt() != null
-                        && e.getCreatedAt().getYear() == year
-                        && e.getCreatedAt().getMonthValue() == month)
-                .map(e -> e.getFuelCost() != null ? e.getFuelCost() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate maintenance cost
-        BigDecimal maintenanceCost = maintenanceLogRepository.totalCostByMonth(year, month);
-
-        // Trip count and distance
-        long totalTrips = tripRepository.findByStatus(com.hackathon.securestarter.enums.TripStatus.COMPLETED)
-                .stream()
-                .filter(t -> t.getCompletedAt() != null
-                        && t.getCompletedAt().getYear() == year
-                        && t.getCompletedAt().getMonthValue() == month)
-                .count();
-
-        double totalDistance = tripRepository.findByStatus(com.hackathon.securestarter.enums.TripStatus.COMPLETED)
-                .stream()
-                .filter(t -> t.getCompletedAt() != null
-                        && t.getCompletedAt().getYear() == year
-                        && t.getCompletedAt().getMonthValue() == month)
-                .mapToDouble(t -> t.getActualDistance() != null ? t.getActualDistance() : 0.0)
-                .sum();
-
-        // Total fuel liters
-        double totalFuelLiters = fuelLogRepository.findAll().stream()
-                .filter(f -> f.getFillDate() != null
-                        && f.getFillDate().getYear() == year
-                        && f.getFillDate().getMonthValue() == month)
-                .mapToDouble(f -> f.getLiters() != null ? f.getLiters() : 0.0)
-                .sum();
-
-        summary.setRevenue(revenue);
-        summary.setFuelCost(fuelCost);
-        summary.setMaintenanceCost(maintenanceCost);
-        summary.setTotalTrips((int) totalTrips);
-        summary.setTotalDistance(totalDistance);
-        summary.setTotalFuelLiters(totalFuelLiters);
+        // Period bounds as half-open ranges so every aggregate can use its date index
+        LocalDate monthStart = LocalDate.of(year, month, 1);
+        LocalDate nextMonthStart = monthStart.plusMonths(1);
+        LocalDateTime from = monthStart.atStartOfDay();
+        LocalDateTime to = nextMonthStart.atStartOfDay();
+
+        // Revenue, trip count and distance from completed trips (one query)
+        TripRepository.CompletedTripTotals tripTotals = tripRepository.completedTripTotalsBetween(from, to);
+        BigDecimal revenue = tripTotals.getRevenue();
+        long totalTrips = tripTotals.getTripCount();
+        double totalDistance = tripTotals.getDistance();
+
+        // Fuel cost from expenses, maintenance cost and fuel liters (one query each)
+        BigDecimal fuelCost = expenseRepository.totalFuelCostBetween(from, to);
+        BigDecimal maintenanceCost = maintenanceLogRepository.totalCostBetween(monthStart, nextMonthStart);
+        double totalFuelLiters = fuelLogRepository.totalLitersBetween(from, to);
+
+        FinancialSummaryDelta pending = pendingDelta(YearMonth.of(year, month));
+
+        summary.setRevenue(revenue.subtract(pending.revenue()));
+        summary.setFuelCost(fuelCost.subtract(pending.fuelCost()));
+        summary.setMaintenanceCost(maintenanceCost.subtract(pending.maintenanceCost()));
+        summary.setTotalTrips((int) totalTrips - pending.trips());
+        summary.setTotalDistance(totalDistance - pending.distance());
+        summary.setTotalFuelLiters(totalFuelLiters - pending.liters());
 
         MonthlyFinancialSummary saved = financialSummaryRepository.save(summary);
         log.info("Monthly financial summary generated for {}/{}", year, month);
@@ -116,88 +115,61 @@ public class AnalyticsService {
     }
 
     /**
-     * Get cost breakdown per vehicle for analytics.
+     * Get cost breakdown per non-retired vehicle for analytics, optionally filtered by type/status and paginated.
+     * Totals come from a constant number of GROUP BY queries regardless of fleet size.
      */
-    public List<VehicleCostResponse> getVehicleCosts() {
-        List<Vehicle> vehicles = vehicleRepository.findAll().stream()
-                .filter(v -> v.getStatus() != VehicleStatus.RETIRED)
-                .collect(Collectors.toList());
-
-        List<VehicleCostResponse> responses = new ArrayList<>();
-        for (Vehicle vehicle : vehicles) {
-            UUID vehicleId = vehicle.getId();
-
-            BigDecimal totalExpenseCost = expenseRepository.totalCostByVehicleId(vehicleId);
-            BigDecimal totalFuelCost = expenseRepository.totalFuelCostByVehicleId(vehicleId);
-            BigDecimal totalMaintenanceCost = maintenanceLogRepository.totalCostByVehicleId(vehicleId);
-            BigDecimal totalOperationalCost = totalExpenseCost.add(totalMaintenanceCost);
-
-            // Calculate total distance from fuel logs or expenses
-            Double totalLiters = fuelLogRepository.totalLitersByVehicleId(vehicleId);
-            double totalDistance = vehicle.getOdometer() != null ? vehicle.getOdometer() : 0.0;
-
-            // Fuel efficiency: km per liter
-            double fuelEfficiency = 0.0;
-            if (totalLiters != null && totalLiters > 0 && totalDistance > 0) {
-                fuelEfficiency = totalDistance / totalLiters;
-                fuelEfficiency = Math.round(fuelEfficiency * 100.0) / 100.0;
-            }
-
-            // Cost per km
-            BigDecimal costPerKm = BigDecimal.ZERO;
-            if (totalDistance > 0) {
-                costPerKm = totalOperationalCost.divide(
-                        BigDecimal.valueOf(totalDistance), 2, RoundingMode.HALF_UP);
-            }
-
-            responses.add(VehicleCostResponse.builder()
-                    .vehicleId(vehicleId)
-                    .vehicleName(vehicle.getName())
-                    .vehicleLicensePlate(vehicle.getLicensePlate())
-                    .totalExpenseCost(totalExpenseCost)
-                    .totalFuelCost(totalFuelCost)
-                    .totalMaintenanceCost(totalMaintenanceCost)
-                    .totalOperationalCost(totalOperationalCost)
-                    .totalDistance(totalDistance)
-                    .fuelEfficiency(fuelEfficiency)
-                    .costPerKm(costPerKm)
-                    .build());
-        }
-        return responses;
+    public List<VehicleCostResponse> getVehicleCosts(VehicleType type, VehicleStatus status,
+                                                     Integer page, Integer size) {
+        Sort sort = Sort.by("licensePlate", "id");
+        Pageable pageable = (page != null || size != null)
+                ? PageRequest.of(page != null ? Math.max(page, 0) : 0,
+                                 Math.min(size != null && size > 0 ? size : DEFAULT_COST_PAGE_SIZE, MAX_COST_PAGE_SIZE),
+                                 sort)
+                : Pageable.unpaged(sort);
+
+        List<Vehicle> vehicles = vehicleRepository.findNonRetired(type, status, pageable);
+        return buildVehicleCosts(vehicles);
     }
 
     /**
      * Get top costliest vehicles.
+     * Ranking and LIMIT run in the database; only the winners get a cost breakdown.
      */
     public List<VehicleCostResponse> getTopCostliestVehicles(int limit) {
-        List<VehicleCostResponse> allCosts = getVehicleCosts();
-        return allCosts.stream()
-                .sorted((a, b) -> b.getTotalOperationalCost().compareTo(a.getTotalOperationalCost()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        int topK = Math.min(Math.max(limit, 1), MAX_COST_PAGE_SIZE);
+        List<Vehicle> topVehicles = vehicleRepository.findTopCostliest(PageRequest.of(0, topK));
+        return buildVehicleCosts(topVehicles);
+    }
+
+    /**
+     * Operating cost per km for the given vehicles, keyed by vehicle id
+     * (same three grouped queries as the cost breakdown).
+     */
+    public Map<UUID, BigDecimal> getCostPerKmByVehicle(List<Vehicle> vehicles) {
+        return buildVehicleCosts(vehicles).stream()
+                .collect(Collectors.toMap(VehicleCostResponse::getVehicleId, VehicleCostResponse::getCostPerKm));
     }
 
     /**
      * Get overall fleet analytics summary.
+     * Served from a TTL snapshot that is invalidated by vehicle, trip-completion and expense writes.
      */
     public FleetAnalyticsSummary getFleetAnalyticsSummary() {
+        return fleetSummaryCache.get(this::computeFleetAnalyticsSummary);
+    }
+
+    public CacheStatsResponse getFleetSummaryCacheStats() {
+        return fleetSummaryCache.getStats();
+    }
+
+    private FleetAnalyticsSummary computeFleetAnalyticsSummary() {
         BigDecimal totalFuelCost = expenseRepository.totalFuelCostAll();
         Long totalVehicles = vehicleRepository.countNonRetired();
 
         // Fleet ROI: (total revenue - total cost) / total acquisition cost
-        BigDecimal totalAcquisitionCost = vehicleRepository.findAll().stream()
-                .filter(v -> v.getAcquisitionCost() != null)
-                .map(Vehicle::getAcquisitionCost)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalRevenue = tripRepository.findByStatus(com.hackathon.securestarter.enums.TripStatus.COMPLETED)
-                .stream()
-                .map(t -> t.getRevenue() != null ? t.getRevenue() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalExpenses = expenseRepository.findAll().stream()
-                .map(e -> e.getTotalCost() != null ? e.getTotalCost() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalAcquisitionCost = vehicleRepository.totalAcquisitionCost();
+        BigDecimal totalRevenue = tripRepository.totalCompletedRevenue();
+        BigDecimal totalExpenses = expenseRepository.totalCostAll();
 
         BigDecimal netProfit = totalRevenue.subtract(totalExpenses);
 
@@ -227,7 +199,7 @@ public class AnalyticsService {
     /**
      * Generate current month summary on demand.
      */
-    @Transactional
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public MonthlyFinancialSummaryResponse generateCurrentMonthSummary() {
         LocalDate now = LocalDate.now();
         return generateMonthlySummary(now.getYear(), now.getMonthValue());
@@ -235,6 +207,90 @@ public class AnalyticsService {
 
     // ---- Helper ----
 
+    /**
+     * Sum of the deltas of undelivered outbox events (pending, in backoff or parked) that fall in the month.
+     */
+    private FinancialSummaryDelta pendingDelta(YearMonth period) {
+        FinancialSummaryDelta pending = FinancialSummaryDelta.zero(period);
+        for (OutboxEvent outboxEvent : outboxEventRepository
+                .findByDeliveredAtIsNullAndEventTypeIn(FinancialSummaryDelta.EVENT_TYPES)) {
+            Optional<FinancialSummaryDelta> delta = FinancialSummaryDelta.of(eventCodec.decode(outboxEvent));
+            if (delta.isPresent() && delta.get().period().equals(period)) {
+                pending = pending.plus(delta.get());
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Build cost responses for the given vehicles with three grouped aggregate queries,
+     * joined in memory by vehicle id.
+     */
+    private List<VehicleCostResponse> buildVehicleCosts(List<Vehicle> vehicles) {
+        if (vehicles.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<UUID> vehicleIds = vehicles.stream().map(Vehicle::getId).collect(Collectors.toList());
+        int capacity = vehicleIds.size() * 4 / 3 + 1;
+
+        Map<UUID, ExpenseRepository.VehicleExpenseTotals> expenseTotals = new HashMap<>(capacity);
+        for (ExpenseRepository.VehicleExpenseTotals row : expenseRepository.totalsByVehicleIds(vehicleIds)) {
+            expenseTotals.put(row.getVehicleId(), row);
+        }
+        Map<UUID, BigDecimal> maintenanceTotals = new HashMap<>(capacity);
+        for (MaintenanceLogRepository.VehicleMaintenanceTotal row : maintenanceLogRepository.totalsByVehicleIds(vehicleIds)) {
+            maintenanceTotals.put(row.getVehicleId(), row.getTotalCost());
+        }
+        Map<UUID, Double> literTotals = new HashMap<>(capacity);
+        for (FuelLogRepository.VehicleFuelTotal row : fuelLogRepository.totalLitersByVehicleIds(vehicleIds)) {
+            literTotals.put(row.getVehicleId(), row.getTotalLiters());
+        }
+
+        List<VehicleCostResponse> responses = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            UUID vehicleId = vehicle.getId();
+
+            ExpenseRepository.VehicleExpenseTotals expenses = expenseTotals.get(vehicleId);
+            BigDecimal totalExpenseCost = expenses != null ? expenses.getTotalCost() : BigDecimal.ZERO;
+            BigDecimal totalFuelCost = expenses != null ? expenses.getFuelCost() : BigDecimal.ZERO;
+            BigDecimal totalMaintenanceCost = maintenanceTotals.getOrDefault(vehicleId, BigDecimal.ZERO);
+            BigDecimal totalOperationalCost = totalExpenseCost.add(totalMaintenanceCost);
+
+            // Calculate total distance from fuel logs or expenses
+            Double totalLiters = literTotals.get(vehicleId);
+            double totalDistance = vehicle.getOdometer() != null ? vehicle.getOdometer() : 0.0;
+
+            // Fuel efficiency: km per liter
+            double fuelEfficiency = 0.0;
+            if (totalLiters != null && totalLiters > 0 && totalDistance > 0) {
+                fuelEfficiency = totalDistance / totalLiters;
+                fuelEfficiency = Math.round(fuelEfficiency * 100.0) / 100.0;
+            }
+
+            // Cost per km
+            BigDecimal costPerKm = BigDecimal.ZERO;
+            if (totalDistance > 0) {
+                costPerKm = totalOperationalCost.divide(
+                        BigDecimal.valueOf(totalDistance), 2, RoundingMode.HALF_UP);
+            }
+
+            responses.add(VehicleCostResponse.builder()
+                    .vehicleId(vehicleId)
+                    .vehicleName(vehicle.getName())
+                    .vehicleLicensePlate(vehicle.getLicensePlate())
+                    .totalExpenseCost(totalExpenseCost)
+                    .totalFuelCost(totalFuelCost)
+                    .totalMaintenanceCost(totalMaintenanceCost)
+                    .totalOperationalCost(totalOperationalCost)
+                    .totalDistance(totalDistance)
+                    .fuelEfficiency(fuelEfficiency)
+                    .costPerKm(costPerKm)
+                    .build());
+        }
+        return responses;
+    }
+
     private MonthlyFinancialSummaryResponse mapToSummaryResponse(MonthlyFinancialSummary summary) {
         return MonthlyFinancialSummaryResponse.builder()
                 .year(summary.getYear())
@@ -15,12 +15,11 @@ import com.hackathon.securestarter.repository.PasswordResetTokenRepository;
 import com.hackathon.securestarter.repository.UserRepository;
 import com.hackathon.securestarter.repository.VerificationTokenRepository;
 import com.hackathon.securestarter.security.JwtService;
+import com.hackathon.securestarter.security.LoginAdmissionControl;
 import com.hackathon.securestarter.util.Constants;
 import com.hackathon.securestarter.util.TokenGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -39,7 +38,7 @@ public class AuthService {
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final LoginAdmissionControl loginAdmissionControl;
     private final TokenGenerator tokenGenerator;
     private final EmailService emailService;
 
@@ -83,8 +82,8 @@ public class AuthService {
 
         verificationTokenRepository.save(verificationToken);
 
-        // Send verification email
-        emailService.sendVerificationEmail(savedUser.getEmail(), token);
+        // Queue verification email
+        emailService.enqueueVerificationEmail(savedUser.getEmail(), token);
 
         return MessageResponse.success(Constants.SIGNUP_SUCCESS);
     }
@@ -92,18 +91,22 @@ public class AuthService {
     /**
      * Login user
      */
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        String email = request.getEmail().toLowerCase();
+
+        // Rate limit per IP (when enabled) before any lookup or hashing
+        loginAdmissionControl.admitClient(clientIp);
+
         // Find user first
-        User user = userRepository.findByEmail(request.getEmail().toLowerCase())
+        User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new BadRequestException(Constants.INVALID_CREDENTIALS));
 
-        // Proceed with authentication
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail().toLowerCase(),
-                        request.getPassword()
-                )
-        );
+        // Rate limit per account; only existing accounts get a window
+        loginAdmissionControl.admitAccount(email);
+
+        // Proceed with authentication (password check runs on the bounded hash executor)
+        Authentication authentication = loginAdmissionControl.authenticate(email, request.getPassword());
+        loginAdmissionControl.recordSuccess(email);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -162,8 +165,8 @@ public class AuthService {
 
         log.info("Email verified for user: {}", user.getEmail());
 
-        // Send welcome email
-        emailService.sendWelcomeEmail(user.getEmail(), user.getName());
+        // Queue welcome email
+        emailService.enqueueWelcomeEmail(user.getEmail(), user.getName());
 
         return MessageResponse.success(Constants.VERIFICATION_SUCCESS);
     }
@@ -186,8 +189,8 @@ public class AuthService {
 
         passwordResetTokenRepository.save(resetToken);
 
-        // Send reset email
-        emailService.sendPasswordResetEmail(user.getEmail(), token);
+        // Queue reset email
+        emailService.enqueuePasswordResetEmail(user.getEmail(), token);
 
         log.info("Password reset requested for user: {}", user.getEmail());
 
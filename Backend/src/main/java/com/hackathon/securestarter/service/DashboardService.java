@@ -1,62 +1,59 @@
 package com.hackathon.securestarter.service;
 
 import com.hackathon.securestarter.dto.response.DashboardResponse;
+import com.hackathon.securestarter.dto.response.StatusCountersResponse;
 import com.hackathon.securestarter.dto.response.TripResponse;
 import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
 import com.hackathon.securestarter.repository.DriverRepository;
-import com.hackathon.securestarter.repository.TripRepository;
-import com.hackathon.securestarter.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DashboardService {
 
-    private final VehicleRepository vehicleRepository;
-    private final TripRepository tripRepository;
+    private static final int RECENT_TRIPS_LIMIT = 10;
+    private static final Set<TripStatus> RECENT_TRIP_STATUSES =
+            EnumSet.of(TripStatus.DISPATCHED, TripStatus.IN_TRANSIT, TripStatus.COMPLETED);
+
     private final DriverRepository driverRepository;
     private final TripService tripService;
+    private final FleetStatusRegistry statusRegistry;
 
     /**
      * Get dashboard KPIs and recent trip data for all roles.
+     * Status KPIs come from the in-memory FleetStatusRegistry; only the
+     * license-dependent available-driver count and recent trips hit the database.
      */
+    @Transactional(readOnly = true)
     public DashboardResponse getDashboard() {
-        Long totalVehicles = vehicleRepository.countNonRetired();
-        Long activeFleet = vehicleRepository.countActiveFleet();
-        Long inShopVehicles = vehicleRepository.countInShop();
-        Long pendingCargo = tripRepository.countPendingCargo();
-        Long activeTrips = tripRepository.countActiveTrips();
-        Long totalDrivers = driverRepository.count();
-        Long availableDrivers = (long) driverRepository.findAvailableDrivers(LocalDate.now()).size();
-
-        // Get recent trips (last 10 dispatched, in-transit, or completed)
-        List<TripResponse> recentTrips = Stream.of(
-                        tripRepository.findByStatus(TripStatus.IN_TRANSIT),
-                        tripRepository.findByStatus(TripStatus.DISPATCHED),
-                        tripRepository.findByStatus(TripStatus.COMPLETED)
-                )
-                .flatMap(List::stream)
-                .limit(10)
-                .map(trip -> tripService.getTripById(trip.getId()))
-                .collect(Collectors.toList());
+        Long availableDrivers = driverRepository.countAvailableDrivers(LocalDate.now());
+
+        // Most recently updated dispatched, in-transit or completed trips
+        List<TripResponse> recentTrips = tripService.getRecentTrips(RECENT_TRIP_STATUSES, RECENT_TRIPS_LIMIT);
 
         return DashboardResponse.builder()
-                .totalVehicles(totalVehicles)
-                .activeFleet(activeFleet)
-                .inShopVehicles(inShopVehicles)
-                .pendingCargo(pendingCargo)
-                .activeTrips(activeTrips)
-                .totalDrivers(totalDrivers)
+                .totalVehicles(statusRegistry.nonRetiredVehicles())
+                .activeFleet(statusRegistry.vehicles(VehicleStatus.ON_TRIP))
+                .inShopVehicles(statusRegistry.vehicles(VehicleStatus.IN_SHOP))
+                .pendingCargo(statusRegistry.trips(TripStatus.DRAFT))
+                .activeTrips(statusRegistry.trips(TripStatus.DISPATCHED) + statusRegistry.trips(TripStatus.IN_TRANSIT))
+                .totalDrivers(statusRegistry.totalDrivers())
                 .availableDrivers(availableDrivers)
                 .recentTrips(recentTrips)
                 .build();
     }
+
+    public StatusCountersResponse getStatusCounters() {
+        return statusRegistry.getStats();
+    }
 }
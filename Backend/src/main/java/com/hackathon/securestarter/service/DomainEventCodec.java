@@ -0,0 +1,42 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.OutboxEvent;
+import com.hackathon.securestarter.event.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON form of domain events as stored in the outbox.
+ * Kept apart from EventOutbox so readers of pending rows do not depend on the relay and its subscribers.
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventCodec {
+
+    private final JsonMapper jsonMapper;
+    private final Map<String, Class<? extends DomainEvent>> eventTypes = new ConcurrentHashMap<>();
+
+    public String encode(DomainEvent event) {
+        return jsonMapper.writeValueAsString(event);
+    }
+
+    public DomainEvent decode(OutboxEvent outboxEvent) {
+        return jsonMapper.readValue(outboxEvent.getPayload(), resolve(outboxEvent.getEventType()));
+    }
+
+    // ---- Internal helper methods ----
+
+    private Class<? extends DomainEvent> resolve(String eventType) {
+        return eventTypes.computeIfAbsent(eventType, name -> {
+            try {
+                return Class.forName(name).asSubclass(DomainEvent.class);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Unknown outbox event type: " + name, e);
+            }
+        });
+    }
+}
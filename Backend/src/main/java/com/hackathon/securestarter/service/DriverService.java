@@ -2,16 +2,20 @@ package com.hackathon.securestarter.service;
 
 import com.hackathon.securestarter.dto.request.CreateDriverRequest;
 import com.hackathon.securestarter.dto.request.UpdateDriverRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.DriverResponse;
 import com.hackathon.securestarter.entity.Driver;
 import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.enums.DriverStatus;
+import com.hackathon.securestarter.event.DriverStatusChangedEvent;
 import com.hackathon.securestarter.exception.BadRequestException;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.DriverRepository;
 import com.hackathon.securestarter.util.Constants;
+import com.hackathon.securestarter.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +30,7 @@ import java.util.stream.Collectors;
 public class DriverService {
 
     private final DriverRepository driverRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public DriverResponse createDriver(CreateDriverRequest request, User currentUser) {
@@ -44,6 +49,7 @@ public class DriverService {
                 .build();
 
         Driver saved = driverRepository.save(driver);
+        eventPublisher.publishEvent(new DriverStatusChangedEvent(saved.getId(), null, saved.getStatus()));
         log.info("Driver created: {} by user: {}", saved.getName(), currentUser.getEmail());
         return mapToResponse(saved);
     }
@@ -56,22 +62,31 @@ public class DriverService {
         if (request.getLicenseExpiryDate() != null) driver.setLicenseExpiryDate(request.getLicenseExpiryDate());
         if (request.getLicenseCategory() != null) driver.setLicenseCategory(request.getLicenseCategory());
         if (request.getPhone() != null) driver.setPhone(request.getPhone());
+        DriverStatus oldStatus = driver.getStatus();
         if (request.getStatus() != null) {
             validateDriverStatusChange(driver, request.getStatus());
             driver.setStatus(request.getStatus());
         }
 
         Driver updated = driverRepository.save(driver);
+        if (oldStatus != updated.getStatus()) {
+            eventPublisher.publishEvent(new DriverStatusChangedEvent(updated.getId(), oldStatus, updated.getStatus()));
+        }
         log.info("Driver updated: {} by user: {}", updated.getName(), currentUser.getEmail());
         return mapToResponse(updated);
     }
 
     @Transactional
+    @RetryOnConflict
     public DriverResponse updateDriverStatus(UUID driverId, DriverStatus newStatus, User currentUser) {
         Driver driver = getDriverEntity(driverId);
+        DriverStatus oldStatus = driver.getStatus();
         validateDriverStatusChange(driver, newStatus);
         driver.setStatus(newStatus);
         Driver updated = driverRepository.save(driver);
+        if (oldStatus != newStatus) {
+            eventPublisher.publishEvent(new DriverStatusChangedEvent(updated.getId(), oldStatus, newStatus));
+        }
         log.info("Driver {} status changed to {} by user: {}", updated.getName(), newStatus, currentUser.getEmail());
         return mapToResponse(updated);
     }
@@ -98,6 +113,18 @@ public class DriverService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of drivers, newest first (see TripService.getTripsPage).
+     */
+    public CursorPageResponse<DriverResponse> getDriversPage(DriverStatus status, String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Driver> rows = after == null
+                ? driverRepository.findFirstPage(status, PageCursor.fetchLimit(pageSize))
+                : driverRepository.findPageAfter(status, after.createdAt(), after.id(), PageCursor.fetchLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, Driver::getCreatedAt, Driver::getId, this::mapToResponse);
+    }
+
     public List<DriverResponse> getDriversByStatus(DriverStatus status) {
         return driverRepository.findByStatus(status).stream()
                 .map(this::mapToResponse)
@@ -130,6 +157,7 @@ public class DriverService {
             throw new BadRequestException("Cannot delete a driver that is currently on a trip");
         }
         driverRepository.delete(driver);
+        eventPublisher.publishEvent(new DriverStatusChangedEvent(driverId, driver.getStatus(), null));
         log.info("Driver deleted: {} by user: {}", driver.getName(), currentUser.getEmail());
     }
 
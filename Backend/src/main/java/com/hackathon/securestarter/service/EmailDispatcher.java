@@ -0,0 +1,232 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.EmailMessage;
+import com.hackathon.securestarter.enums.EmailStatus;
+import com.hackathon.securestarter.repository.EmailMessageRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background sender for the email queue.
+ *
+ * Each poll claims as many due messages as the free sender threads can take
+ * (SELECT ... FOR UPDATE SKIP LOCKED, so instances share the queue), marks
+ * them SENDING with a lease and commits. The claim is cut into chunks and
+ * each chunk is handed to emailSenderExecutor, where it goes out through a
+ * single JavaMailSender.send(MimeMessage...) call: one SMTP connection and
+ * login for the whole chunk. At most email.dispatcher.threads chunks are in
+ * flight, so the SMTP server never sees more connections than that.
+ *
+ * A failed message goes back to PENDING with exponential backoff and is
+ * marked DEAD after maxAttempts. Delivery is at-least-once: if the process
+ * dies mid-send, the lease runs out and the message is claimed again.
+ * Sent rows are purged after the retention period.
+ *
+ * Only JavaMailSender is used, so pointing spring.mail.host/port at an
+ * in-process SMTP server is enough to exercise the whole path in tests.
+ */
+@Service
+@Slf4j
+public class EmailDispatcher {
+
+    private static final List<EmailStatus> CLAIMABLE = List.of(EmailStatus.PENDING, EmailStatus.SENDING);
+
+    private final EmailMessageRepository emailMessageRepository;
+    private final JavaMailSender mailSender;
+    private final TaskExecutor senderExecutor;
+    private final TransactionTemplate requiresNewTransaction;
+    private final AtomicInteger chunksInFlight = new AtomicInteger();
+
+    @Value("${app.email.from:noreply@fleetflow.com}")
+    private String fromEmail;
+
+    @Value("${email.dispatcher.threads:2}")
+    private int maxChunksInFlight;
+
+    @Value("${email.dispatcher.messages-per-connection:20}")
+    private int messagesPerConnection;
+
+    @Value("${email.dispatcher.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.dispatcher.backoff-ms:30000}")
+    private long backoffMs;
+
+    @Value("${email.dispatcher.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${email.dispatcher.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${email.queue.retention-days:7}")
+    private long retentionDays;
+
+    public EmailDispatcher(EmailMessageRepository emailMessageRepository,
+                           JavaMailSender mailSender,
+                           @Qualifier("emailSenderExecutor") TaskExecutor senderExecutor,
+                           PlatformTransactionManager transactionManager) {
+        this.emailMessageRepository = emailMessageRepository;
+        this.mailSender = mailSender;
+        this.senderExecutor = senderExecutor;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Claim due messages for the free sender threads and hand them over. Never blocks on SMTP.
+     */
+    @Scheduled(fixedDelayString = "${email.dispatcher.poll-interval-ms:1000}",
+            initialDelayString = "${email.dispatcher.poll-interval-ms:1000}")
+    public void dispatch() {
+        int freeSenders = maxChunksInFlight - chunksInFlight.get();
+        if (freeSenders <= 0) {
+            return;
+        }
+        List<EmailMessage> claimed = requiresNewTransaction.execute(status ->
+                claim(freeSenders * messagesPerConnection));
+        for (int from = 0; from < claimed.size(); from += messagesPerConnection) {
+            List<EmailMessage> chunk = claimed.subList(from, Math.min(from + messagesPerConnection, claimed.size()));
+            chunksInFlight.incrementAndGet();
+            try {
+                senderExecutor.execute(() -> {
+                    try {
+                        sendChunk(chunk);
+                    } finally {
+                        chunksInFlight.decrementAndGet();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // Left SENDING; claimed again when the lease runs out
+                chunksInFlight.decrementAndGet();
+                log.warn("Email sender rejected a chunk of {} messages", chunk.size(), e);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${email.queue.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        int purged = requiresNewTransaction.execute(status ->
+                emailMessageRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays)));
+        if (purged > 0) {
+            log.info("Purged {} sent emails", purged);
+        }
+    }
+
+    // ---- Internal helper methods ----
+
+    private List<EmailMessage> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailMessage> due = emailMessageRepository.claimDue(CLAIMABLE, now, Limit.of(limit));
+        for (EmailMessage email : due) {
+            email.setStatus(EmailStatus.SENDING);
+            email.setNextAttemptAt(now.plusNanos(leaseMs * 1_000_000));
+        }
+        return due;
+    }
+
+    /**
+     * Send the chunk over one SMTP connection and record the outcome of every message.
+     */
+    private void sendChunk(List<EmailMessage> chunk) {
+        Map<MimeMessage, EmailMessage> messages = new LinkedHashMap<>();
+        Map<EmailMessage, Exception> failures = new HashMap<>();
+        for (EmailMessage email : chunk) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                // Lists only the messages that did not go out
+                e.getFailedMessages().forEach((message, cause) -> {
+                    EmailMessage email = messages.get(message);
+                    if (email != null) {
+                        failures.put(email, cause);
+                    }
+                });
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(email -> failures.put(email, e));
+                }
+            } catch (MailException e) {
+                messages.values().forEach(email -> failures.put(email, e));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailMessage email : chunk) {
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setNextAttemptAt(null);
+                email.setAttempts(email.getAttempts() + 1);
+                log.info("Email '{}' sent to: {}", email.getSubject(), email.getRecipient());
+            } else {
+                recordFailure(email, failure, now);
+            }
+        }
+        requiresNewTransaction.executeWithoutResult(status -> emailMessageRepository.saveAll(chunk));
+    }
+
+    /**
+     * Push the message back with exponential backoff, or mark it DEAD after maxAttempts.
+     */
+    private void recordFailure(EmailMessage email, Exception cause, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(String.valueOf(cause)));
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailStatus.DEAD);
+            email.setNextAttemptAt(null);
+            log.error("Email '{}' to {} is dead after {} attempts",
+                    email.getSubject(), email.getRecipient(), attempts, cause);
+        } else {
+            long delay = Math.min(maxBackoffMs, backoffMs << Math.min(attempts - 1, 30));
+            email.setStatus(EmailStatus.PENDING);
+            email.setNextAttemptAt(now.plusNanos(delay * 1_000_000));
+            log.warn("Email '{}' to {} failed, attempt {}; retrying in {} ms",
+                    email.getSubject(), email.getRecipient(), attempts, delay, cause);
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailMessage email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getHtmlBody(), true);
+        return mimeMessage;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -1,84 +1,92 @@
 package com.hackathon.securestarter.service;
 
+import com.hackathon.securestarter.entity.EmailMessage;
+import com.hackathon.securestarter.enums.EmailStatus;
+import com.hackathon.securestarter.repository.EmailMessageRepository;
 import com.hackathon.securestarter.util.Constants;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+
+/**
+ * Renders transactional emails and puts them on the delivery queue.
+ *
+ * Nothing here talks to SMTP: each method saves a PENDING EmailMessage in
+ * the caller's transaction, so the email exists if and only if the signup
+ * or reset committed, and EmailDispatcher sends it in the background.
+ * The HTML of each template is built once at startup with placeholders;
+ * rendering is a string substitution.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private static final String URL_PLACEHOLDER = "{{url}}";
+    private static final String NAME_PLACEHOLDER = "{{name}}";
 
-    @Value("${app.email.from:noreply@fleetflow.com}")
-    private String fromEmail;
+    private final EmailMessageRepository emailMessageRepository;
 
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
 
-    // ─── Public send methods ──────────────────────────────────
+    private String verificationTemplate;
+    private String passwordResetTemplate;
+    private String welcomeTemplate;
+
+    @PostConstruct
+    public void renderTemplates() {
+        verificationTemplate = buildVerificationHtml(URL_PLACEHOLDER);
+        passwordResetTemplate = buildPasswordResetHtml(URL_PLACEHOLDER);
+        welcomeTemplate = buildWelcomeHtml(NAME_PLACEHOLDER, frontendUrl + "/login");
+    }
+
+    // ─── Public enqueue methods ───────────────────────────────
 
     /**
-     * Send verification email to new user (BLOCKING)
+     * Queue verification email to new user
      */
-    public void sendVerificationEmail(String toEmail, String token) {
-        try {
-            String verificationUrl = frontendUrl + "/verify-email?token=" + token;
-            String subject = Constants.VERIFICATION_EMAIL_SUBJECT;
-            String html = buildVerificationHtml(verificationUrl);
-            sendHtmlEmail(toEmail, subject, html);
-            log.info("Verification email sent to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send verification email to: {}", toEmail, e);
-        }
+    public void enqueueVerificationEmail(String toEmail, String token) {
+        String verificationUrl = frontendUrl + "/verify-email?token=" + token;
+        enqueue(toEmail, Constants.VERIFICATION_EMAIL_SUBJECT,
+                verificationTemplate.replace(URL_PLACEHOLDER, verificationUrl));
     }
 
     /**
-     * Send password reset email (BLOCKING)
+     * Queue password reset email
      */
-    public void sendPasswordResetEmail(String toEmail, String token) {
-        try {
-            String resetUrl = frontendUrl + "/reset-password?token=" + token;
-            String subject = Constants.PASSWORD_RESET_EMAIL_SUBJECT;
-            String html = buildPasswordResetHtml(resetUrl);
-            sendHtmlEmail(toEmail, subject, html);
-            log.info("Password reset email sent to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to: {}", toEmail, e);
-        }
+    public void enqueuePasswordResetEmail(String toEmail, String token) {
+        String resetUrl = frontendUrl + "/reset-password?token=" + token;
+        enqueue(toEmail, Constants.PASSWORD_RESET_EMAIL_SUBJECT,
+                passwordResetTemplate.replace(URL_PLACEHOLDER, resetUrl));
     }
 
     /**
-     * Send welcome email after successful verification (BLOCKING)
+     * Queue welcome email after successful verification
      */
-    public void sendWelcomeEmail(String toEmail, String firstName) {
-        try {
-            String loginUrl = frontendUrl + "/login";
-            String html = buildWelcomeHtml(firstName, loginUrl);
-            sendHtmlEmail(toEmail, "Welcome to Fleet Flow! \uD83D\uDE9B", html);
-            log.info("Welcome email sent to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send welcome email to: {}", toEmail, e);
-        }
+    public void enqueueWelcomeEmail(String toEmail, String firstName) {
+        String name = (firstName != null && !firstName.isBlank()) ? HtmlUtils.htmlEscape(firstName) : "there";
+        enqueue(toEmail, "Welcome to Fleet Flow! \uD83D\uDE9B", welcomeTemplate.replace(NAME_PLACEHOLDER, name));
     }
 
-    // ─── MIME HTML sender ─────────────────────────────────────
-
-    private void sendHtmlEmail(String to, String subject, String htmlBody) throws MessagingException {
-        MimeMessage mimeMessage = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-        helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlBody, true);
-        mailSender.send(mimeMessage);
+    // ─── Queue writer ─────────────────────────────────────────
+
+    private void enqueue(String to, String subject, String htmlBody) {
+        LocalDateTime now = LocalDateTime.now();
+        emailMessageRepository.save(EmailMessage.builder()
+                .recipient(to)
+                .subject(subject)
+                .htmlBody(htmlBody)
+                .status(EmailStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        log.info("Email '{}' queued for: {}", subject, to);
     }
 
     // ─── Shared layout wrapper ────────────────────────────────
@@ -158,8 +166,7 @@ public class EmailService {
         return wrapInLayout(inner);
     }
 
-    private String buildWelcomeHtml(String firstName, String loginUrl) {
-        String name = (firstName != null && !firstName.isBlank()) ? firstName : "there";
+    private String buildWelcomeHtml(String name, String loginUrl) {
         String inner = "<h1 style=\"margin:0 0 8px 0;font-size:22px;font-weight:700;color:#1e293b;\">Welcome aboard, "
                 + name + "! &#127881;</h1>"
                 + "<p style=\"margin:0 0 20px 0;font-size:15px;color:#64748b;line-height:1.6;\">"
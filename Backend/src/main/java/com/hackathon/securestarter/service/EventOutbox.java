@@ -0,0 +1,176 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.OutboxEvent;
+import com.hackathon.securestarter.event.DomainEvent;
+import com.hackathon.securestarter.event.DomainEventSubscriber;
+import com.hackathon.securestarter.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transactional outbox for domain events.
+ *
+ * Every DomainEvent published through ApplicationEventPublisher is stored as
+ * an OutboxEvent row by a synchronous listener, i.e. in the publisher's own
+ * transaction: the row exists if and only if the change committed.
+ *
+ * The relay drains the table on a schedule, at most max-batches-per-run
+ * batches per run: it shares the scheduler thread with the other @Scheduled
+ * jobs, so a large backlog (a CSV import) is worked off over several runs
+ * instead of holding that thread until it is gone. Each batch is claimed with
+ * SELECT ... FOR UPDATE SKIP LOCKED, delivered to every DomainEventSubscriber
+ * and marked delivered in the same transaction, so instances share the work
+ * without delivering a row twice at the same time. If a subscriber throws,
+ * the batch rolls back and only the failing event is pushed back with
+ * exponential backoff; the rest are delivered on the next pass. Delivery is
+ * at-least-once. Delivered rows are purged after the retention period.
+ */
+@Service
+@Slf4j
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<DomainEventSubscriber> subscribers;
+    private final DomainEventCodec eventCodec;
+    private final TransactionTemplate requiresNewTransaction;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.backoff-ms:1000}")
+    private long backoffMs;
+
+    @Value("${outbox.relay.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Value("${outbox.retention-hours:72}")
+    private long retentionHours;
+
+    public EventOutbox(OutboxEventRepository outboxEventRepository,
+                       List<DomainEventSubscriber> subscribers,
+                       DomainEventCodec eventCodec,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+        this.eventCodec = eventCodec;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Runs synchronously in the publisher's transaction.
+     */
+    @EventListener
+    public void store(DomainEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(event.getClass().getName())
+                .payload(eventCodec.encode(event))
+                .createdAt(now)
+                .availableAt(now)
+                .build());
+    }
+
+    /**
+     * Deliver pending events batch by batch until the table is drained, a delivery
+     * fails or maxBatchesPerRun batches have gone out; the rest wait for the next run.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}",
+            initialDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        int delivered;
+        int batches = 0;
+        do {
+            try {
+                delivered = requiresNewTransaction.execute(status -> deliverBatch());
+            } catch (DeliveryFailure e) {
+                recordFailure(e.getEventId(), e.getCause());
+                return;
+            }
+        } while (delivered == batchSize && ++batches < maxBatchesPerRun);
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 15 * * * *}")
+    public void purgeDelivered() {
+        int purged = requiresNewTransaction.execute(status ->
+                outboxEventRepository.deleteDeliveredBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (purged > 0) {
+            log.info("Purged {} delivered outbox events", purged);
+        }
+    }
+
+    // ---- Internal helper methods ----
+
+    private int deliverBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.claimDeliverable(now, Limit.of(batchSize));
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                DomainEvent event = eventCodec.decode(outboxEvent);
+                for (DomainEventSubscriber subscriber : subscribers) {
+                    subscriber.onEvent(event);
+                }
+            } catch (RuntimeException e) {
+                throw new DeliveryFailure(outboxEvent.getId(), e);
+            }
+            outboxEvent.setDeliveredAt(now);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Push the failed event back with exponential backoff, or park it after maxAttempts.
+     */
+    private void recordFailure(UUID eventId, Throwable cause) {
+        requiresNewTransaction.executeWithoutResult(status ->
+                outboxEventRepository.findById(eventId).ifPresent(outboxEvent -> {
+                    int attempts = outboxEvent.getAttempts() + 1;
+                    outboxEvent.setAttempts(attempts);
+                    outboxEvent.setLastError(truncate(String.valueOf(cause)));
+                    if (attempts >= maxAttempts) {
+                        outboxEvent.setAvailableAt(null);
+                        log.error("Outbox event {} ({}) parked after {} attempts",
+                                eventId, outboxEvent.getEventType(), attempts, cause);
+                    } else {
+                        long delay = Math.min(maxBackoffMs, backoffMs << Math.min(attempts - 1, 30));
+                        outboxEvent.setAvailableAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+                        log.warn("Outbox event {} ({}) failed, attempt {}; retrying in {} ms",
+                                eventId, outboxEvent.getEventType(), attempts, delay, cause);
+                    }
+                }));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    private static final class DeliveryFailure extends RuntimeException {
+        private final UUID eventId;
+
+        private DeliveryFailure(UUID eventId, Throwable cause) {
+            super(cause);
+            this.eventId = eventId;
+        }
+
+        private UUID getEventId() {
+            return eventId;
+        }
+    }
+}
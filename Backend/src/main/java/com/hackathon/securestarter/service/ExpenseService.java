@@ -2,26 +2,34 @@ package com.hackathon.securestarter.service;
 
 import com.hackathon.securestarter.dto.request.CreateExpenseRequest;
 import com.hackathon.securestarter.dto.request.UpdateExpenseRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.ExpenseResponse;
 import com.hackathon.securestarter.entity.Expense;
 import com.hackathon.securestarter.entity.Trip;
 import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.enums.ExpenseStatus;
 import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.event.ExpenseChangedEvent;
 import com.hackathon.securestarter.exception.BadRequestException;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.ExpenseRepository;
 import com.hackathon.securestarter.repository.TripRepository;
 import com.hackathon.securestarter.util.Constants;
+import com.hackathon.securestarter.util.PageCursor;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +38,8 @@ public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
     private final TripRepository tripRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     /**
      * Create an expense record linked to a completed trip.
@@ -62,6 +72,8 @@ public class ExpenseService {
                 .build();
 
         Expense saved = expenseRepository.save(expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(
+                saved.getId(), saved.getCreatedAt(), saved.getFuelCost()));
         log.info("Expense created for trip #{} by user: {}",
                 trip.getTripNumber(), currentUser.getEmail());
         return mapToResponse(saved);
@@ -75,11 +87,15 @@ public class ExpenseService {
             throw new BadRequestException("Cannot update an expense that is already marked as DONE");
         }
 
+        BigDecimal oldFuelCost = expense.getFuelCost();
+
         if (request.getDistance() != null) expense.setDistance(request.getDistance());
         if (request.getFuelCost() != null) expense.setFuelCost(request.getFuelCost());
         if (request.getMiscExpense() != null) expense.setMiscExpense(request.getMiscExpense());
 
         Expense updated = expenseRepository.save(expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(
+                updated.getId(), updated.getCreatedAt(), updated.getFuelCost().subtract(oldFuelCost)));
         log.info("Expense updated: {} by user: {}", expenseId, currentUser.getEmail());
         return mapToResponse(updated);
     }
@@ -109,6 +125,18 @@ public class ExpenseService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of expenses, newest first (see TripService.getTripsPage).
+     */
+    public CursorPageResponse<ExpenseResponse> getExpensesPage(ExpenseStatus status, String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Expense> rows = after == null
+                ? expenseRepository.findFirstPage(status, PageCursor.fetchLimit(pageSize))
+                : expenseRepository.findPageAfter(status, after.createdAt(), after.id(), PageCursor.fetchLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, Expense::getCreatedAt, Expense::getId, this::mapToResponse);
+    }
+
     public List<ExpenseResponse> getExpensesByTrip(UUID tripId) {
         return expenseRepository.findByTripId(tripId).stream()
                 .map(this::mapToResponse)
@@ -140,9 +168,28 @@ public class ExpenseService {
             throw new BadRequestException("Cannot delete an expense that is already marked as DONE");
         }
         expenseRepository.delete(expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(
+                expense.getId(), expense.getCreatedAt(), expense.getFuelCost().negate()));
         log.info("Expense deleted: {} by user: {}", expenseId, currentUser.getEmail());
     }
 
+    /**
+     * Stream every expense to the sink (same cursor/clear scheme as TripService.exportTrips).
+     */
+    @Transactional(readOnly = true)
+    public void exportExpenses(Consumer<ExpenseResponse> sink) {
+        try (Stream<Expense> rows = expenseRepository.streamAllForExport()) {
+            Iterator<Expense> iterator = rows.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                sink.accept(mapToResponse(iterator.next()));
+                if (++count % Constants.EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     // ---- Internal helper methods ----
 
     private Expense getExpenseEntity(UUID expenseId) {
@@ -0,0 +1,106 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.event.DomainEvent;
+import com.hackathon.securestarter.event.ExpenseChangedEvent;
+import com.hackathon.securestarter.event.FuelLogChangedEvent;
+import com.hackathon.securestarter.event.MaintenanceCostChangedEvent;
+import com.hackathon.securestarter.event.TripCompletedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * What one domain event adds to a month's financial summary.
+ *
+ * Shared by the incremental updater, which applies the delta when the event
+ * is delivered, and the full recompute, which subtracts the deltas of events
+ * not delivered yet (their rows are already in the source tables).
+ */
+record FinancialSummaryDelta(
+        YearMonth period,
+        BigDecimal revenue,
+        BigDecimal fuelCost,
+        BigDecimal maintenanceCost,
+        int trips,
+        double distance,
+        double liters
+) {
+
+    /**
+     * Outbox event types that carry a delta.
+     */
+    static final Set<String> EVENT_TYPES = Stream.of(TripCompletedEvent.class, ExpenseChangedEvent.class,
+                    FuelLogChangedEvent.class, MaintenanceCostChangedEvent.class)
+            .map(Class::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * The event's delta, or empty if it does not change any summary.
+     */
+    static Optional<FinancialSummaryDelta> of(DomainEvent event) {
+        return switch (event) {
+            case TripCompletedEvent tripCompleted -> Optional.of(ofTripCompleted(tripCompleted));
+            case ExpenseChangedEvent expenseChanged -> ofExpenseChanged(expenseChanged);
+            case FuelLogChangedEvent fuelLogChanged -> ofFuelLogChanged(fuelLogChanged);
+            case MaintenanceCostChangedEvent maintenanceCostChanged -> ofMaintenanceCostChanged(maintenanceCostChanged);
+            default -> Optional.empty();
+        };
+    }
+
+    static FinancialSummaryDelta zero(YearMonth period) {
+        return new FinancialSummaryDelta(period, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0.0, 0.0);
+    }
+
+    FinancialSummaryDelta plus(FinancialSummaryDelta other) {
+        return new FinancialSummaryDelta(period,
+                revenue.add(other.revenue), fuelCost.add(other.fuelCost),
+                maintenanceCost.add(other.maintenanceCost), trips + other.trips,
+                distance + other.distance, liters + other.liters);
+    }
+
+    // ---- Internal helper methods ----
+
+    private static FinancialSummaryDelta ofTripCompleted(TripCompletedEvent event) {
+        LocalDateTime completedAt = event.completedAt() != null ? event.completedAt() : LocalDateTime.now();
+        return new FinancialSummaryDelta(YearMonth.from(completedAt),
+                orZero(event.revenue()), BigDecimal.ZERO, BigDecimal.ZERO,
+                1, event.distance() != null ? event.distance() : 0.0, 0.0);
+    }
+
+    private static Optional<FinancialSummaryDelta> ofExpenseChanged(ExpenseChangedEvent event) {
+        if (orZero(event.fuelCostDelta()).signum() == 0) {
+            return Optional.empty();
+        }
+        LocalDateTime recordedAt = event.recordedAt() != null ? event.recordedAt() : LocalDateTime.now();
+        return Optional.of(new FinancialSummaryDelta(YearMonth.from(recordedAt),
+                BigDecimal.ZERO, event.fuelCostDelta(), BigDecimal.ZERO, 0, 0.0, 0.0));
+    }
+
+    private static Optional<FinancialSummaryDelta> ofFuelLogChanged(FuelLogChangedEvent event) {
+        if (event.litersDelta() == null || event.litersDelta() == 0.0) {
+            return Optional.empty();
+        }
+        LocalDateTime fillDate = event.fillDate() != null ? event.fillDate() : LocalDateTime.now();
+        return Optional.of(new FinancialSummaryDelta(YearMonth.from(fillDate),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0.0, event.litersDelta()));
+    }
+
+    private static Optional<FinancialSummaryDelta> ofMaintenanceCostChanged(MaintenanceCostChangedEvent event) {
+        if (orZero(event.costDelta()).signum() == 0) {
+            return Optional.empty();
+        }
+        LocalDate serviceDate = event.serviceDate() != null ? event.serviceDate() : LocalDate.now();
+        return Optional.of(new FinancialSummaryDelta(YearMonth.from(serviceDate),
+                BigDecimal.ZERO, BigDecimal.ZERO, event.costDelta(), 0, 0.0, 0.0));
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
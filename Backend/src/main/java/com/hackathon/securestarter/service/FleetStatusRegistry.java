@@ -0,0 +1,197 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.StatusCountersResponse;
+import com.hackathon.securestarter.enums.DriverStatus;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.event.DriverStatusChangedEvent;
+import com.hackathon.securestarter.event.TripStatusChangedEvent;
+import com.hackathon.securestarter.event.VehicleStatusChangedEvent;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per-status counts of vehicles, trips and drivers.
+ *
+ * Seeded from grouped COUNT queries at startup, then moved by the status
+ * change events the services publish, applied after commit so rolled-back
+ * transitions never touch the counters. Reads cost no database round trip.
+ *
+ * A scheduled reconciliation re-runs the grouped counts and adds the
+ * difference to each counter. A transition that commits while a pass runs
+ * can leave a small error, which the next pass corrects.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FleetStatusRegistry {
+
+    private final VehicleRepository vehicleRepository;
+    private final TripRepository tripRepository;
+    private final DriverRepository driverRepository;
+
+    private final Map<VehicleStatus, LongAdder> vehicles = counters(VehicleStatus.class);
+    private final Map<TripStatus, LongAdder> trips = counters(TripStatus.class);
+    private final Map<DriverStatus, LongAdder> drivers = counters(DriverStatus.class);
+
+    private final LongAdder reconciliations = new LongAdder();
+    private final LongAdder reconciliationsWithDrift = new LongAdder();
+    private final LongAdder totalDrift = new LongAdder();
+    private volatile long lastDrift;
+    private volatile LocalDateTime lastReconciledAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleStatusChanged(VehicleStatusChangedEvent event) {
+        move(vehicles, event.previousStatus(), event.newStatus());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripStatusChanged(TripStatusChangedEvent event) {
+        move(trips, event.previousStatus(), event.newStatus());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverStatusChanged(DriverStatusChangedEvent event) {
+        move(drivers, event.previousStatus(), event.newStatus());
+    }
+
+    /**
+     * Compare every counter with the database and correct the difference.
+     */
+    @Scheduled(fixedDelayString = "${fleet.status-counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${fleet.status-counters.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        Map<VehicleStatus, Long> vehicleCounts = new EnumMap<>(VehicleStatus.class);
+        vehicleRepository.countGroupedByStatus()
+                .forEach(row -> vehicleCounts.put(row.getStatus(), row.getTotal()));
+        Map<TripStatus, Long> tripCounts = new EnumMap<>(TripStatus.class);
+        tripRepository.countGroupedByStatus()
+                .forEach(row -> tripCounts.put(row.getStatus(), row.getTotal()));
+        Map<DriverStatus, Long> driverCounts = new EnumMap<>(DriverStatus.class);
+        driverRepository.countGroupedByStatus(LocalDate.now())
+                .forEach(row -> driverCounts.put(row.getStatus(), row.getTotal()));
+
+        long drift = correct(vehicles, vehicleCounts) + correct(trips, tripCounts) + correct(drivers, driverCounts);
+
+        boolean firstPass = lastReconciledAt == null;
+        reconciliations.increment();
+        lastReconciledAt = LocalDateTime.now();
+        if (firstPass) {
+            log.info("Fleet status counters seeded: vehicles={}, trips={}, drivers={}",
+                    vehicleCounts, tripCounts, driverCounts);
+            return;
+        }
+        lastDrift = drift;
+        if (drift > 0) {
+            reconciliationsWithDrift.increment();
+            totalDrift.add(drift);
+            log.warn("Fleet status counters drifted by {} from the database; corrected", drift);
+        }
+    }
+
+    // ---- Counter reads ----
+
+    public long vehicles(VehicleStatus status) {
+        return vehicles.get(status).sum();
+    }
+
+    public long trips(TripStatus status) {
+        return trips.get(status).sum();
+    }
+
+    public long drivers(DriverStatus status) {
+        return drivers.get(status).sum();
+    }
+
+    public long totalDrivers() {
+        return total(drivers);
+    }
+
+    public long nonRetiredVehicles() {
+        return total(vehicles) - vehicles(VehicleStatus.RETIRED);
+    }
+
+    public StatusCountersResponse getStats() {
+        return StatusCountersResponse.builder()
+                .vehicles(snapshot(vehicles, VehicleStatus.class))
+                .trips(snapshot(trips, TripStatus.class))
+                .drivers(snapshot(drivers, DriverStatus.class))
+                .reconciliations(reconciliations.sum())
+                .reconciliationsWithDrift(reconciliationsWithDrift.sum())
+                .lastDrift(lastDrift)
+                .totalDrift(totalDrift.sum())
+                .lastReconciledAt(lastReconciledAt)
+                .build();
+    }
+
+    // ---- Internal helper methods ----
+
+    private static <S extends Enum<S>> Map<S, LongAdder> counters(Class<S> type) {
+        Map<S, LongAdder> map = new EnumMap<>(type);
+        for (S status : type.getEnumConstants()) {
+            map.put(status, new LongAdder());
+        }
+        return map;
+    }
+
+    private static <S extends Enum<S>> void move(Map<S, LongAdder> counters, S from, S to) {
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            counters.get(from).decrement();
+        }
+        if (to != null) {
+            counters.get(to).increment();
+        }
+    }
+
+    /**
+     * Add (db - counter) to each counter; returns the total absolute drift.
+     */
+    private static <S extends Enum<S>> long correct(Map<S, LongAdder> counters, Map<S, Long> dbCounts) {
+        long drift = 0;
+        for (Map.Entry<S, LongAdder> entry : counters.entrySet()) {
+            long expected = dbCounts.getOrDefault(entry.getKey(), 0L);
+            long diff = expected - entry.getValue().sum();
+            if (diff != 0) {
+                entry.getValue().add(diff);
+                drift += Math.abs(diff);
+            }
+        }
+        return drift;
+    }
+
+    private static <S extends Enum<S>> long total(Map<S, LongAdder> counters) {
+        long sum = 0;
+        for (LongAdder adder : counters.values()) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+    private static <S extends Enum<S>> Map<S, Long> snapshot(Map<S, LongAdder> counters, Class<S> type) {
+        Map<S, Long> copy = new EnumMap<>(type);
+        counters.forEach((status, adder) -> copy.put(status, adder.sum()));
+        return copy;
+    }
+}
@@ -0,0 +1,175 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.CacheStatsResponse;
+import com.hackathon.securestarter.event.ExpenseChangedEvent;
+import com.hackathon.securestarter.event.TripCompletedEvent;
+import com.hackathon.securestarter.event.VehicleChangedEvent;
+import com.hackathon.securestarter.event.VehicleStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-memory snapshot of the fleet analytics summary.
+ *
+ * - Entries expire after a configurable TTL.
+ * - Vehicle, vehicle-status, trip-completion and expense writes invalidate the
+ *   snapshot after commit (utilization counts the vehicles ON_TRIP).
+ * - Concurrent misses share one in-flight load (single-flight), so an invalidation
+ *   never turns into a stampede of identical aggregate queries.
+ */
+@Component
+@Slf4j
+public class FleetSummaryCache {
+
+    private final long ttlNanos;
+    private final long ttlSeconds;
+
+    private volatile Snapshot snapshot;
+    private final AtomicReference<CompletableFuture<AnalyticsService.FleetAnalyticsSummary>> inFlight =
+            new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private volatile long lastLoadNanos;
+
+    public FleetSummaryCache(@Value("${analytics.fleet-summary.ttl-seconds:60}") long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * Return the cached summary, or load it with the given loader.
+     * Only one caller runs the loader at a time; the others wait for its result.
+     */
+    public AnalyticsService.FleetAnalyticsSummary get(Supplier<AnalyticsService.FleetAnalyticsSummary> loader) {
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh()) {
+            hits.increment();
+            return current.value();
+        }
+        misses.increment();
+
+        CompletableFuture<AnalyticsService.FleetAnalyticsSummary> mine = new CompletableFuture<>();
+        CompletableFuture<AnalyticsService.FleetAnalyticsSummary> leader = inFlight.compareAndExchange(null, mine);
+        if (leader != null) {
+            return await(leader);
+        }
+
+        try {
+            // Another load may have completed between our miss and winning the flight
+            current = snapshot;
+            if (current != null && current.isFresh()) {
+                mine.complete(current.value());
+                return current.value();
+            }
+
+            long generationAtStart = generation.get();
+            long start = System.nanoTime();
+            AnalyticsService.FleetAnalyticsSummary value = loader.get();
+            long elapsed = System.nanoTime() - start;
+
+            loads.increment();
+            totalLoadNanos.add(elapsed);
+            lastLoadNanos = elapsed;
+
+            // Do not cache a value computed across an invalidation
+            if (generation.get() == generationAtStart) {
+                snapshot = new Snapshot(value, System.nanoTime() + ttlNanos);
+            }
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Errors too: followers parked on the flight would otherwise wait forever
+            loadFailures.increment();
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.compareAndSet(mine, null);
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        invalidations.increment();
+        log.debug("Fleet summary cache invalidated");
+    }
+
+    public CacheStatsResponse getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long loadCount = loads.sum();
+        long requests = hitCount + missCount;
+        return CacheStatsResponse.builder()
+                .name("fleet-summary")
+                .hits(hitCount)
+                .misses(missCount)
+                .loads(loadCount)
+                .loadFailures(loadFailures.sum())
+                .invalidations(invalidations.sum())
+                .hitRate(requests > 0 ? Math.round(hitCount * 10000.0 / requests) / 100.0 : 0.0)
+                .averageLoadTimeMs(loadCount > 0 ? totalLoadNanos.sum() / (loadCount * 1_000_000.0) : 0.0)
+                .lastLoadTimeMs(lastLoadNanos / 1_000_000.0)
+                .ttlSeconds(ttlSeconds)
+                .build();
+    }
+
+    // ---- Invalidation triggers (after the writing transaction commits) ----
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleStatusChanged(VehicleStatusChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripCompleted(TripCompletedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        invalidate();
+    }
+
+    // ---- Internal helper methods ----
+
+    private AnalyticsService.FleetAnalyticsSummary await(
+            CompletableFuture<AnalyticsService.FleetAnalyticsSummary> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Snapshot(AnalyticsService.FleetAnalyticsSummary value, long expiresAtNanos) {
+        boolean isFresh() {
+            return System.nanoTime() - expiresAtNanos < 0;
+        }
+    }
+}
@@ -1,24 +1,32 @@
 package com.hackathon.securestarter.service;
 
 import com.hackathon.securestarter.dto.request.CreateFuelLogRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.FuelLogResponse;
 import com.hackathon.securestarter.entity.FuelLog;
 import com.hackathon.securestarter.entity.Trip;
 import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.event.FuelLogChangedEvent;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.FuelLogRepository;
 import com.hackathon.securestarter.repository.TripRepository;
 import com.hackathon.securestarter.repository.VehicleRepository;
 import com.hackathon.securestarter.util.Constants;
+import com.hackathon.securestarter.util.PageCursor;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +36,8 @@ public class FuelLogService {
     private final FuelLogRepository fuelLogRepository;
     private final VehicleRepository vehicleRepository;
     private final TripRepository tripRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     @Transactional
     public FuelLogResponse createFuelLog(CreateFuelLogRequest request, User currentUser) {
@@ -51,6 +61,8 @@ public class FuelLogService {
                 .build();
 
         FuelLog saved = fuelLogRepository.save(fuelLog);
+        eventPublisher.publishEvent(new FuelLogChangedEvent(
+                saved.getId(), saved.getFillDate(), saved.getLiters()));
         log.info("Fuel log created for vehicle: {} by user: {}",
                 vehicle.getLicensePlate(), currentUser.getEmail());
         return mapToResponse(saved);
@@ -68,6 +80,18 @@ public class FuelLogService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of fuel logs, newest first (see TripService.getTripsPage).
+     */
+    public CursorPageResponse<FuelLogResponse> getFuelLogsPage(String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<FuelLog> rows = after == null
+                ? fuelLogRepository.findFirstPage(PageCursor.fetchLimit(pageSize))
+                : fuelLogRepository.findPageAfter(after.createdAt(), after.id(), PageCursor.fetchLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, FuelLog::getCreatedAt, FuelLog::getId, this::mapToResponse);
+    }
+
     public List<FuelLogResponse> getFuelLogsByVehicle(UUID vehicleId) {
         return fuelLogRepository.findByVehicleId(vehicleId).stream()
                 .map(this::mapToResponse)
@@ -85,9 +109,28 @@ public class FuelLogService {
         FuelLog fuelLog = fuelLogRepository.findById(fuelLogId)
                 .orElseThrow(() -> new ResourceNotFoundException("Fuel log not found"));
         fuelLogRepository.delete(fuelLog);
+        eventPublisher.publishEvent(new FuelLogChangedEvent(
+                fuelLog.getId(), fuelLog.getFillDate(), -fuelLog.getLiters()));
         log.info("Fuel log deleted: {} by user: {}", fuelLogId, currentUser.getEmail());
     }
 
+    /**
+     * Stream every fuel log to the sink (same cursor/clear scheme as TripService.exportTrips).
+     */
+    @Transactional(readOnly = true)
+    public void exportFuelLogs(Consumer<FuelLogResponse> sink) {
+        try (Stream<FuelLog> rows = fuelLogRepository.streamAllForExport()) {
+            Iterator<FuelLog> iterator = rows.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                sink.accept(mapToResponse(iterator.next()));
+                if (++count % Constants.EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     private FuelLogResponse mapToResponse(FuelLog fuelLog) {
         Vehicle vehicle = fuelLog.getVehicle();
         Trip trip = fuelLog.getTrip();
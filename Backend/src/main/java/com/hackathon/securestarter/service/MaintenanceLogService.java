@@ -2,23 +2,29 @@ package com.hackathon.securestarter.service;
 
 import com.hackathon.securestarter.dto.request.CreateMaintenanceLogRequest;
 import com.hackathon.securestarter.dto.request.UpdateMaintenanceLogRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.MaintenanceLogResponse;
 import com.hackathon.securestarter.entity.MaintenanceLog;
 import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.entity.Vehicle;
 import com.hackathon.securestarter.enums.MaintenanceStatus;
 import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.event.MaintenanceCostChangedEvent;
+import com.hackathon.securestarter.event.VehicleStatusChangedEvent;
 import com.hackathon.securestarter.exception.BadRequestException;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.MaintenanceLogRepository;
 import com.hackathon.securestarter.repository.VehicleRepository;
 import com.hackathon.securestarter.util.Constants;
+import com.hackathon.securestarter.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -30,12 +36,14 @@ public class MaintenanceLogService {
 
     private final MaintenanceLogRepository maintenanceLogRepository;
     private final VehicleRepository vehicleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a maintenance log.
      * Auto-sets vehicle status to IN_SHOP (hides from dispatcher pool).
      */
     @Transactional
+    @RetryOnConflict
     public MaintenanceLogResponse createMaintenanceLog(CreateMaintenanceLogRequest request, User currentUser) {
         Vehicle vehicle = vehicleRepository.findById(request.getVehicleId())
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.VEHICLE_NOT_FOUND));
@@ -55,10 +63,17 @@ public class MaintenanceLogService {
                 .build();
 
         // Auto-set vehicle to IN_SHOP
+        VehicleStatus previousVehicleStatus = vehicle.getStatus();
         vehicle.setStatus(VehicleStatus.IN_SHOP);
         vehicleRepository.save(vehicle);
 
         MaintenanceLog saved = maintenanceLogRepository.save(maintenanceLog);
+        eventPublisher.publishEvent(new MaintenanceCostChangedEvent(
+                saved.getId(), saved.getServiceDate(), saved.getCost()));
+        if (previousVehicleStatus != VehicleStatus.IN_SHOP) {
+            eventPublisher.publishEvent(new VehicleStatusChangedEvent(
+                    vehicle.getId(), previousVehicleStatus, VehicleStatus.IN_SHOP));
+        }
         log.info("Maintenance log created for vehicle: {} by user: {}",
                 vehicle.getLicensePlate(), currentUser.getEmail());
         return mapToResponse(saved);
@@ -67,6 +82,8 @@ public class MaintenanceLogService {
     @Transactional
     public MaintenanceLogResponse updateMaintenanceLog(UUID logId, UpdateMaintenanceLogRequest request, User currentUser) {
         MaintenanceLog maintenanceLog = getMaintenanceLogEntity(logId);
+        LocalDate oldServiceDate = maintenanceLog.getServiceDate();
+        BigDecimal oldCost = maintenanceLog.getCost() != null ? maintenanceLog.getCost() : BigDecimal.ZERO;
 
         if (request.getServiceName() != null) maintenanceLog.setServiceName(request.getServiceName());
         if (request.getIssueDescription() != null) maintenanceLog.setIssueDescription(request.getIssueDescription());
@@ -74,6 +91,14 @@ public class MaintenanceLogService {
         if (request.getCost() != null) maintenanceLog.setCost(request.getCost());
 
         MaintenanceLog updated = maintenanceLogRepository.save(maintenanceLog);
+
+        // Move the cost between months if the service date or the cost changed
+        BigDecimal newCost = updated.getCost() != null ? updated.getCost() : BigDecimal.ZERO;
+        if (!updated.getServiceDate().equals(oldServiceDate) || newCost.compareTo(oldCost) != 0) {
+            eventPublisher.publishEvent(new MaintenanceCostChangedEvent(logId, oldServiceDate, oldCost.negate()));
+            eventPublisher.publishEvent(new MaintenanceCostChangedEvent(logId, updated.getServiceDate(), newCost));
+        }
+
         log.info("Maintenance log updated: {} by user: {}", logId, currentUser.getEmail());
         return mapToResponse(updated);
     }
@@ -83,6 +108,7 @@ public class MaintenanceLogService {
      * When RESOLVED → set vehicle back to AVAILABLE (if no other open maintenance logs).
      */
     @Transactional
+    @RetryOnConflict
     public MaintenanceLogResponse updateMaintenanceStatus(UUID logId, MaintenanceStatus newStatus, User currentUser) {
         MaintenanceLog maintenanceLog = getMaintenanceLogEntity(logId);
         MaintenanceStatus oldStatus = maintenanceLog.getStatus();
@@ -104,8 +130,13 @@ public class MaintenanceLogService {
                     .findByVehicleIdAndStatus(vehicle.getId(), MaintenanceStatus.IN_PROGRESS);
 
             if (openLogs.isEmpty() && inProgressLogs.isEmpty()) {
+                VehicleStatus previousVehicleStatus = vehicle.getStatus();
                 vehicle.setStatus(VehicleStatus.AVAILABLE);
                 vehicleRepository.save(vehicle);
+                if (previousVehicleStatus != VehicleStatus.AVAILABLE) {
+                    eventPublisher.publishEvent(new VehicleStatusChangedEvent(
+                            vehicle.getId(), previousVehicleStatus, VehicleStatus.AVAILABLE));
+                }
                 log.info("Vehicle {} returned to AVAILABLE after all maintenance resolved", vehicle.getLicensePlate());
             }
         }
@@ -125,6 +156,18 @@ public class MaintenanceLogService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of maintenance logs, newest first (see TripService.getTripsPage).
+     */
+    public CursorPageResponse<MaintenanceLogResponse> getMaintenanceLogsPage(MaintenanceStatus status, String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<MaintenanceLog> rows = after == null
+                ? maintenanceLogRepository.findFirstPage(status, PageCursor.fetchLimit(pageSize))
+                : maintenanceLogRepository.findPageAfter(status, after.createdAt(), after.id(), PageCursor.fetchLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, MaintenanceLog::getCreatedAt, MaintenanceLog::getId, this::mapToResponse);
+    }
+
     public List<MaintenanceLogResponse> getMaintenanceLogsByVehicle(UUID vehicleId) {
         return maintenanceLogRepository.findByVehicleId(vehicleId).stream()
                 .map(this::mapToResponse)
@@ -141,6 +184,9 @@ public class MaintenanceLogService {
     public void deleteMaintenanceLog(UUID logId, User currentUser) {
         MaintenanceLog maintenanceLog = getMaintenanceLogEntity(logId);
         maintenanceLogRepository.delete(maintenanceLog);
+        eventPublisher.publishEvent(new MaintenanceCostChangedEvent(
+                logId, maintenanceLog.getServiceDate(),
+                maintenanceLog.getCost() != null ? maintenanceLog.getCost().negate() : BigDecimal.ZERO));
         log.info("Maintenance log deleted: {} by user: {}", logId, currentUser.getEmail());
     }
 
@@ -0,0 +1,104 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.MonthlyFinancialSummary;
+import com.hackathon.securestarter.event.DomainEvent;
+import com.hackathon.securestarter.event.DomainEventSubscriber;
+import com.hackathon.securestarter.repository.MonthlyFinancialSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps MonthlyFinancialSummary rows live.
+ *
+ * Receives domain events published by the trip, expense, fuel log and
+ * maintenance services through the outbox relay and applies their deltas
+ * with a single UPDATE ... SET x = x + ? statement. The update runs in the
+ * relay's transaction together with the event's delivered mark, so each
+ * committed business write is applied exactly once, shortly after commit,
+ * without lengthening the request.
+ *
+ * A full recompute (AnalyticsService.generateMonthlySummary) still runs on a
+ * schedule to reconcile any drift, e.g. rows edited directly in the database.
+ * It locks the summary row and leaves out the deltas of events that are
+ * still in the outbox, so delivering them afterwards does not count them twice.
+ */
+@Component
+@Slf4j
+public class MonthlyFinancialSummaryUpdater implements DomainEventSubscriber {
+
+    private final MonthlyFinancialSummaryRepository financialSummaryRepository;
+    private final AnalyticsService analyticsService;
+    private final TransactionTemplate requiresNewTransaction;
+
+    public MonthlyFinancialSummaryUpdater(MonthlyFinancialSummaryRepository financialSummaryRepository,
+                                          AnalyticsService analyticsService,
+                                          PlatformTransactionManager transactionManager) {
+        this.financialSummaryRepository = financialSummaryRepository;
+        this.analyticsService = analyticsService;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        FinancialSummaryDelta.of(event).ifPresent(this::applyDelta);
+    }
+
+    /**
+     * Nightly reconciliation: recompute the current and previous month from source tables.
+     */
+    @Scheduled(cron = "${analytics.summary.reconcile-cron:0 30 2 * * *}")
+    public void reconcileRecentMonths() {
+        YearMonth current = YearMonth.now();
+        for (YearMonth period : new YearMonth[]{current.minusMonths(1), current}) {
+            try {
+                analyticsService.generateMonthlySummary(period.getYear(), period.getMonthValue());
+            } catch (Exception e) {
+                log.error("Failed to reconcile financial summary for {}", period, e);
+            }
+        }
+    }
+
+    // ---- Internal helper methods ----
+
+    private void applyDelta(FinancialSummaryDelta delta) {
+        int year = delta.period().getYear();
+        int month = delta.period().getMonthValue();
+
+        int updated = applyDelta(year, month, delta);
+        if (updated == 0) {
+            createEmptyRow(year, month);
+            applyDelta(year, month, delta);
+        }
+        log.debug("Financial summary {} updated incrementally", delta.period());
+    }
+
+    private int applyDelta(int year, int month, FinancialSummaryDelta delta) {
+        return financialSummaryRepository.applyDelta(year, month, delta.revenue(), delta.fuelCost(),
+                delta.maintenanceCost(), delta.trips(), delta.distance(), delta.liters());
+    }
+
+    /**
+     * Insert a zeroed row for the month in its own transaction.
+     * A concurrent writer may win the race on the (year, month) unique key; that is fine,
+     * the row exists either way and the follow-up UPDATE applies our delta.
+     */
+    private void createEmptyRow(int year, int month) {
+        try {
+            requiresNewTransaction.executeWithoutResult(status ->
+                    financialSummaryRepository.saveAndFlush(MonthlyFinancialSummary.builder()
+                            .year(year)
+                            .month(month)
+                            .build()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Financial summary row {}/{} created concurrently", year, month);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hackathon.securestarter.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.resilience.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retry a status transition that lost an optimistic-lock race on Vehicle,
+ * Driver or Trip. Each attempt runs in a fresh transaction, so put it next
+ * to @Transactional on a public service method.
+ *
+ * Exponential backoff with jitter, configured by fleet.conflict-retry.*.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(includes = OptimisticLockingFailureException.class,
+        maxRetriesString = "${fleet.conflict-retry.max-retries:3}",
+        delayString = "${fleet.conflict-retry.delay-ms:20}",
+        jitterString = "${fleet.conflict-retry.jitter-ms:10}",
+        multiplier = 2)
+public @interface RetryOnConflict {
+}
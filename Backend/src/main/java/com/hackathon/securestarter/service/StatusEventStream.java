@@ -0,0 +1,252 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.StatusEventResponse;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.event.DriverStatusChangedEvent;
+import com.hackathon.securestarter.event.TripStatusChangedEvent;
+import com.hackathon.securestarter.event.UserAccountChangedEvent;
+import com.hackathon.securestarter.event.VehicleStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes trip, vehicle and driver status changes to Server-Sent Events subscribers.
+ *
+ * Events are taken from the services' status-change events after commit.
+ * Each subscriber only receives the entity types its role may read
+ * (same role sets as the GET rules in SecurityConfig).
+ *
+ * Publishing only offers to a bounded per-subscriber buffer; the socket writes
+ * happen on statusStreamExecutor. A subscriber whose buffer is full is
+ * disconnected instead of slowing anyone else down, and can reconnect.
+ * The emitter itself is only ever written to and completed on statusStreamExecutor.
+ *
+ * The role is captured at subscribe time, so a user's streams are closed when their
+ * account changes; the client reconnects and is authorised again with the current role.
+ */
+@Service
+@Slf4j
+public class StatusEventStream {
+
+    private static final Set<Role> TRIP_READERS =
+            EnumSet.of(Role.DISPATCHER, Role.FLEET_MANAGER, Role.FINANCIAL_ANALYST);
+    private static final Set<Role> VEHICLE_READERS =
+            EnumSet.of(Role.FLEET_MANAGER, Role.DISPATCHER, Role.SAFETY_OFFICER, Role.FINANCIAL_ANALYST);
+    private static final Set<Role> DRIVER_READERS =
+            EnumSet.of(Role.SAFETY_OFFICER, Role.FLEET_MANAGER, Role.DISPATCHER);
+
+    private final TaskExecutor streamExecutor;
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedSubscribers = new LongAdder();
+
+    @Value("${dashboard.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public StatusEventStream(@Qualifier("statusStreamExecutor") TaskExecutor streamExecutor) {
+        this.streamExecutor = streamExecutor;
+    }
+
+    /**
+     * Register a new subscriber for the given user and their current role.
+     */
+    public SseEmitter subscribe(User user) {
+        Role role = user.getRole();
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, user.getId(), role, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        enqueue(subscriber, SseEmitter.event().comment("connected"));
+        log.info("Status stream subscriber added (role: {}, subscribers: {})", role, subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripStatusChanged(TripStatusChangedEvent event) {
+        broadcast(TRIP_READERS, "TRIP", event.tripId(), event.previousStatus(), event.newStatus());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleStatusChanged(VehicleStatusChangedEvent event) {
+        broadcast(VEHICLE_READERS, "VEHICLE", event.vehicleId(), event.previousStatus(), event.newStatus());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverStatusChanged(DriverStatusChangedEvent event) {
+        broadcast(DRIVER_READERS, "DRIVER", event.driverId(), event.previousStatus(), event.newStatus());
+    }
+
+    /**
+     * Close the user's streams: a deactivated user must stop receiving events,
+     * and a changed role only applies from the next subscribe.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.userId.equals(event.userId()) && close(subscriber)) {
+                log.info("Closed status stream of user {} after an account change", event.userId());
+            }
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect closed clients.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("ping"));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedSubscribers() {
+        return droppedSubscribers.sum();
+    }
+
+    // ---- Internal helper methods ----
+
+    private void broadcast(Set<Role> readers, String type, UUID id, Enum<?> previous, Enum<?> current) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        StatusEventResponse payload = StatusEventResponse.builder()
+                .type(type)
+                .id(id)
+                .previousStatus(previous != null ? previous.name() : null)
+                .newStatus(current != null ? current.name() : null)
+                .occurredAt(LocalDateTime.now())
+                .build();
+        String name = type.toLowerCase(Locale.ROOT) + "." + eventAction(previous, current);
+
+        for (Subscriber subscriber : subscribers) {
+            if (readers.contains(subscriber.role)) {
+                enqueue(subscriber, SseEmitter.event().name(name).data(payload, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    private static String eventAction(Enum<?> previous, Enum<?> current) {
+        if (previous == null) {
+            return "created";
+        }
+        if (current == null) {
+            return "deleted";
+        }
+        return current.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.buffer.offer(event)) {
+            drop(subscriber, "buffer full");
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                streamExecutor.execute(() -> drain(subscriber));
+            } catch (TaskRejectedException ex) {
+                subscriber.draining.set(false);
+                drop(subscriber, "stream executor saturated");
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            subscribers.remove(subscriber);
+            subscriber.buffer.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (subscriber.closed) {
+            if (subscriber.completed.compareAndSet(false, true)) {
+                subscriber.emitter.complete();
+            }
+            return;
+        }
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (close(subscriber)) {
+            droppedSubscribers.increment();
+            log.warn("Dropping status stream subscriber (role: {}): {}", subscriber.role, reason);
+        }
+    }
+
+    /**
+     * Unregister the subscriber and mark it closed. Runs on the publisher's thread, so it never
+     * touches the emitter: complete() waits for the emitter's write lock, which a slow send may hold.
+     * The drain loop completes the emitter instead, either the one in flight or a fresh one.
+     * If the executor refuses that too, the connection is left to its timeout.
+     *
+     * @return false if the subscriber was already gone
+     */
+    private boolean close(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        subscriber.closed = true;
+        subscriber.buffer.clear();
+        scheduleDrain(subscriber);
+        return true;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final UUID userId;
+        private final Role role;
+        private final Queue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, UUID userId, Role role, Queue<SseEmitter.SseEventBuilder> buffer) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.role = role;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.SummaryBackfillRequest;
+import com.hackathon.securestarter.dto.response.BackfillJobResponse;
+import com.hackathon.securestarter.enums.BackfillStatus;
+import com.hackathon.securestarter.exception.BadRequestException;
+import com.hackathon.securestarter.exception.ResourceNotFoundException;
+import com.hackathon.securestarter.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Regenerates monthly financial summaries for a range of months.
+ *
+ * Months are fanned out over the bounded summaryBackfillExecutor. Each month
+ * goes through AnalyticsService.generateMonthlySummary, so it commits in its
+ * own transaction and is retried on its own without touching the others.
+ * Jobs live in memory and can be polled by id until they are evicted.
+ */
+@Service
+@Slf4j
+public class SummaryBackfillService {
+
+    private final AnalyticsService analyticsService;
+    private final TaskExecutor backfillExecutor;
+    private final Map<UUID, BackfillJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${analytics.backfill.max-months:120}")
+    private int maxMonths;
+
+    @Value("${analytics.backfill.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${analytics.backfill.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    @Value("${analytics.backfill.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    public SummaryBackfillService(AnalyticsService analyticsService,
+                                  @Qualifier("summaryBackfillExecutor") TaskExecutor backfillExecutor) {
+        this.analyticsService = analyticsService;
+        this.backfillExecutor = backfillExecutor;
+    }
+
+    /**
+     * Submit a backfill job covering fromYear/fromMonth through toYear/toMonth inclusive.
+     * Returns immediately; progress is available through getJob.
+     */
+    public BackfillJobResponse submit(SummaryBackfillRequest request) {
+        YearMonth from = YearMonth.of(request.getFromYear(), request.getFromMonth());
+        YearMonth to = YearMonth.of(request.getToYear(), request.getToMonth());
+        if (from.isAfter(to)) {
+            throw new BadRequestException(Constants.BACKFILL_INVALID_RANGE);
+        }
+        long monthCount = from.until(to, ChronoUnit.MONTHS) + 1;
+        if (monthCount > maxMonths) {
+            throw new BadRequestException(Constants.BACKFILL_RANGE_TOO_LARGE + " (" + maxMonths + ")");
+        }
+
+        evictFinishedJobs();
+
+        List<MonthTask> months = new ArrayList<>((int) monthCount);
+        for (YearMonth ym = from; !ym.isAfter(to); ym = ym.plusMonths(1)) {
+            months.add(new MonthTask(ym));
+        }
+        BackfillJob job = new BackfillJob(UUID.randomUUID(), months);
+        jobs.put(job.id, job);
+
+        log.info("Backfill job {} submitted for {} to {} ({} months)", job.id, from, to, monthCount);
+        for (MonthTask task : months) {
+            try {
+                backfillExecutor.execute(() -> runMonth(job, task));
+            } catch (TaskRejectedException ex) {
+                log.warn("Backfill job {}: executor rejected {}", job.id, task.yearMonth);
+                task.lastError = "Rejected: backfill executor queue is full";
+                finishMonth(job, task, BackfillStatus.FAILED);
+            }
+        }
+        return mapToResponse(job);
+    }
+
+    public BackfillJobResponse getJob(UUID jobId) {
+        BackfillJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException(Constants.BACKFILL_JOB_NOT_FOUND);
+        }
+        return mapToResponse(job);
+    }
+
+    // ---- Internal helper methods ----
+
+    private void runMonth(BackfillJob job, MonthTask task) {
+        task.status = BackfillStatus.RUNNING;
+        while (task.attempts < maxAttempts) {
+            task.attempts++;
+            try {
+                analyticsService.generateMonthlySummary(task.yearMonth.getYear(), task.yearMonth.getMonthValue());
+                task.lastError = null;
+                finishMonth(job, task, BackfillStatus.SUCCEEDED);
+                return;
+            } catch (RuntimeException ex) {
+                task.lastError = ex.getMessage();
+                log.warn("Backfill job {}: {} attempt {}/{} failed: {}",
+                        job.id, task.yearMonth, task.attempts, maxAttempts, ex.getMessage());
+            }
+            if (task.attempts < maxAttempts && !sleepBeforeRetry(task.attempts)) {
+                break;
+            }
+        }
+        finishMonth(job, task, BackfillStatus.FAILED);
+    }
+
+    /** Exponential backoff between attempts; returns false if the worker was interrupted. */
+    private boolean sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * (1L << Math.min(attempt - 1, 10)));
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void finishMonth(BackfillJob job, MonthTask task, BackfillStatus status) {
+        task.status = status;
+        if (job.remaining.decrementAndGet() == 0) {
+            job.finishedAt = LocalDateTime.now();
+            log.info("Backfill job {} finished with status {}", job.id, jobStatus(job));
+        }
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private BackfillStatus jobStatus(BackfillJob job) {
+        int succeeded = 0;
+        int failed = 0;
+        boolean started = false;
+        for (MonthTask task : job.months) {
+            switch (task.status) {
+                case SUCCEEDED -> succeeded++;
+                case FAILED -> failed++;
+                case RUNNING -> started = true;
+                default -> { }
+            }
+        }
+        int total = job.months.size();
+        if (succeeded + failed < total) {
+            return started || succeeded + failed > 0 ? BackfillStatus.RUNNING : BackfillStatus.PENDING;
+        }
+        if (failed == 0) {
+            return BackfillStatus.SUCCEEDED;
+        }
+        return succeeded == 0 ? BackfillStatus.FAILED : BackfillStatus.PARTIALLY_FAILED;
+    }
+
+    private BackfillJobResponse mapToResponse(BackfillJob job) {
+        List<BackfillJobResponse.MonthResult> results = new ArrayList<>(job.months.size());
+        int succeeded = 0;
+        int failed = 0;
+        for (MonthTask task : job.months) {
+            BackfillStatus status = task.status;
+            if (status == BackfillStatus.SUCCEEDED) {
+                succeeded++;
+            } else if (status == BackfillStatus.FAILED) {
+                failed++;
+            }
+            results.add(BackfillJobResponse.MonthResult.builder()
+                    .year(task.yearMonth.getYear())
+                    .month(task.yearMonth.getMonthValue())
+                    .status(status)
+                    .attempts(task.attempts)
+                    .lastError(task.lastError)
+                    .build());
+        }
+
+        return BackfillJobResponse.builder()
+                .jobId(job.id)
+                .status(jobStatus(job))
+                .totalMonths(job.months.size())
+                .succeededMonths(succeeded)
+                .failedMonths(failed)
+                .pendingMonths(job.months.size() - succeeded - failed)
+                .submittedAt(job.submittedAt)
+                .finishedAt(job.finishedAt)
+                .months(results)
+                .build();
+    }
+
+    private static final class BackfillJob {
+        private final UUID id;
+        private final List<MonthTask> months;
+        private final AtomicInteger remaining;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+
+        private BackfillJob(UUID id, List<MonthTask> months) {
+            this.id = id;
+            this.months = months;
+            this.remaining = new AtomicInteger(months.size());
+        }
+    }
+
+    private static final class MonthTask {
+        private final YearMonth yearMonth;
+        private volatile BackfillStatus status = BackfillStatus.PENDING;
+        private volatile int attempts;
+        private volatile String lastError;
+
+        private MonthTask(YearMonth yearMonth) {
+            this.yearMonth = yearMonth;
+        }
+    }
+}
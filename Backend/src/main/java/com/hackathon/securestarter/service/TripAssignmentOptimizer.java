@@ -0,0 +1,452 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.OptimizedAssignmentResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Plans all pending DRAFT trips onto AVAILABLE vehicles and dispatch-ready drivers
+ * at once, maximizing the number of trips served and then minimizing total cost.
+ *
+ * Cost of one (trip, vehicle, driver) triple:
+ *   slackWeight * (capacity - cargo)
+ *   + costPerKmWeight * vehicle cost per km
+ *   + safetyWeight * (100 - safetyScore) + completionWeight * (100 - completionRate)
+ *
+ * A trip fits a vehicle when cargo <= capacity. Cost terms depend on the trip,
+ * the vehicle or the driver alone, so drivers are ranked separately and the
+ * best ones go to the heaviest trips. Trips and vehicles form a threshold
+ * graph: lined up by load, a set of pairs is feasible exactly when no prefix
+ * holds more chosen trips than chosen vehicles. That makes the min-cost
+ * matching a min-cost flow along a line, solved with successive shortest
+ * paths: each round adds the cheapest (vehicle, trip) pair that can still be
+ * routed, kept in a segment tree. Every round is optimal for its size, so
+ * the plan serves the most trips the drivers allow at the lowest total cost,
+ * in O(n log n) time and linear memory instead of the dense cost matrix and
+ * O(n^3) of the Hungarian algorithm.
+ *
+ * Read-only: the plan is a proposal for the dispatcher.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TripAssignmentOptimizer {
+
+    private final TripRepository tripRepository;
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final AnalyticsService analyticsService;
+
+    @Value("${trips.optimizer.slack-weight:1.0}")
+    private double slackWeight;
+
+    @Value("${trips.optimizer.cost-per-km-weight:10.0}")
+    private double costPerKmWeight;
+
+    @Value("${trips.optimizer.safety-weight:5.0}")
+    private double safetyWeight;
+
+    @Value("${trips.optimizer.completion-weight:2.0}")
+    private double completionWeight;
+
+    public OptimizedAssignmentResponse optimizePendingTrips(VehicleType vehicleType) {
+        List<Trip> drafts = tripRepository.findByStatus(TripStatus.DRAFT);
+        List<Vehicle> vehicles = vehicleType != null
+                ? vehicleRepository.findByStatusAndType(VehicleStatus.AVAILABLE, vehicleType)
+                : vehicleRepository.findByStatus(VehicleStatus.AVAILABLE);
+        List<Driver> drivers = driverRepository.findAvailableDrivers(LocalDate.now());
+        Map<UUID, BigDecimal> costPerKm = analyticsService.getCostPerKmByVehicle(vehicles);
+
+        long startedAt = System.nanoTime();
+        List<OptimizedAssignmentResponse.Assignment> assignments =
+                plan(drafts, vehicles, drivers, costPerKm);
+        long computeTimeMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        Set<UUID> assignedTrips = new HashSet<>();
+        double totalCost = 0.0;
+        double totalSlack = 0.0;
+        for (OptimizedAssignmentResponse.Assignment assignment : assignments) {
+            assignedTrips.add(assignment.getTripId());
+            totalCost += assignment.getCost();
+            totalSlack += assignment.getVehicleCapacity() - assignment.getCargoWeight();
+        }
+
+        log.info("Optimized {} of {} pending trips onto {} vehicles / {} drivers in {} ms",
+                assignments.size(), drafts.size(), vehicles.size(), drivers.size(), computeTimeMs);
+        return OptimizedAssignmentResponse.builder()
+                .pendingTrips(drafts.size())
+                .availableVehicles(vehicles.size())
+                .availableDrivers(drivers.size())
+                .assigned(assignments.size())
+                .totalCost(totalCost)
+                .totalCapacitySlack(totalSlack)
+                .computeTimeMs(computeTimeMs)
+                .assignments(assignments)
+                .unassignedTripIds(drafts.stream()
+                        .map(Trip::getId)
+                        .filter(id -> !assignedTrips.contains(id))
+                        .toList())
+                .build();
+    }
+
+    // ---- Internal helper methods ----
+
+    private List<OptimizedAssignmentResponse.Assignment> plan(List<Trip> trips, List<Vehicle> vehicles,
+                                                              List<Driver> drivers,
+                                                              Map<UUID, BigDecimal> costPerKm) {
+        List<Vehicle> chosenVehicles = new ArrayList<>();
+        List<Trip> chosenTrips = new ArrayList<>();
+        matchTripsToVehicles(trips, vehicles, costPerKm, drivers.size(), chosenVehicles, chosenTrips);
+
+        // Any feasible vehicle set and trip set of equal size pair up in ascending load order
+        chosenVehicles.sort(Comparator.comparingDouble(Vehicle::getMaxLoadCapacity).thenComparing(Vehicle::getId));
+        chosenTrips.sort(Comparator.comparingDouble(Trip::getCargoWeight).thenComparing(Trip::getId));
+
+        // Driver cost does not depend on the trip: the best drivers take the heaviest cargo
+        List<Driver> driversByCost = new ArrayList<>(drivers);
+        driversByCost.sort(Comparator.comparingDouble(this::driverCost).thenComparing(Driver::getId));
+
+        List<OptimizedAssignmentResponse.Assignment> assignments = new ArrayList<>(chosenTrips.size());
+        for (int i = chosenTrips.size() - 1, driverIndex = 0; i >= 0; i--, driverIndex++) {
+            Trip trip = chosenTrips.get(i);
+            Vehicle vehicle = chosenVehicles.get(i);
+            Driver driver = driversByCost.get(driverIndex);
+            double cost = slackWeight * (vehicle.getMaxLoadCapacity() - trip.getCargoWeight())
+                    + costPerKmWeight * costPerKm(vehicle, costPerKm)
+                    + driverCost(driver);
+            assignments.add(OptimizedAssignmentResponse.Assignment.builder()
+                    .tripId(trip.getId())
+                    .tripNumber(trip.getTripNumber())
+                    .cargoWeight(trip.getCargoWeight())
+                    .vehicleId(vehicle.getId())
+                    .vehicleLicensePlate(vehicle.getLicensePlate())
+                    .vehicleCapacity(vehicle.getMaxLoadCapacity())
+                    .vehicleCostPerKm(costPerKm.getOrDefault(vehicle.getId(), BigDecimal.ZERO))
+                    .driverId(driver.getId())
+                    .driverName(driver.getName())
+                    .driverSafetyScore(driver.getSafetyScore())
+                    .driverCompletionRate(driver.getCompletionRate())
+                    .cost(cost)
+                    .build());
+        }
+        return assignments;
+    }
+
+    /**
+     * Successive shortest paths on the load line. Vehicles and trips are sorted
+     * by load, heaviest first, vehicles ahead of trips at equal load, so a
+     * vehicle can carry every trip after it. A vehicle can also take an earlier
+     * trip by re-routing existing pairs, see LoadLine.
+     */
+    private void matchTripsToVehicles(List<Trip> trips, List<Vehicle> vehicles, Map<UUID, BigDecimal> costPerKm,
+                                      int limit, List<Vehicle> chosenVehicles, List<Trip> chosenTrips) {
+        int size = vehicles.size() + trips.size();
+        Object[] items = new Object[size];
+        double[] loads = new double[size];
+        double[] costs = new double[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            items[i] = vehicle;
+            loads[i] = vehicle.getMaxLoadCapacity();
+            costs[i] = vehicleCost(vehicle, costPerKm);
+        }
+        for (int i = 0; i < trips.size(); i++) {
+            Trip trip = trips.get(i);
+            int index = vehicles.size() + i;
+            items[index] = trip;
+            loads[index] = trip.getCargoWeight();
+            costs[index] = -slackWeight * trip.getCargoWeight();
+        }
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        int vehicleCount = vehicles.size();
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> loads[i]).reversed()
+                .thenComparing(i -> i >= vehicleCount));
+
+        boolean[] isVehicle = new boolean[size];
+        double[] cost = new double[size];
+        for (int k = 0; k < size; k++) {
+            isVehicle[k] = order[k] < vehicleCount;
+            cost[k] = costs[order[k]];
+        }
+
+        LoadLine line = new LoadLine(isVehicle, cost);
+        boolean[] used = new boolean[size];
+        for (int round = 0; round < limit; round++) {
+            int[] pair = line.cheapestPair();
+            if (pair == null) {
+                break;
+            }
+            int vehicle = pair[0];
+            int trip = pair[1];
+            used[vehicle] = true;
+            used[trip] = true;
+            line.remove(vehicle);
+            line.remove(trip);
+            if (vehicle < trip) {
+                line.addFlow(vehicle, trip - 1, 1);
+            } else {
+                line.addFlow(trip, vehicle - 1, -1);
+            }
+        }
+
+        for (int k = 0; k < size; k++) {
+            if (used[k]) {
+                if (isVehicle[k]) {
+                    chosenVehicles.add((Vehicle) items[order[k]]);
+                } else {
+                    chosenTrips.add((Trip) items[order[k]]);
+                }
+            }
+        }
+    }
+
+    private double vehicleCost(Vehicle vehicle, Map<UUID, BigDecimal> costPerKm) {
+        return slackWeight * vehicle.getMaxLoadCapacity() + costPerKmWeight * costPerKm(vehicle, costPerKm);
+    }
+
+    private static double costPerKm(Vehicle vehicle, Map<UUID, BigDecimal> costPerKm) {
+        return costPerKm.getOrDefault(vehicle.getId(), BigDecimal.ZERO).doubleValue();
+    }
+
+    private double driverCost(Driver driver) {
+        double safety = driver.getSafetyScore() != null ? driver.getSafetyScore() : 0.0;
+        double completion = driver.getCompletionRate() != null ? driver.getCompletionRate() : 0.0;
+        return safetyWeight * (100.0 - safety) + completionWeight * (100.0 - completion);
+    }
+
+    /**
+     * Segment tree over the load line for successive shortest paths.
+     *
+     * Gap k sits between positions k and k+1 and carries flow: chosen vehicles
+     * minus chosen trips up to k. A pair (vehicle u, trip v) is feasible when
+     * u < v, or when every gap between v and u has flow >= 1. Each node keeps
+     * the minimum gap flow in its range (with lazy range add) and, treating gaps
+     * at that minimum as blocked, its cheapest feasible pair, its cheapest
+     * vehicle reachable from the left edge and its cheapest trip reachable from
+     * the right edge. Flow never goes negative, so at the root a minimum of 0
+     * marks exactly the blocked gaps. All operations are O(log n).
+     */
+    private static final class LoadLine {
+        private static final double NONE = Double.POSITIVE_INFINITY;
+
+        private final int size;
+        private final boolean[] isVehicle;
+        private final double[] cost;
+        private final int[] minFlow;
+        private final int[] pendingFlow;
+        private final double[] minVehicle;
+        private final int[] minVehicleAt;
+        private final double[] minTrip;
+        private final int[] minTripAt;
+        private final double[] leftVehicle;
+        private final int[] leftVehicleAt;
+        private final double[] rightTrip;
+        private final int[] rightTripAt;
+        private final double[] bestPair;
+        private final int[] bestVehicleAt;
+        private final int[] bestTripAt;
+
+        private LoadLine(boolean[] isVehicle, double[] cost) {
+            this.size = cost.length;
+            this.isVehicle = isVehicle;
+            this.cost = cost;
+            int nodes = 4 * Math.max(size, 1);
+            this.minFlow = new int[nodes];
+            this.pendingFlow = new int[nodes];
+            this.minVehicle = new double[nodes];
+            this.minVehicleAt = new int[nodes];
+            this.minTrip = new double[nodes];
+            this.minTripAt = new int[nodes];
+            this.leftVehicle = new double[nodes];
+            this.leftVehicleAt = new int[nodes];
+            this.rightTrip = new double[nodes];
+            this.rightTripAt = new int[nodes];
+            this.bestPair = new double[nodes];
+            this.bestVehicleAt = new int[nodes];
+            this.bestTripAt = new int[nodes];
+            if (size > 0) {
+                build(1, 0, size - 1);
+            }
+        }
+
+        /**
+         * Cheapest feasible {vehicle, trip} positions, or null when nothing can be matched.
+         */
+        private int[] cheapestPair() {
+            if (size == 0) {
+                return null;
+            }
+            if (minFlow[1] > 0) {
+                return minVehicleAt[1] >= 0 && minTripAt[1] >= 0
+                        ? new int[]{minVehicleAt[1], minTripAt[1]}
+                        : null;
+            }
+            return bestPair[1] < NONE ? new int[]{bestVehicleAt[1], bestTripAt[1]} : null;
+        }
+
+        private void remove(int position) {
+            remove(1, 0, size - 1, position);
+        }
+
+        private void addFlow(int fromGap, int toGap, int delta) {
+            addFlow(1, 0, size - 1, fromGap, toGap, delta);
+        }
+
+        private void build(int node, int lo, int hi) {
+            if (lo == hi) {
+                // The gap after the last position is never crossed
+                minFlow[node] = lo == size - 1 ? Integer.MAX_VALUE / 2 : 0;
+                setLeaf(node, lo, true);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            build(2 * node, lo, mid);
+            build(2 * node + 1, mid + 1, hi);
+            pull(node);
+        }
+
+        private void remove(int node, int lo, int hi, int position) {
+            if (lo == hi) {
+                setLeaf(node, lo, false);
+                return;
+            }
+            push(node);
+            int mid = (lo + hi) >>> 1;
+            if (position <= mid) {
+                remove(2 * node, lo, mid, position);
+            } else {
+                remove(2 * node + 1, mid + 1, hi, position);
+            }
+            pull(node);
+        }
+
+        private void addFlow(int node, int lo, int hi, int from, int to, int delta) {
+            if (to < lo || hi < from) {
+                return;
+            }
+            if (from <= lo && hi <= to) {
+                minFlow[node] += delta;
+                pendingFlow[node] += delta;
+                return;
+            }
+            push(node);
+            int mid = (lo + hi) >>> 1;
+            addFlow(2 * node, lo, mid, from, to, delta);
+            addFlow(2 * node + 1, mid + 1, hi, from, to, delta);
+            pull(node);
+        }
+
+        private void push(int node) {
+            if (pendingFlow[node] != 0) {
+                for (int child = 2 * node; child <= 2 * node + 1; child++) {
+                    minFlow[child] += pendingFlow[node];
+                    pendingFlow[child] += pendingFlow[node];
+                }
+                pendingFlow[node] = 0;
+            }
+        }
+
+        private void setLeaf(int node, int position, boolean available) {
+            boolean vehicle = available && isVehicle[position];
+            boolean trip = available && !isVehicle[position];
+            minVehicle[node] = vehicle ? cost[position] : NONE;
+            minVehicleAt[node] = vehicle ? position : -1;
+            minTrip[node] = trip ? cost[position] : NONE;
+            minTripAt[node] = trip ? position : -1;
+            // A leaf's own gap is its minimum, so its trip cannot reach the right edge
+            leftVehicle[node] = minVehicle[node];
+            leftVehicleAt[node] = minVehicleAt[node];
+            rightTrip[node] = NONE;
+            rightTripAt[node] = -1;
+            bestPair[node] = NONE;
+            bestVehicleAt[node] = -1;
+            bestTripAt[node] = -1;
+        }
+
+        private void pull(int node) {
+            int left = 2 * node;
+            int right = 2 * node + 1;
+            int min = Math.min(minFlow[left], minFlow[right]);
+            minFlow[node] = min;
+            // A child whose minimum is above the parent's has no blocked gap at this level
+            boolean leftOpen = minFlow[left] > min;
+            boolean rightOpen = minFlow[right] > min;
+
+            boolean leftVehicleWins = minVehicle[left] <= minVehicle[right];
+            minVehicle[node] = leftVehicleWins ? minVehicle[left] : minVehicle[right];
+            minVehicleAt[node] = leftVehicleWins ? minVehicleAt[left] : minVehicleAt[right];
+            boolean leftTripWins = minTrip[left] <= minTrip[right];
+            minTrip[node] = leftTripWins ? minTrip[left] : minTrip[right];
+            minTripAt[node] = leftTripWins ? minTripAt[left] : minTripAt[right];
+
+            double leftSideTrip = leftOpen ? minTrip[left] : rightTrip[left];
+            int leftSideTripAt = leftOpen ? minTripAt[left] : rightTripAt[left];
+            double rightSideVehicle = rightOpen ? minVehicle[right] : leftVehicle[right];
+            int rightSideVehicleAt = rightOpen ? minVehicleAt[right] : leftVehicleAt[right];
+
+            bestPair[node] = NONE;
+            bestVehicleAt[node] = -1;
+            bestTripAt[node] = -1;
+            if (leftOpen) {
+                offerPair(node, minVehicle[left] + minTrip[left], minVehicleAt[left], minTripAt[left]);
+            } else {
+                offerPair(node, bestPair[left], bestVehicleAt[left], bestTripAt[left]);
+            }
+            if (rightOpen) {
+                offerPair(node, minVehicle[right] + minTrip[right], minVehicleAt[right], minTripAt[right]);
+            } else {
+                offerPair(node, bestPair[right], bestVehicleAt[right], bestTripAt[right]);
+            }
+            offerPair(node, minVehicle[left] + minTrip[right], minVehicleAt[left], minTripAt[right]);
+            offerPair(node, rightSideVehicle + leftSideTrip, rightSideVehicleAt, leftSideTripAt);
+
+            if (leftOpen && rightSideVehicle < minVehicle[left]) {
+                leftVehicle[node] = rightSideVehicle;
+                leftVehicleAt[node] = rightSideVehicleAt;
+            } else {
+                leftVehicle[node] = leftOpen ? minVehicle[left] : leftVehicle[left];
+                leftVehicleAt[node] = leftOpen ? minVehicleAt[left] : leftVehicleAt[left];
+            }
+            if (rightOpen && leftSideTrip < minTrip[right]) {
+                rightTrip[node] = leftSideTrip;
+                rightTripAt[node] = leftSideTripAt;
+            } else {
+                rightTrip[node] = rightOpen ? minTrip[right] : rightTrip[right];
+                rightTripAt[node] = rightOpen ? minTripAt[right] : rightTripAt[right];
+            }
+        }
+
+        private void offerPair(int node, double pairCost, int vehicle, int trip) {
+            if (pairCost < bestPair[node]) {
+                bestPair[node] = pairCost;
+                bestVehicleAt[node] = vehicle;
+                bestTripAt[node] = trip;
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.ConsolidationPlanResponse;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Load consolidation planner for pending DRAFT trips.
+ *
+ * Drafts are grouped by route (origin and destination, ignoring case and
+ * surrounding spaces) and each route's cargo is bin-packed onto as few
+ * AVAILABLE vehicles as possible with best-fit decreasing: heaviest cargo
+ * first, each into the open load with the least spare capacity that still
+ * fits it. When a new vehicle is needed, the smallest one that can take the
+ * whole rest of the route is used, otherwise the largest left. Finished
+ * loads are then moved to the smallest free vehicle that still carries them.
+ * Routes with the most cargo pick vehicles first. Everything is sorted sets,
+ * O(n log n) for the whole backlog.
+ *
+ * Read-only: dispatchers review the plan before acting on it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TripConsolidationService {
+
+    private static final Comparator<Vehicle> BY_CAPACITY =
+            Comparator.comparingDouble(Vehicle::getMaxLoadCapacity).thenComparing(Vehicle::getId);
+
+    private static final Comparator<Load> BY_SPARE_CAPACITY =
+            Comparator.comparingDouble((Load load) -> load.spareCapacity).thenComparingInt(load -> load.sequence);
+
+    private final TripRepository tripRepository;
+    private final VehicleRepository vehicleRepository;
+
+    public ConsolidationPlanResponse planConsolidation(VehicleType vehicleType) {
+        List<Trip> drafts = tripRepository.findByStatus(TripStatus.DRAFT);
+        List<Vehicle> vehicles = vehicleType != null
+                ? vehicleRepository.findByStatusAndType(VehicleStatus.AVAILABLE, vehicleType)
+                : vehicleRepository.findByStatus(VehicleStatus.AVAILABLE);
+
+        long startedAt = System.nanoTime();
+        Map<RouteKey, List<Trip>> routes = drafts.stream()
+                .collect(Collectors.groupingBy(RouteKey::of, LinkedHashMap::new, Collectors.toList()));
+        List<List<Trip>> routesByCargo = new ArrayList<>(routes.values());
+        routesByCargo.sort(Comparator.comparingDouble(TripConsolidationService::totalCargo).reversed());
+
+        NavigableSet<Vehicle> pool = new TreeSet<>(BY_CAPACITY);
+        pool.addAll(vehicles);
+        List<Load> loads = new ArrayList<>();
+        List<UUID> unplanned = new ArrayList<>();
+        for (List<Trip> route : routesByCargo) {
+            packRoute(route, pool, loads, unplanned);
+        }
+        long computeTimeMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        int plannedTrips = drafts.size() - unplanned.size();
+        log.info("Consolidation plan: {} drafts on {} routes packed onto {} vehicles in {} ms",
+                plannedTrips, routes.size(), loads.size(), computeTimeMs);
+        return ConsolidationPlanResponse.builder()
+                .pendingTrips(drafts.size())
+                .routes(routes.size())
+                .plannedTrips(plannedTrips)
+                .vehiclesUsed(loads.size())
+                .vehicleTripsSaved(plannedTrips - loads.size())
+                .computeTimeMs(computeTimeMs)
+                .loads(loads.stream().map(TripConsolidationService::toResponse).toList())
+                .unplannedTripIds(unplanned)
+                .build();
+    }
+
+    // ---- Internal helper methods ----
+
+    private void packRoute(List<Trip> route, NavigableSet<Vehicle> pool, List<Load> loads, List<UUID> unplanned) {
+        List<Trip> trips = new ArrayList<>(route);
+        trips.sort(Comparator.comparingDouble(Trip::getCargoWeight).reversed()
+                .thenComparing(Trip::getTripNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        NavigableSet<Load> open = new TreeSet<>(BY_SPARE_CAPACITY);
+        List<Load> routeLoads = new ArrayList<>();
+        double remainingCargo = totalCargo(trips);
+        for (Trip trip : trips) {
+            double weight = trip.getCargoWeight();
+            Load load = open.ceiling(Load.probe(weight));
+            if (load != null) {
+                open.remove(load);
+            } else {
+                Vehicle vehicle = takeVehicle(pool, remainingCargo, weight);
+                if (vehicle == null) {
+                    unplanned.add(trip.getId());
+                    remainingCargo -= weight;
+                    continue;
+                }
+                load = new Load(vehicle, vehicle.getMaxLoadCapacity(), loads.size() + routeLoads.size());
+                routeLoads.add(load);
+            }
+            load.add(trip);
+            open.add(load);
+            remainingCargo -= weight;
+        }
+
+        // Free up large vehicles where a smaller one carries the same load
+        for (Load load : routeLoads) {
+            Vehicle smaller = pool.ceiling(capacityProbe(load.totalCargo));
+            if (smaller != null && BY_CAPACITY.compare(smaller, load.vehicle) < 0) {
+                pool.remove(smaller);
+                pool.add(load.vehicle);
+                load.moveTo(smaller);
+            }
+        }
+        loads.addAll(routeLoads);
+    }
+
+    /**
+     * The smallest vehicle that carries all remaining cargo of the route, else the largest left.
+     * Null when no free vehicle can carry the current trip.
+     */
+    private static Vehicle takeVehicle(NavigableSet<Vehicle> pool, double remainingCargo, double weight) {
+        Vehicle vehicle = pool.ceiling(capacityProbe(remainingCargo));
+        if (vehicle == null) {
+            vehicle = pool.isEmpty() ? null : pool.last();
+        }
+        if (vehicle == null || vehicle.getMaxLoadCapacity() < weight) {
+            return null;
+        }
+        pool.remove(vehicle);
+        return vehicle;
+    }
+
+    private static Vehicle capacityProbe(double capacity) {
+        return Vehicle.builder()
+                .id(new UUID(Long.MIN_VALUE, Long.MIN_VALUE))
+                .maxLoadCapacity(capacity)
+                .build();
+    }
+
+    private static double totalCargo(List<Trip> trips) {
+        return trips.stream().mapToDouble(Trip::getCargoWeight).sum();
+    }
+
+    private static ConsolidationPlanResponse.ConsolidatedLoad toResponse(Load load) {
+        Vehicle vehicle = load.vehicle;
+        Trip first = load.trips.get(0);
+        return ConsolidationPlanResponse.ConsolidatedLoad.builder()
+                .origin(first.getOrigin())
+                .destination(first.getDestination())
+                .vehicleId(vehicle.getId())
+                .vehicleName(vehicle.getName())
+                .vehicleLicensePlate(vehicle.getLicensePlate())
+                .vehicleType(vehicle.getType())
+                .vehicleCapacity(vehicle.getMaxLoadCapacity())
+                .totalCargoWeight(load.totalCargo)
+                .utilization(Math.round(load.totalCargo / vehicle.getMaxLoadCapacity() * 10000.0) / 100.0)
+                .trips(load.trips.stream()
+                        .map(trip -> ConsolidationPlanResponse.TripLoad.builder()
+                                .tripId(trip.getId())
+                                .tripNumber(trip.getTripNumber())
+                                .cargoWeight(trip.getCargoWeight())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private record RouteKey(String origin, String destination) {
+        private static RouteKey of(Trip trip) {
+            return new RouteKey(normalize(trip.getOrigin()), normalize(trip.getDestination()));
+        }
+
+        private static String normalize(String place) {
+            return place == null ? "" : place.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * One vehicle's planned load. Ordered by spare capacity in the open set,
+     * so it must be removed from the set before it changes.
+     */
+    private static final class Load {
+        private final int sequence;
+        private final List<Trip> trips = new ArrayList<>();
+        private Vehicle vehicle;
+        private double totalCargo;
+        private double spareCapacity;
+
+        private Load(Vehicle vehicle, double spareCapacity, int sequence) {
+            this.vehicle = vehicle;
+            this.spareCapacity = spareCapacity;
+            this.sequence = sequence;
+        }
+
+        private static Load probe(double spareCapacity) {
+            return new Load(null, spareCapacity, -1);
+        }
+
+        private void add(Trip trip) {
+            trips.add(trip);
+            totalCargo += trip.getCargoWeight();
+            spareCapacity -= trip.getCargoWeight();
+        }
+
+        private void moveTo(Vehicle smaller) {
+            vehicle = smaller;
+            spareCapacity = smaller.getMaxLoadCapacity() - totalCargo;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.CreateTripRequest;
+import com.hackathon.securestarter.dto.response.TripImportResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.event.TripStatusChangedEvent;
+import com.hackathon.securestarter.exception.BadRequestException;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import com.hackathon.securestarter.util.Constants;
+import com.hackathon.securestarter.util.CsvRowReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk trip creation from a CSV manifest.
+ *
+ * The file is read one record at a time and processed in chunks of
+ * trips.import.batch-size rows. Each chunk resolves its vehicles and drivers
+ * with one IN query each, validates rows in memory with the same rules as
+ * POST /api/trips, and inserts the valid trips in one transaction using JDBC
+ * batches of the chunk size. Invalid rows are reported by line number and
+ * skipped; they never abort the rest of the file.
+ */
+@Service
+@Slf4j
+public class TripImportService {
+
+    private static final String VEHICLE_ID = "vehicleId";
+    private static final String DRIVER_ID = "driverId";
+    private static final String CARGO_WEIGHT = "cargoWeight";
+    private static final String ORIGIN = "origin";
+    private static final String DESTINATION = "destination";
+    private static final String ESTIMATED_FUEL_COST = "estimatedFuelCost";
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of(VEHICLE_ID, DRIVER_ID, CARGO_WEIGHT, ORIGIN, DESTINATION);
+
+    private final TripService tripService;
+    private final TripNumberAllocator tripNumberAllocator;
+    private final TripRepository tripRepository;
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${trips.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${trips.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public TripImportService(TripService tripService,
+                             TripNumberAllocator tripNumberAllocator,
+                             TripRepository tripRepository,
+                             VehicleRepository vehicleRepository,
+                             DriverRepository driverRepository,
+                             Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager) {
+        this.tripService = tripService;
+        this.tripNumberAllocator = tripNumberAllocator;
+        this.tripRepository = tripRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.driverRepository = driverRepository;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Import DRAFT trips from CSV. The header row names the columns
+     * (vehicleId, driverId, cargoWeight, origin, destination, optional estimatedFuelCost)
+     * in any order.
+     */
+    public TripImportResponse importTrips(Reader input, User currentUser) throws IOException {
+        ImportProgress progress = new ImportProgress(maxReportedErrors);
+
+        try (CsvRowReader csv = new CsvRowReader(input)) {
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new BadRequestException(Constants.IMPORT_EMPTY_FILE);
+            }
+            Map<String, Integer> columns = indexColumns(header);
+
+            List<PendingRow> chunk = new ArrayList<>(batchSize);
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                progress.totalRows++;
+                long line = csv.getLineNumber();
+                try {
+                    chunk.add(new PendingRow(line, parseRow(fields, columns)));
+                } catch (BadRequestException e) {
+                    progress.fail(line, e.getMessage());
+                }
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, currentUser, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, currentUser, progress);
+            }
+        }
+
+        log.info("Trip import by user: {}. {} of {} rows imported",
+                currentUser.getEmail(), progress.imported, progress.totalRows);
+        return progress.toResponse();
+    }
+
+    // ---- Internal helper methods ----
+
+    private Map<String, Integer> indexColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column.toLowerCase(Locale.ROOT)))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException(Constants.IMPORT_MISSING_COLUMNS + ": " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    /**
+     * Convert one record to a CreateTripRequest and run the same bean validation as the REST endpoint.
+     */
+    private CreateTripRequest parseRow(List<String> fields, Map<String, Integer> columns) {
+        CreateTripRequest request = new CreateTripRequest();
+        request.setVehicleId(parse(fields, columns, VEHICLE_ID, UUID::fromString));
+        request.setDriverId(parse(fields, columns, DRIVER_ID, UUID::fromString));
+        request.setCargoWeight(parse(fields, columns, CARGO_WEIGHT, Double::valueOf));
+        request.setOrigin(parse(fields, columns, ORIGIN, Function.identity()));
+        request.setDestination(parse(fields, columns, DESTINATION, Function.identity()));
+        request.setEstimatedFuelCost(parse(fields, columns, ESTIMATED_FUEL_COST, BigDecimal::new));
+
+        Set<ConstraintViolation<CreateTripRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return request;
+    }
+
+    private <T> T parse(List<String> fields, Map<String, Integer> columns, String column,
+                        Function<String, T> parser) {
+        Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String raw = fields.get(index).trim();
+        if (raw.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(raw);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid " + column + ": " + raw);
+        }
+    }
+
+    /**
+     * Validate and insert one chunk in its own transaction.
+     * If the insert itself fails, every row of the chunk is reported and the import continues.
+     */
+    private void importChunk(List<PendingRow> rows, User currentUser, ImportProgress progress) {
+        List<TripImportResponse.RowError> rowErrors = new ArrayList<>();
+        List<PendingRow> accepted = new ArrayList<>(rows.size());
+        // Numbers are taken before the transaction opens (see TripNumberAllocator); rejected rows leave gaps
+        long[] tripNumbers = new long[rows.size()];
+        for (int i = 0; i < tripNumbers.length; i++) {
+            tripNumbers[i] = tripNumberAllocator.next();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+                Map<UUID, Vehicle> vehicles = vehicleRepository.findAllById(
+                                rows.stream().map(row -> row.request().getVehicleId()).collect(Collectors.toSet()))
+                        .stream().collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+                Map<UUID, Driver> drivers = driverRepository.findAllById(
+                                rows.stream().map(row -> row.request().getDriverId()).collect(Collectors.toSet()))
+                        .stream().collect(Collectors.toMap(Driver::getId, Function.identity()));
+
+                List<Trip> trips = new ArrayList<>(rows.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    PendingRow row = rows.get(i);
+                    Vehicle vehicle = vehicles.get(row.request().getVehicleId());
+                    Driver driver = drivers.get(row.request().getDriverId());
+                    if (vehicle == null) {
+                        rowErrors.add(rowError(row.line(), Constants.VEHICLE_NOT_FOUND));
+                    } else if (driver == null) {
+                        rowErrors.add(rowError(row.line(), Constants.DRIVER_NOT_FOUND));
+                    } else {
+                        try {
+                            trips.add(tripService.buildDraftTrip(
+                                    row.request(), vehicle, driver, currentUser, tripNumbers[i]));
+                            accepted.add(row);
+                        } catch (BadRequestException e) {
+                            rowErrors.add(rowError(row.line(), e.getMessage()));
+                        }
+                    }
+                }
+
+                tripRepository.saveAll(trips);
+                LocalDateTime createdAt = LocalDateTime.now();
+                for (Trip trip : trips) {
+                    eventPublisher.publishEvent(new TripStatusChangedEvent(
+                            trip.getId(), null, TripStatus.DRAFT, currentUser.getId(), createdAt));
+                }
+                // The outbox rows are stored by the listeners above; flush them with the trips before clearing
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (DataAccessException e) {
+            log.error("Trip import chunk starting at line {} failed", rows.get(0).line(), e);
+            for (PendingRow row : accepted) {
+                rowErrors.add(rowError(row.line(), "Could not save trip: " + e.getMostSpecificCause().getMessage()));
+            }
+            accepted.clear();
+        }
+
+        progress.imported += accepted.size();
+        rowErrors.forEach(error -> progress.fail(error.getLine(), error.getMessage()));
+    }
+
+    private static TripImportResponse.RowError rowError(long line, String message) {
+        return TripImportResponse.RowError.builder()
+                .line(line)
+                .message(message)
+                .build();
+    }
+
+    private record PendingRow(long line, CreateTripRequest request) {
+    }
+
+    private static final class ImportProgress {
+        private final int maxReportedErrors;
+        private final List<TripImportResponse.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long failed;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(rowError(line, message));
+            }
+        }
+
+        private TripImportResponse toResponse() {
+            errors.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            return TripImportResponse.builder()
+                    .totalRows(totalRows)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.NumberSequence;
+import com.hackathon.securestarter.repository.NumberSequenceRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out trip numbers using a hi/lo (block) scheme.
+ *
+ * Each instance reserves a block of numbers from the trip_number row in
+ * number_sequences in one short transaction (SELECT ... FOR UPDATE, then bump
+ * next_value by the block size) and serves numbers from memory with an atomic
+ * increment until the block runs out. Instances never share a block, so
+ * numbers are unique without retries.
+ *
+ * A refill needs a pooled connection of its own, and threads that find the
+ * block exhausted wait for it. Callers therefore take numbers before they
+ * open their transaction: if they waited while holding a connection, a burst
+ * of as many creates as the pool has connections would leave the refill
+ * without one until the connection timeout. next() refuses to run inside a
+ * transaction to keep it that way.
+ *
+ * Numbers are unique and increasing per instance, but not gap-free:
+ * the unused part of a block is lost on shutdown, and a rolled-back or
+ * rejected trip keeps its number.
+ */
+@Component
+@Slf4j
+public class TripNumberAllocator {
+
+    static final String SEQUENCE_NAME = "trip_number";
+
+    private final NumberSequenceRepository sequenceRepository;
+    private final TripRepository tripRepository;
+    private final TransactionTemplate requiresNewTransaction;
+
+    @Value("${trips.number-allocator.block-size:50}")
+    private int blockSize;
+
+    private volatile Block current = new Block(0, 0);
+
+    public TripNumberAllocator(NumberSequenceRepository sequenceRepository,
+                               TripRepository tripRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.sequenceRepository = sequenceRepository;
+        this.tripRepository = tripRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Next trip number. Lock-free except when the current block is exhausted.
+     * Must be called outside a transaction.
+     */
+    public long next() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Trip numbers must be taken before the transaction opens");
+        }
+        while (true) {
+            Block block = current;
+            long value = block.next.getAndIncrement();
+            if (value < block.limit) {
+                return value;
+            }
+            refill(block);
+        }
+    }
+
+    // ---- Internal helper methods ----
+
+    /**
+     * Replace an exhausted block. Only the first thread to get here reserves;
+     * the others see the new block and go back to incrementing.
+     */
+    private synchronized void refill(Block exhausted) {
+        if (current != exhausted) {
+            return;
+        }
+        long start = reserveBlock();
+        current = new Block(start, start + blockSize);
+        log.debug("Reserved trip numbers {}..{}", start, start + blockSize - 1);
+    }
+
+    /**
+     * Bump next_value by one block in its own transaction, so the row lock is
+     * held only for this statement pair and not for the caller's whole trip insert.
+     */
+    private long reserveBlock() {
+        Long start = requiresNewTransaction.execute(status -> {
+            NumberSequence sequence = sequenceRepository.findByNameForUpdate(SEQUENCE_NAME).orElse(null);
+            if (sequence == null) {
+                return null;
+            }
+            long first = sequence.getNextValue();
+            sequence.setNextValue(first + blockSize);
+            return first;
+        });
+        if (start != null) {
+            return start;
+        }
+        createSequenceRow();
+        return reserveBlock();
+    }
+
+    /**
+     * First use: seed the sequence after the highest existing trip number.
+     * Another instance may create the row concurrently; either way it exists afterwards.
+     */
+    private void createSequenceRow() {
+        try {
+            requiresNewTransaction.executeWithoutResult(status ->
+                    sequenceRepository.saveAndFlush(NumberSequence.builder()
+                            .name(SEQUENCE_NAME)
+                            .nextValue(tripRepository.findMaxTripNumber() + 1)
+                            .build()));
+            log.info("Initialized {} sequence", SEQUENCE_NAME);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("{} sequence created concurrently", SEQUENCE_NAME);
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit; // exclusive
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.hackathon.securestarter.service;
 import com.hackathon.securestarter.dto.request.CancelTripRequest;
 import com.hackathon.securestarter.dto.request.CompleteTripRequest;
 import com.hackathon.securestarter.dto.request.CreateTripRequest;
+import com.hackathon.securestarter.dto.response.BatchDispatchResponse;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.TripResponse;
 import com.hackathon.securestarter.entity.Driver;
 import com.hackathon.securestarter.entity.Trip;
@@ -11,85 +13,81 @@ import com.hackathon.securestarter.entity.Vehicle;
 import com.hackathon.securestarter.enums.DriverStatus;
 import com.hackathon.securestarter.enums.TripStatus;
 import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.event.TripStatusChangedEvent;
 import com.hackathon.securestarter.exception.BadRequestException;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.DriverRepository;
 import com.hackathon.securestarter.repository.TripRepository;
 import com.hackathon.securestarter.repository.VehicleRepository;
+import com.hackathon.securestarter.service.TripStateMachine.TransitionContext;
 import com.hackathon.securestarter.util.Constants;
+import com.hackathon.securestarter.util.PageCursor;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TripService {
 
+    /** Same order as the per-status recent-trip queries: updated_at DESC, id DESC. */
+    private static final Comparator<Trip> RECENT_FIRST = Comparator
+            .comparing(Trip::getUpdatedAt, Comparator.reverseOrder())
+            .thenComparing(Trip::getId, Comparator.reverseOrder());
+
     private final TripRepository tripRepository;
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
-    private final DriverService driverService;
+    private final TripStateMachine tripStateMachine;
+    private final TripNumberAllocator tripNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Create a new trip in DRAFT status.
      * Validates cargo weight against vehicle capacity.
      * Does NOT change vehicle/driver status yet (that happens on dispatch).
+     *
+     * The trip number is taken before the transaction opens (see TripNumberAllocator).
      */
-    @Transactional
     public TripResponse createTrip(CreateTripRequest request, User currentUser) {
-        Vehicle vehicle = vehicleRepository.findById(request.getVehicleId())
-                .orElseThrow(() -> new ResourceNotFoundException(Constants.VEHICLE_NOT_FOUND));
-        Driver driver = driverRepository.findById(request.getDriverId())
-                .orElseThrow(() -> new ResourceNotFoundException(Constants.DRIVER_NOT_FOUND));
-
-        // Validate vehicle availability
-        if (vehicle.getStatus() != VehicleStatus.AVAILABLE) {
-            throw new BadRequestException(Constants.VEHICLE_NOT_AVAILABLE);
-        }
-
-        // Validate driver availability
-        if (!driver.isAvailableForDispatch()) {
-            if (driver.isLicenseExpired()) {
-                throw new BadRequestException(Constants.DRIVER_LICENSE_EXPIRED);
-            }
-            if (driver.getStatus() == DriverStatus.SUSPENDED) {
-                throw new BadRequestException(Constants.DRIVER_SUSPENDED);
-            }
-            throw new BadRequestException(Constants.DRIVER_NOT_AVAILABLE);
-        }
-
-        // Validate cargo weight against vehicle capacity
-        if (request.getCargoWeight() > vehicle.getMaxLoadCapacity()) {
-            throw new BadRequestException(Constants.CARGO_EXCEEDS_CAPACITY +
-                    ". Max capacity: " + vehicle.getMaxLoadCapacity() + " kg, Cargo: " + request.getCargoWeight() + " kg");
-        }
-
-        // Generate sequential trip number
-        Long nextTripNumber = tripRepository.findMaxTripNumber() + 1;
-
-        Trip trip = Trip.builder()
-                .tripNumber(nextTripNumber)
-                .vehicle(vehicle)
-                .driver(driver)
-                .cargoWeight(request.getCargoWeight())
-                .origin(request.getOrigin())
-                .destination(request.getDestination())
-                .estimatedFuelCost(request.getEstimatedFuelCost())
-                .startOdometer(vehicle.getOdometer())
-                .status(TripStatus.DRAFT)
-                .dispatchedBy(currentUser)
-                .build();
-
-        Trip saved = tripRepository.save(trip);
-        log.info("Trip #{} created by user: {}", saved.getTripNumber(), currentUser.getEmail());
-        return mapToResponse(saved);
+        long tripNumber = tripNumberAllocator.next();
+        return transactionTemplate.execute(status -> {
+            Vehicle vehicle = vehicleRepository.findById(request.getVehicleId())
+                    .orElseThrow(() -> new ResourceNotFoundException(Constants.VEHICLE_NOT_FOUND));
+            Driver driver = driverRepository.findById(request.getDriverId())
+                    .orElseThrow(() -> new ResourceNotFoundException(Constants.DRIVER_NOT_FOUND));
+
+            Trip trip = buildDraftTrip(request, vehicle, driver, currentUser, tripNumber);
+
+            Trip saved = tripRepository.save(trip);
+            eventPublisher.publishEvent(new TripStatusChangedEvent(
+                    saved.getId(), null, TripStatus.DRAFT, currentUser.getId(), LocalDateTime.now()));
+            log.info("Trip #{} created by user: {}", saved.getTripNumber(), currentUser.getEmail());
+            return mapToResponse(saved);
+        });
     }
 
     /**
@@ -98,53 +96,77 @@ public class TripService {
      * Increments driver's totalTripsAssigned.
      */
     @Transactional
+    @RetryOnConflict
     public TripResponse dispatchTrip(UUID tripId, User currentUser) {
         Trip trip = getTripEntity(tripId);
 
-        if (trip.getStatus() != TripStatus.DRAFT) {
-            throw new BadRequestException("Only DRAFT trips can be dispatched. Current status: " + trip.getStatus());
-        }
+        tripStateMachine.fire(trip, TripStatus.DISPATCHED, TransitionContext.by(currentUser));
 
-        Vehicle vehicle = trip.getVehicle();
-        Driver driver = trip.getDriver();
-
-        // Re-validate availability at dispatch time
-        if (vehicle.getStatus() != VehicleStatus.AVAILABLE) {
-            throw new BadRequestException(Constants.VEHICLE_NOT_AVAILABLE + " (status: " + vehicle.getStatus() + ")");
-        }
-        if (!driver.isAvailableForDispatch()) {
-            throw new BadRequestException(Constants.DRIVER_NOT_AVAILABLE + " (status: " + driver.getStatus() + ")");
-        }
-
-        // Update statuses
-        vehicle.setStatus(VehicleStatus.ON_TRIP);
-        driver.setStatus(DriverStatus.ON_TRIP);
-        driver.setTotalTripsAssigned(driver.getTotalTripsAssigned() + 1);
-
-        trip.setStatus(TripStatus.DISPATCHED);
-        trip.setDispatchedAt(LocalDateTime.now());
-        trip.setDispatchedBy(currentUser);
-
-        vehicleRepository.save(vehicle);
-        driverRepository.save(driver);
+        vehicleRepository.save(trip.getVehicle());
+        driverRepository.save(trip.getDriver());
         Trip updated = tripRepository.save(trip);
 
         log.info("Trip #{} dispatched by user: {}", updated.getTripNumber(), currentUser.getEmail());
         return mapToResponse(updated);
     }
 
+    /**
+     * Dispatch many DRAFT trips in one transaction.
+     * Trips, vehicles and drivers are loaded with one IN query and validated in memory;
+     * a trip that fails validation is reported and skipped, the rest are dispatched.
+     * Vehicles and drivers are checked against the batch's own earlier assignments,
+     * so two trips in the same batch cannot claim the same vehicle or driver.
+     * Dirty entities are flushed at commit in JDBC batches (see JpaConfig): five statements
+     * however large the batch, the select, the outbox insert and one update per table.
+     */
+    @Transactional
+    @RetryOnConflict
+    public BatchDispatchResponse dispatchTrips(List<UUID> tripIds, User currentUser) {
+        Set<UUID> requestedIds = new LinkedHashSet<>(tripIds);
+        Map<UUID, Trip> tripsById = tripRepository.findByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(Trip::getId, Function.identity()));
+
+        List<BatchDispatchResponse.TripResult> results = new ArrayList<>(requestedIds.size());
+        int dispatched = 0;
+        for (UUID tripId : requestedIds) {
+            Trip trip = tripsById.get(tripId);
+            if (trip == null) {
+                results.add(failedResult(tripId, null, Constants.TRIP_NOT_FOUND));
+                continue;
+            }
+            try {
+                tripStateMachine.fire(trip, TripStatus.DISPATCHED, TransitionContext.by(currentUser));
+            } catch (BadRequestException e) {
+                results.add(failedResult(tripId, trip.getTripNumber(), e.getMessage()));
+                continue;
+            }
+            dispatched++;
+            results.add(BatchDispatchResponse.TripResult.builder()
+                    .tripId(tripId)
+                    .tripNumber(trip.getTripNumber())
+                    .dispatched(true)
+                    .build());
+        }
+
+        log.info("Batch dispatch by user: {}. {} of {} trips dispatched",
+                currentUser.getEmail(), dispatched, requestedIds.size());
+        return BatchDispatchResponse.builder()
+                .requested(requestedIds.size())
+                .dispatched(dispatched)
+                .failed(requestedIds.size() - dispatched)
+                .results(results)
+                .build();
+    }
+
     /**
      * Mark a DISPATCHED trip → IN_TRANSIT.
      */
     @Transactional
+    @RetryOnConflict
     public TripResponse markInTransit(UUID tripId, User currentUser) {
         Trip trip = getTripEntity(tripId);
 
-        if (trip.getStatus() != TripStatus.DISPATCHED) {
-            throw new BadRequestException("Only DISPATCHED trips can be marked as in-transit. Current status: " + trip.getStatus());
-        }
-
-        trip.setStatus(TripStatus.IN_TRANSIT);
+        tripStateMachine.fire(trip, TripStatus.IN_TRANSIT, TransitionContext.by(currentUser));
         Trip updated = tripRepository.save(trip);
 
         log.info("Trip #{} marked in-transit by user: {}", updated.getTripNumber(), currentUser.getEmail());
@@ -158,46 +180,18 @@ public class TripService {
      * Recalculates driver completion rate.
      */
     @Transactional
+    @RetryOnConflict
     public TripResponse completeTrip(UUID tripId, CompleteTripRequest request, User currentUser) {
         Trip trip = getTripEntity(tripId);
 
-        if (trip.getStatus() != TripStatus.DISPATCHED && trip.getStatus() != TripStatus.IN_TRANSIT) {
-            throw new BadRequestException("Only DISPATCHED or IN_TRANSIT trips can be completed. Current status: " + trip.getStatus());
-        }
-
-        Vehicle vehicle = trip.getVehicle();
-        Driver driver = trip.getDriver();
-
-        // Validate end odometer
-        if (request.getEndOdometer() < vehicle.getOdometer()) {
-            throw new BadRequestException("End odometer (" + request.getEndOdometer() +
-                    ") cannot be less than current odometer (" + vehicle.getOdometer() + ")");
-        }
+        tripStateMachine.fire(trip, TripStatus.COMPLETED, TransitionContext.completion(currentUser, request));
 
-        // Calculate actual distance
-        double actualDistance = request.getEndOdometer() - trip.getStartOdometer();
-
-        trip.setEndOdometer(request.getEndOdometer());
-        trip.setActualDistance(actualDistance);
-        trip.setRevenue(request.getRevenue());
-        trip.setStatus(TripStatus.COMPLETED);
-        trip.setCompletedAt(LocalDateTime.now());
-
-        // Reset vehicle status and update odometer
-        vehicle.setStatus(VehicleStatus.AVAILABLE);
-        vehicle.setOdometer(request.getEndOdometer());
-
-        // Reset driver status and update trip stats
-        driver.setStatus(DriverStatus.ON_DUTY);
-        driver.setTotalTripsCompleted(driver.getTotalTripsCompleted() + 1);
-        driverService.recalculateCompletionRate(driver);
-
-        vehicleRepository.save(vehicle);
-        driverRepository.save(driver);
+        vehicleRepository.save(trip.getVehicle());
+        driverRepository.save(trip.getDriver());
         Trip updated = tripRepository.save(trip);
 
         log.info("Trip #{} completed by user: {}. Distance: {} km",
-                updated.getTripNumber(), currentUser.getEmail(), actualDistance);
+                updated.getTripNumber(), currentUser.getEmail(), updated.getActualDistance());
         return mapToResponse(updated);
     }
 
@@ -206,29 +200,17 @@ public class TripService {
      * If dispatched/in-transit, resets Vehicle to AVAILABLE and Driver to ON_DUTY.
      */
     @Transactional
+    @RetryOnConflict
     public TripResponse cancelTrip(UUID tripId, CancelTripRequest request, User currentUser) {
         Trip trip = getTripEntity(tripId);
 
-        if (trip.getStatus() == TripStatus.COMPLETED || trip.getStatus() == TripStatus.CANCELLED) {
-            throw new BadRequestException("Cannot cancel a trip that is already " + trip.getStatus());
-        }
+        boolean releasesVehicleAndDriver = trip.getStatus() != TripStatus.DRAFT;
+        tripStateMachine.fire(trip, TripStatus.CANCELLED, TransitionContext.cancellation(currentUser, request));
 
-        // If already dispatched or in-transit, release vehicle and driver
-        if (trip.getStatus() == TripStatus.DISPATCHED || trip.getStatus() == TripStatus.IN_TRANSIT) {
-            Vehicle vehicle = trip.getVehicle();
-            Driver driver = trip.getDriver();
-
-            vehicle.setStatus(VehicleStatus.AVAILABLE);
-            driver.setStatus(DriverStatus.ON_DUTY);
-
-            vehicleRepository.save(vehicle);
-            driverRepository.save(driver);
+        if (releasesVehicleAndDriver) {
+            vehicleRepository.save(trip.getVehicle());
+            driverRepository.save(trip.getDriver());
         }
-
-        trip.setStatus(TripStatus.CANCELLED);
-        trip.setCancelledAt(LocalDateTime.now());
-        trip.setCancellationReason(request != null ? request.getCancellationReason() : null);
-
         Trip updated = tripRepository.save(trip);
         log.info("Trip #{} cancelled by user: {}", updated.getTripNumber(), currentUser.getEmail());
         return mapToResponse(updated);
@@ -238,12 +220,41 @@ public class TripService {
         return mapToResponse(getTripEntity(tripId));
     }
 
+    /**
+     * Most recently updated trips in the given statuses, newest first.
+     * One index-ordered query per status, each capped at the limit, merged here.
+     */
+    public List<TripResponse> getRecentTrips(Collection<TripStatus> statuses, int limit) {
+        List<Trip> candidates = new ArrayList<>(statuses.size() * limit);
+        for (TripStatus status : statuses) {
+            candidates.addAll(tripRepository.findRecentByStatus(status, Limit.of(limit)));
+        }
+        return candidates.stream()
+                .sorted(RECENT_FIRST)
+                .limit(limit)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     public List<TripResponse> getAllTrips() {
         return tripRepository.findAll().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One keyset page of trips, newest first. Pass the previous page's
+     * nextCursor to continue; size is capped at PageCursor.MAX_PAGE_SIZE.
+     */
+    public CursorPageResponse<TripResponse> getTripsPage(TripStatus status, String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Trip> rows = after == null
+                ? tripRepository.findFirstPage(status, PageCursor.fetchLimit(pageSize))
+                : tripRepository.findPageAfter(status, after.createdAt(), after.id(), PageCursor.fetchLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, Trip::getCreatedAt, Trip::getId, this::mapToResponse);
+    }
+
     public List<TripResponse> getTripsByStatus(TripStatus status) {
         return tripRepository.findByStatus(status).stream()
                 .map(this::mapToResponse)
@@ -262,6 +273,24 @@ public class TripService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Stream every trip to the sink from a forward-only cursor.
+     * The persistence context is cleared periodically so heap use stays flat.
+     */
+    @Transactional(readOnly = true)
+    public void exportTrips(Consumer<TripResponse> sink) {
+        try (Stream<Trip> rows = tripRepository.streamAllForExport()) {
+            Iterator<Trip> iterator = rows.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                sink.accept(mapToResponse(iterator.next()));
+                if (++count % Constants.EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     // ---- Internal helper methods ----
 
     public Trip getTripEntity(UUID tripId) {
@@ -269,6 +298,58 @@ public class TripService {
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.TRIP_NOT_FOUND));
     }
 
+    /**
+     * Validate a new trip against its vehicle and driver and build it in DRAFT status
+     * with the given trip number. Throws BadRequestException if the trip is not allowed.
+     * Shared by single create and CSV import.
+     */
+    public Trip buildDraftTrip(CreateTripRequest request, Vehicle vehicle, Driver driver, User currentUser,
+                               long tripNumber) {
+        // Validate vehicle availability
+        if (vehicle.getStatus() != VehicleStatus.AVAILABLE) {
+            throw new BadRequestException(Constants.VEHICLE_NOT_AVAILABLE);
+        }
+
+        // Validate driver availability
+        if (!driver.isAvailableForDispatch()) {
+            if (driver.isLicenseExpired()) {
+                throw new BadRequestException(Constants.DRIVER_LICENSE_EXPIRED);
+            }
+            if (driver.getStatus() == DriverStatus.SUSPENDED) {
+                throw new BadRequestException(Constants.DRIVER_SUSPENDED);
+            }
+            throw new BadRequestException(Constants.DRIVER_NOT_AVAILABLE);
+        }
+
+        // Validate cargo weight against vehicle capacity
+        if (request.getCargoWeight() > vehicle.getMaxLoadCapacity()) {
+            throw new BadRequestException(Constants.CARGO_EXCEEDS_CAPACITY +
+                    ". Max capacity: " + vehicle.getMaxLoadCapacity() + " kg, Cargo: " + request.getCargoWeight() + " kg");
+        }
+
+        return Trip.builder()
+                .tripNumber(tripNumber)
+                .vehicle(vehicle)
+                .driver(driver)
+                .cargoWeight(request.getCargoWeight())
+                .origin(request.getOrigin())
+                .destination(request.getDestination())
+                .estimatedFuelCost(request.getEstimatedFuelCost())
+                .startOdometer(vehicle.getOdometer())
+                .status(TripStatus.DRAFT)
+                .dispatchedBy(currentUser)
+                .build();
+    }
+
+    private BatchDispatchResponse.TripResult failedResult(UUID tripId, Long tripNumber, String error) {
+        return BatchDispatchResponse.TripResult.builder()
+                .tripId(tripId)
+                .tripNumber(tripNumber)
+                .dispatched(false)
+                .error(error)
+                .build();
+    }
+
     private TripResponse mapToResponse(Trip trip) {
         Vehicle vehicle = trip.getVehicle();
         Driver driver = trip.getDriver();
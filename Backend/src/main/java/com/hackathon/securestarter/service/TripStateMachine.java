@@ -0,0 +1,216 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.CancelTripRequest;
+import com.hackathon.securestarter.dto.request.CompleteTripRequest;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.DriverStatus;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.event.DriverStatusChangedEvent;
+import com.hackathon.securestarter.event.TripCompletedEvent;
+import com.hackathon.securestarter.event.TripStatusChangedEvent;
+import com.hackathon.securestarter.event.VehicleStatusChangedEvent;
+import com.hackathon.securestarter.exception.BadRequestException;
+import com.hackathon.securestarter.util.Constants;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Trip lifecycle as a transition table.
+ *
+ * Each allowed (from, to) pair is one row with a guard and an effect. The
+ * guard validates and throws BadRequestException without changing anything;
+ * the effect applies the side changes to the trip, its vehicle and its driver
+ * and publishes their events. fire() runs guard then effect, sets the new
+ * status and publishes TripStatusChangedEvent. Pairs not in the table are
+ * rejected. Changes are made in memory; the caller saves the entities.
+ *
+ *   DRAFT                   → DISPATCHED   vehicle and driver must be free; both → ON_TRIP
+ *   DISPATCHED              → IN_TRANSIT
+ *   DISPATCHED / IN_TRANSIT → COMPLETED    odometer must not go back; vehicle → AVAILABLE, driver → ON_DUTY
+ *   DRAFT                   → CANCELLED
+ *   DISPATCHED / IN_TRANSIT → CANCELLED    vehicle → AVAILABLE, driver → ON_DUTY
+ */
+@Component
+public class TripStateMachine {
+
+    private static final BiConsumer<Trip, TransitionContext> NO_GUARD = (trip, context) -> { };
+    private static final BiConsumer<Trip, TransitionContext> NO_EFFECT = (trip, context) -> { };
+
+    private final DriverService driverService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<TripStatus, Map<TripStatus, Transition>> table = new EnumMap<>(TripStatus.class);
+    private final Map<TripStatus, String> rejections = new EnumMap<>(TripStatus.class);
+
+    public TripStateMachine(DriverService driverService, ApplicationEventPublisher eventPublisher) {
+        this.driverService = driverService;
+        this.eventPublisher = eventPublisher;
+        for (TripStatus status : TripStatus.values()) {
+            table.put(status, new EnumMap<>(TripStatus.class));
+        }
+
+        allow(TripStatus.DRAFT, TripStatus.DISPATCHED, this::checkDispatchable, this::assignVehicleAndDriver);
+        allow(TripStatus.DISPATCHED, TripStatus.IN_TRANSIT, NO_GUARD, NO_EFFECT);
+        allow(TripStatus.DISPATCHED, TripStatus.COMPLETED, this::checkEndOdometer, this::recordCompletion);
+        allow(TripStatus.IN_TRANSIT, TripStatus.COMPLETED, this::checkEndOdometer, this::recordCompletion);
+        allow(TripStatus.DRAFT, TripStatus.CANCELLED, NO_GUARD, this::recordCancellation);
+        allow(TripStatus.DISPATCHED, TripStatus.CANCELLED, NO_GUARD, this::releaseAndCancel);
+        allow(TripStatus.IN_TRANSIT, TripStatus.CANCELLED, NO_GUARD, this::releaseAndCancel);
+
+        rejections.put(TripStatus.DISPATCHED, "Only DRAFT trips can be dispatched. Current status: %s");
+        rejections.put(TripStatus.IN_TRANSIT, "Only DISPATCHED trips can be marked as in-transit. Current status: %s");
+        rejections.put(TripStatus.COMPLETED, "Only DISPATCHED or IN_TRANSIT trips can be completed. Current status: %s");
+        rejections.put(TripStatus.CANCELLED, "Cannot cancel a trip that is already %s");
+    }
+
+    public boolean canTransition(TripStatus from, TripStatus to) {
+        return table.get(from).containsKey(to);
+    }
+
+    /**
+     * Move the trip to target, running the row's guard and effect.
+     * Throws BadRequestException (and changes nothing) if the transition is not allowed.
+     */
+    public void fire(Trip trip, TripStatus target, TransitionContext context) {
+        TripStatus current = trip.getStatus();
+        Transition transition = table.get(current).get(target);
+        if (transition == null) {
+            String rejection = rejections.getOrDefault(target, "Cannot move a trip from %s to " + target);
+            throw new BadRequestException(String.format(rejection, current));
+        }
+
+        transition.guard().accept(trip, context);
+        transition.effect().accept(trip, context);
+        trip.setStatus(target);
+
+        eventPublisher.publishEvent(new TripStatusChangedEvent(trip.getId(), current, target,
+                context.actor() != null ? context.actor().getId() : null, context.occurredAt()));
+    }
+
+    // ---- Internal helper methods ----
+
+    private void allow(TripStatus from, TripStatus to,
+                       BiConsumer<Trip, TransitionContext> guard, BiConsumer<Trip, TransitionContext> effect) {
+        table.get(from).put(to, new Transition(guard, effect));
+    }
+
+    private void checkDispatchable(Trip trip, TransitionContext context) {
+        Vehicle vehicle = trip.getVehicle();
+        Driver driver = trip.getDriver();
+        if (vehicle.getStatus() != VehicleStatus.AVAILABLE) {
+            throw new BadRequestException(Constants.VEHICLE_NOT_AVAILABLE + " (status: " + vehicle.getStatus() + ")");
+        }
+        if (!driver.isAvailableForDispatch()) {
+            throw new BadRequestException(Constants.DRIVER_NOT_AVAILABLE + " (status: " + driver.getStatus() + ")");
+        }
+    }
+
+    private void assignVehicleAndDriver(Trip trip, TransitionContext context) {
+        Vehicle vehicle = trip.getVehicle();
+        Driver driver = trip.getDriver();
+        VehicleStatus previousVehicleStatus = vehicle.getStatus();
+        DriverStatus previousDriverStatus = driver.getStatus();
+
+        vehicle.setStatus(VehicleStatus.ON_TRIP);
+        driver.setStatus(DriverStatus.ON_TRIP);
+        driver.setTotalTripsAssigned(driver.getTotalTripsAssigned() + 1);
+
+        trip.setDispatchedAt(context.occurredAt());
+        trip.setDispatchedBy(context.actor());
+
+        eventPublisher.publishEvent(new VehicleStatusChangedEvent(
+                vehicle.getId(), previousVehicleStatus, VehicleStatus.ON_TRIP));
+        eventPublisher.publishEvent(new DriverStatusChangedEvent(
+                driver.getId(), previousDriverStatus, DriverStatus.ON_TRIP));
+    }
+
+    private void checkEndOdometer(Trip trip, TransitionContext context) {
+        Vehicle vehicle = trip.getVehicle();
+        if (context.endOdometer() < vehicle.getOdometer()) {
+            throw new BadRequestException("End odometer (" + context.endOdometer() +
+                    ") cannot be less than current odometer (" + vehicle.getOdometer() + ")");
+        }
+    }
+
+    private void recordCompletion(Trip trip, TransitionContext context) {
+        double actualDistance = context.endOdometer() - trip.getStartOdometer();
+
+        trip.setEndOdometer(context.endOdometer());
+        trip.setActualDistance(actualDistance);
+        trip.setRevenue(context.revenue());
+        trip.setCompletedAt(context.occurredAt());
+
+        Driver driver = trip.getDriver();
+        driver.setTotalTripsCompleted(driver.getTotalTripsCompleted() + 1);
+        driverService.recalculateCompletionRate(driver);
+
+        trip.getVehicle().setOdometer(context.endOdometer());
+        releaseVehicleAndDriver(trip);
+
+        eventPublisher.publishEvent(new TripCompletedEvent(
+                trip.getId(), trip.getCompletedAt(), trip.getRevenue(), actualDistance));
+    }
+
+    private void releaseAndCancel(Trip trip, TransitionContext context) {
+        releaseVehicleAndDriver(trip);
+        recordCancellation(trip, context);
+    }
+
+    private void recordCancellation(Trip trip, TransitionContext context) {
+        trip.setCancelledAt(context.occurredAt());
+        trip.setCancellationReason(context.cancellationReason());
+    }
+
+    private void releaseVehicleAndDriver(Trip trip) {
+        Vehicle vehicle = trip.getVehicle();
+        Driver driver = trip.getDriver();
+        VehicleStatus previousVehicleStatus = vehicle.getStatus();
+        DriverStatus previousDriverStatus = driver.getStatus();
+
+        vehicle.setStatus(VehicleStatus.AVAILABLE);
+        driver.setStatus(DriverStatus.ON_DUTY);
+
+        eventPublisher.publishEvent(new VehicleStatusChangedEvent(
+                vehicle.getId(), previousVehicleStatus, VehicleStatus.AVAILABLE));
+        eventPublisher.publishEvent(new DriverStatusChangedEvent(
+                driver.getId(), previousDriverStatus, DriverStatus.ON_DUTY));
+    }
+
+    private record Transition(BiConsumer<Trip, TransitionContext> guard,
+                              BiConsumer<Trip, TransitionContext> effect) {
+    }
+
+    /**
+     * Who is moving the trip, when, and the inputs the effects need.
+     */
+    public record TransitionContext(
+            User actor,
+            LocalDateTime occurredAt,
+            Double endOdometer,
+            BigDecimal revenue,
+            String cancellationReason
+    ) {
+        public static TransitionContext by(User actor) {
+            return new TransitionContext(actor, LocalDateTime.now(), null, null, null);
+        }
+
+        public static TransitionContext completion(User actor, CompleteTripRequest request) {
+            return new TransitionContext(actor, LocalDateTime.now(),
+                    request.getEndOdometer(), request.getRevenue(), null);
+        }
+
+        public static TransitionContext cancellation(User actor, CancelTripRequest request) {
+            return new TransitionContext(actor, LocalDateTime.now(), null, null,
+                    request != null ? request.getCancellationReason() : null);
+        }
+    }
+}
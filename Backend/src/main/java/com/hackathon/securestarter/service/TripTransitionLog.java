@@ -0,0 +1,77 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.TripTransitionResponse;
+import com.hackathon.securestarter.entity.TripStatusTransition;
+import com.hackathon.securestarter.event.DomainEvent;
+import com.hackathon.securestarter.event.DomainEventSubscriber;
+import com.hackathon.securestarter.event.TripStatusChangedEvent;
+import com.hackathon.securestarter.exception.ResourceNotFoundException;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.TripStatusTransitionRepository;
+import com.hackathon.securestarter.util.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only trip transition log.
+ *
+ * Every TripStatusChangedEvent becomes one TripStatusTransition row. The event
+ * is stored in the outbox with the status change itself, and the row is
+ * inserted when the relay delivers it, in the relay's transaction together
+ * with the delivered mark. A transition is therefore logged exactly once if
+ * and only if it committed, and survives a restart between the two. The
+ * request thread does no extra work; the relay's batches are inserted with
+ * JDBC batching (see JpaConfig). History reads lag the live status by about
+ * one relay interval.
+ */
+@Service
+@RequiredArgsConstructor
+public class TripTransitionLog implements DomainEventSubscriber {
+
+    private final TripStatusTransitionRepository transitionRepository;
+    private final TripRepository tripRepository;
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof TripStatusChangedEvent statusChanged) {
+            transitionRepository.save(TripStatusTransition.builder()
+                    .tripId(statusChanged.tripId())
+                    .fromStatus(statusChanged.previousStatus())
+                    .toStatus(statusChanged.newStatus())
+                    .changedBy(statusChanged.changedBy())
+                    .occurredAt(statusChanged.occurredAt())
+                    .build());
+        }
+    }
+
+    /**
+     * Status history of one trip, oldest first, with the time spent in each status.
+     */
+    public List<TripTransitionResponse> getHistory(UUID tripId) {
+        List<TripStatusTransition> rows = transitionRepository.findByTripIdOrderByOccurredAtAsc(tripId);
+        if (rows.isEmpty() && !tripRepository.existsById(tripId)) {
+            throw new ResourceNotFoundException(Constants.TRIP_NOT_FOUND);
+        }
+
+        List<TripTransitionResponse> history = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            TripStatusTransition row = rows.get(i);
+            TripStatusTransition next = i + 1 < rows.size() ? rows.get(i + 1) : null;
+            history.add(TripTransitionResponse.builder()
+                    .fromStatus(row.getFromStatus())
+                    .toStatus(row.getToStatus())
+                    .changedBy(row.getChangedBy())
+                    .occurredAt(row.getOccurredAt())
+                    .secondsInStatus(next != null
+                            ? Duration.between(row.getOccurredAt(), next.getOccurredAt()).toSeconds()
+                            : null)
+                    .build());
+        }
+        return history;
+    }
+}
@@ -4,6 +4,7 @@ import com.hackathon.securestarter.dto.request.ChangePasswordRequest;
 import com.hackathon.securestarter.dto.request.UpdateProfileRequest;
 import com.hackathon.securestarter.dto.response.UserResponse;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.event.UserAccountChangedEvent;
 import com.hackathon.securestarter.exception.BadRequestException;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.UserRepository;
@@ -11,6 +12,7 @@ import com.hackathon.securestarter.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +27,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get user by ID
@@ -66,6 +69,7 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
         log.info("Profile updated for user: {}", user.getEmail());
 
         return mapToUserResponse(updatedUser);
@@ -91,10 +95,31 @@ public class UserService {
         // Update password
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
 
         log.info("Password changed for user: {}", user.getEmail());
     }
 
+    /**
+     * Deactivate a user account; the user's tokens stop working once the change commits
+     */
+    @Transactional
+    public void deactivateUser(UUID userId, User currentUser) {
+        if (userId.equals(currentUser.getId())) {
+            throw new BadRequestException("You cannot deactivate your own account");
+        }
+        User user = getUserById(userId);
+        if (!user.getIsActive()) {
+            throw new BadRequestException("Account is already deactivated");
+        }
+
+        user.setIsActive(false);
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
+
+        log.info("User {} deactivated by: {}", user.getEmail(), currentUser.getEmail());
+    }
+
     /**
      * Check if email exists
      */
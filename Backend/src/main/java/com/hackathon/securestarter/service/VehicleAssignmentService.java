@@ -0,0 +1,259 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.AssignmentProposalResponse;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.event.VehicleChangedEvent;
+import com.hackathon.securestarter.event.VehicleStatusChangedEvent;
+import com.hackathon.securestarter.exception.ResourceNotFoundException;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import com.hackathon.securestarter.util.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Capacity-based vehicle suggestions for trips.
+ *
+ * Keeps an in-memory index of AVAILABLE vehicles: one sorted set per
+ * VehicleType, ordered by maxLoadCapacity. The best fit for a cargo weight is
+ * the smallest vehicle that can still carry it, found with a ceiling lookup
+ * in O(log n) per type.
+ *
+ * The index follows the vehicle events the services publish after commit:
+ * a vehicle leaves it when its status moves away from AVAILABLE and is
+ * re-read from the database when it becomes AVAILABLE or is edited.
+ * A scheduled rebuild corrects anything missed, e.g. direct database edits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleAssignmentService {
+
+    private static final Comparator<IndexedVehicle> BY_CAPACITY =
+            Comparator.comparingDouble(IndexedVehicle::capacity).thenComparing(IndexedVehicle::id);
+
+    private final VehicleRepository vehicleRepository;
+    private final TripRepository tripRepository;
+
+    private final Map<VehicleType, NavigableSet<IndexedVehicle>> available = buildIndex();
+    private final Map<UUID, IndexedVehicle> availableById = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleStatusChanged(VehicleStatusChangedEvent event) {
+        if (event.newStatus() == VehicleStatus.AVAILABLE) {
+            refresh(event.vehicleId());
+        } else {
+            remove(event.vehicleId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        refresh(event.vehicleId());
+    }
+
+    /**
+     * Reload the index from the database. Entries are upserted and stale ones
+     * removed afterwards, so lookups never see a half-empty index.
+     */
+    @Scheduled(fixedDelayString = "${fleet.assignment-index.rebuild-interval-ms:300000}",
+            initialDelayString = "${fleet.assignment-index.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        List<Vehicle> vehicles = vehicleRepository.findByStatus(VehicleStatus.AVAILABLE);
+        Set<UUID> current = new HashSet<>();
+        for (Vehicle vehicle : vehicles) {
+            put(vehicle);
+            current.add(vehicle.getId());
+        }
+        new ArrayList<>(availableById.keySet()).stream()
+                .filter(id -> !current.contains(id))
+                .forEach(this::removeFromIndex);
+        log.debug("Vehicle assignment index rebuilt with {} available vehicles", vehicles.size());
+    }
+
+    /**
+     * Smallest AVAILABLE vehicle whose maxLoadCapacity covers the cargo,
+     * optionally restricted to one vehicle type.
+     */
+    public UUID findBestFit(double cargoWeight, VehicleType type) {
+        IndexedVehicle best = bestFit(available, cargoWeight, type);
+        if (best == null) {
+            throw new ResourceNotFoundException(Constants.NO_VEHICLE_FITS_CARGO);
+        }
+        return best.id();
+    }
+
+    /**
+     * Propose a vehicle for each DRAFT trip without using any vehicle twice.
+     * Trips are planned heaviest first, each taking the best fit that is left,
+     * so large cargo is not crowded out by small trips taking big vehicles.
+     * Nothing is changed; the dispatcher reviews and applies the proposals.
+     */
+    public AssignmentProposalResponse proposeAssignments(List<UUID> tripIds, VehicleType type) {
+        Set<UUID> requestedIds = new LinkedHashSet<>(tripIds);
+        Map<UUID, Trip> tripsById = tripRepository.findByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(Trip::getId, Function.identity()));
+
+        Map<VehicleType, NavigableSet<IndexedVehicle>> pool = new EnumMap<>(VehicleType.class);
+        available.forEach((vehicleType, vehicles) -> {
+            NavigableSet<IndexedVehicle> copy = new TreeSet<>(BY_CAPACITY);
+            copy.addAll(vehicles);
+            pool.put(vehicleType, copy);
+        });
+
+        Map<UUID, AssignmentProposalResponse.TripProposal> proposals = new HashMap<>();
+        List<Trip> drafts = new ArrayList<>();
+        for (UUID tripId : requestedIds) {
+            Trip trip = tripsById.get(tripId);
+            if (trip == null) {
+                proposals.put(tripId, unassigned(tripId, null, Constants.TRIP_NOT_FOUND));
+            } else if (trip.getStatus() != TripStatus.DRAFT) {
+                proposals.put(tripId, unassigned(tripId, trip,
+                        "Only DRAFT trips can be assigned. Current status: " + trip.getStatus()));
+            } else {
+                drafts.add(trip);
+            }
+        }
+
+        drafts.sort(Comparator.comparingDouble(Trip::getCargoWeight).reversed());
+        int proposed = 0;
+        for (Trip trip : drafts) {
+            IndexedVehicle vehicle = bestFit(pool, trip.getCargoWeight(), type);
+            if (vehicle == null) {
+                proposals.put(trip.getId(), unassigned(trip.getId(), trip, Constants.NO_VEHICLE_FITS_CARGO));
+                continue;
+            }
+            pool.get(vehicle.type()).remove(vehicle);
+            proposals.put(trip.getId(), proposal(trip, vehicle));
+            proposed++;
+        }
+
+        return AssignmentProposalResponse.builder()
+                .requested(requestedIds.size())
+                .proposed(proposed)
+                .proposals(requestedIds.stream().map(proposals::get).toList())
+                .build();
+    }
+
+    public int getIndexedVehicleCount() {
+        return availableById.size();
+    }
+
+    // ---- Internal helper methods ----
+
+    /**
+     * Re-read one vehicle and index it if it is AVAILABLE, otherwise drop it.
+     */
+    private synchronized void refresh(UUID vehicleId) {
+        removeFromIndex(vehicleId);
+        vehicleRepository.findById(vehicleId)
+                .filter(vehicle -> vehicle.getStatus() == VehicleStatus.AVAILABLE)
+                .ifPresent(this::put);
+    }
+
+    private synchronized void remove(UUID vehicleId) {
+        removeFromIndex(vehicleId);
+    }
+
+    private void removeFromIndex(UUID vehicleId) {
+        IndexedVehicle previous = availableById.remove(vehicleId);
+        if (previous != null) {
+            available.get(previous.type()).remove(previous);
+        }
+    }
+
+    private void put(Vehicle vehicle) {
+        removeFromIndex(vehicle.getId());
+        IndexedVehicle entry = new IndexedVehicle(vehicle.getId(), vehicle.getType(),
+                vehicle.getMaxLoadCapacity(), vehicle.getName(), vehicle.getLicensePlate());
+        availableById.put(entry.id(), entry);
+        available.get(entry.type()).add(entry);
+    }
+
+    /**
+     * Ceiling lookup by capacity in one type, or the tightest ceiling across all types.
+     */
+    private static IndexedVehicle bestFit(Map<VehicleType, NavigableSet<IndexedVehicle>> index,
+                                          double cargoWeight, VehicleType type) {
+        IndexedVehicle probe = new IndexedVehicle(new UUID(Long.MIN_VALUE, Long.MIN_VALUE), null,
+                cargoWeight, null, null);
+        if (type != null) {
+            return index.get(type).ceiling(probe);
+        }
+        IndexedVehicle best = null;
+        for (NavigableSet<IndexedVehicle> vehicles : index.values()) {
+            IndexedVehicle candidate = vehicles.ceiling(probe);
+            if (candidate != null && (best == null || BY_CAPACITY.compare(candidate, best) < 0)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static Map<VehicleType, NavigableSet<IndexedVehicle>> buildIndex() {
+        Map<VehicleType, NavigableSet<IndexedVehicle>> index = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            index.put(type, new ConcurrentSkipListSet<>(BY_CAPACITY));
+        }
+        return index;
+    }
+
+    private static AssignmentProposalResponse.TripProposal proposal(Trip trip, IndexedVehicle vehicle) {
+        return AssignmentProposalResponse.TripProposal.builder()
+                .tripId(trip.getId())
+                .tripNumber(trip.getTripNumber())
+                .cargoWeight(trip.getCargoWeight())
+                .currentVehicleId(trip.getVehicle().getId())
+                .proposedVehicleId(vehicle.id())
+                .proposedVehicleName(vehicle.name())
+                .proposedLicensePlate(vehicle.licensePlate())
+                .proposedVehicleType(vehicle.type())
+                .proposedCapacity(vehicle.capacity())
+                .capacitySlack(vehicle.capacity() - trip.getCargoWeight())
+                .build();
+    }
+
+    private static AssignmentProposalResponse.TripProposal unassigned(UUID tripId, Trip trip, String reason) {
+        return AssignmentProposalResponse.TripProposal.builder()
+                .tripId(tripId)
+                .tripNumber(trip != null ? trip.getTripNumber() : null)
+                .cargoWeight(trip != null ? trip.getCargoWeight() : null)
+                .currentVehicleId(trip != null ? trip.getVehicle().getId() : null)
+                .reason(reason)
+                .build();
+    }
+
+    private record IndexedVehicle(UUID id, VehicleType type, double capacity, String name, String licensePlate) {
+    }
+}
@@ -2,17 +2,22 @@ package com.hackathon.securestarter.service;
 
 import com.hackathon.securestarter.dto.request.CreateVehicleRequest;
 import com.hackathon.securestarter.dto.request.UpdateVehicleRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.VehicleResponse;
 import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.entity.Vehicle;
 import com.hackathon.securestarter.enums.VehicleStatus;
 import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.event.VehicleChangedEvent;
+import com.hackathon.securestarter.event.VehicleStatusChangedEvent;
 import com.hackathon.securestarter.exception.BadRequestException;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.VehicleRepository;
 import com.hackathon.securestarter.util.Constants;
+import com.hackathon.securestarter.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +31,7 @@ import java.util.stream.Collectors;
 public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public VehicleResponse createVehicle(CreateVehicleRequest request, User currentUser) {
@@ -46,6 +52,8 @@ public class VehicleService {
                 .build();
 
         Vehicle saved = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(saved.getId()));
+        eventPublisher.publishEvent(new VehicleStatusChangedEvent(saved.getId(), null, saved.getStatus()));
         log.info("Vehicle created: {} by user: {}", saved.getLicensePlate(), currentUser.getEmail());
         return mapToResponse(saved);
     }
@@ -61,11 +69,13 @@ public class VehicleService {
         if (request.getAcquisitionCost() != null) vehicle.setAcquisitionCost(request.getAcquisitionCost());
 
         Vehicle updated = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(updated.getId()));
         log.info("Vehicle updated: {} by user: {}", updated.getLicensePlate(), currentUser.getEmail());
         return mapToResponse(updated);
     }
 
     @Transactional
+    @RetryOnConflict
     public VehicleResponse updateVehicleStatus(UUID vehicleId, VehicleStatus newStatus, User currentUser) {
         Vehicle vehicle = getVehicleEntity(vehicleId);
         VehicleStatus oldStatus = vehicle.getStatus();
@@ -75,6 +85,10 @@ public class VehicleService {
 
         vehicle.setStatus(newStatus);
         Vehicle updated = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(updated.getId()));
+        if (oldStatus != newStatus) {
+            eventPublisher.publishEvent(new VehicleStatusChangedEvent(updated.getId(), oldStatus, newStatus));
+        }
         log.info("Vehicle {} status changed: {} → {} by user: {}",
                 updated.getLicensePlate(), oldStatus, newStatus, currentUser.getEmail());
         return mapToResponse(updated);
@@ -90,6 +104,18 @@ public class VehicleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of vehicles, newest first (see TripService.getTripsPage).
+     */
+    public CursorPageResponse<VehicleResponse> getVehiclesPage(VehicleStatus status, String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Vehicle> rows = after == null
+                ? vehicleRepository.findFirstPage(status, PageCursor.fetchLimit(pageSize))
+                : vehicleRepository.findPageAfter(status, after.createdAt(), after.id(), PageCursor.fetchLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, Vehicle::getCreatedAt, Vehicle::getId, this::mapToResponse);
+    }
+
     public List<VehicleResponse> getVehiclesByStatus(VehicleStatus status) {
         return vehicleRepository.findByStatus(status).stream()
                 .map(this::mapToResponse)
@@ -118,6 +144,8 @@ public class VehicleService {
             throw new BadRequestException("Cannot delete a vehicle that is currently on a trip");
         }
         vehicleRepository.delete(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(vehicleId));
+        eventPublisher.publishEvent(new VehicleStatusChangedEvent(vehicleId, vehicle.getStatus(), null));
         log.info("Vehicle deleted: {} by user: {}", vehicle.getLicensePlate(), currentUser.getEmail());
     }
 
@@ -19,6 +19,8 @@ public class Constants {
     public static final String EMPLOYEE_ID_ALREADY_EXISTS = "Employee ID already exists";
     public static final String INVALID_CREDENTIALS = "Invalid email or password";
     public static final String ACCOUNT_NOT_VERIFIED = "Account is not verified. Please check your email.";
+    public static final String TOO_MANY_LOGIN_ATTEMPTS = "Too many login attempts. Please try again later.";
+    public static final String LOGIN_BUSY = "Login service is busy. Please try again in a moment.";
     public static final String PASSWORD_MISMATCH = "Current password is incorrect";
     public static final String PASSWORD_CANNOT_BE_SAME_AS_OLD = "New password cannot be the same as the old password";
 
@@ -35,6 +37,14 @@ public class Constants {
     public static final String DRIVER_NOT_AVAILABLE = "Driver is not available for dispatch";
     public static final String DRIVER_LICENSE_EXPIRED = "Driver's license has expired";
     public static final String DRIVER_SUSPENDED = "Driver is currently suspended";
+    public static final String NO_VEHICLE_FITS_CARGO = "No available vehicle can carry this cargo weight";
+    public static final String BACKFILL_JOB_NOT_FOUND = "Backfill job not found";
+    public static final String BACKFILL_INVALID_RANGE = "Backfill start month must not be after end month";
+    public static final String INVALID_PAGE_CURSOR = "Invalid page cursor";
+    public static final String CONCURRENT_MODIFICATION = "This record was changed by another request. Please reload and try again.";
+    public static final String BACKFILL_RANGE_TOO_LARGE = "Backfill range exceeds the maximum number of months";
+    public static final String IMPORT_EMPTY_FILE = "CSV file is empty";
+    public static final String IMPORT_MISSING_COLUMNS = "CSV header is missing required columns";
 
     // Success Messages (used in Services)
     public static final String SIGNUP_SUCCESS = "Registration successful! Please check your email to verify your account.";
@@ -45,6 +55,9 @@ public class Constants {
     public static final String PASSWORD_CHANGE_SUCCESS = "Password changed successfully.";
     public static final String PROFILE_UPDATE_SUCCESS = "Profile updated successfully.";
 
+    // Export
+    public static final int EXPORT_CLEAR_INTERVAL = 500;
+
     private Constants() {
         // Private constructor to prevent instantiation
     }
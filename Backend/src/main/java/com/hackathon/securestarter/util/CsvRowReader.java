@@ -0,0 +1,126 @@
+package com.hackathon.securestarter.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records one at a time (RFC 4180: quoted fields may contain
+ * commas, doubled quotes and line breaks).
+ *
+ * Only the current record is held in memory, so arbitrarily large uploads can
+ * be processed as they arrive. getLineNumber() is the physical line on which
+ * the last returned record started, for error reporting.
+ */
+public class CsvRowReader implements Closeable {
+
+    private final Reader reader;
+    private long currentLine = 1;
+    private long recordLine;
+    private int pushback = -2;
+
+    public CsvRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Next record's fields, or null at end of input. Blank lines are skipped.
+     */
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inRecord = false;
+        recordLine = currentLine;
+
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    if (c == '\n') {
+                        currentLine++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    quoted = true;
+                    inRecord = true;
+                }
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    inRecord = true;
+                }
+                case '\r' -> {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                    currentLine++;
+                    if (inRecord || field.length() > 0) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    recordLine = currentLine;
+                }
+                case '\n' -> {
+                    currentLine++;
+                    if (inRecord || field.length() > 0) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    recordLine = currentLine;
+                }
+                default -> {
+                    field.append((char) c);
+                    inRecord = true;
+                }
+            }
+        }
+
+        if (inRecord || field.length() > 0) {
+            fields.add(field.toString());
+            return fields;
+        }
+        return null;
+    }
+
+    public long getLineNumber() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // ---- Internal helper methods ----
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
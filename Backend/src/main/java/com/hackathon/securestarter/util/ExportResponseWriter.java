@@ -0,0 +1,150 @@
+package com.hackathon.securestarter.util;
+
+import com.hackathon.securestarter.enums.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import tools.jackson.databind.jsonFormatVisitors.JsonObjectFormatVisitor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Writes export rows straight to the servlet output stream as CSV or NDJSON.
+ *
+ * The producer pushes one row at a time into the sink, so nothing is buffered
+ * beyond the writer's own buffer. CSV columns are the JSON property names of
+ * the row type, so exports carry the same fields as the regular API responses,
+ * and the header line is written even when there are no rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportResponseWriter {
+
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final JsonMapper jsonMapper;
+    private final Map<Class<?>, List<String>> columnsByType = new ConcurrentHashMap<>();
+
+    public <T> void write(HttpServletResponse response, ExportFormat format, String baseName,
+                          Class<T> rowType, Consumer<Consumer<T>> producer) throws IOException {
+        String extension = format == ExportFormat.CSV ? "csv" : "ndjson";
+        response.setContentType(format == ExportFormat.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + baseName + "-" + LocalDate.now() + "." + extension + "\"");
+
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        List<String> columns = null;
+        if (format == ExportFormat.CSV) {
+            columns = columnsByType.computeIfAbsent(rowType, this::columnsOf);
+            writeCsvLine(writer, columns);
+            writer.write('\n');
+        }
+        RowSink<T> sink = new RowSink<>(writer, format, columns);
+        try {
+            producer.accept(sink);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * JSON property names of the type, in serialization order.
+     */
+    private List<String> columnsOf(Class<?> rowType) {
+        List<String> columns = new ArrayList<>();
+        jsonMapper.acceptJsonFormatVisitor(rowType, new JsonFormatVisitorWrapper.Base() {
+            @Override
+            public JsonObjectFormatVisitor expectObjectFormat(JavaType type) {
+                return new JsonObjectFormatVisitor.Base() {
+                    @Override
+                    public void property(BeanProperty property) {
+                        columns.add(property.getName());
+                    }
+
+                    @Override
+                    public void optionalProperty(BeanProperty property) {
+                        columns.add(property.getName());
+                    }
+                };
+            }
+        });
+        return List.copyOf(columns);
+    }
+
+    private final class RowSink<T> implements Consumer<T> {
+
+        private final Writer writer;
+        private final ExportFormat format;
+        private final List<String> columns;
+        private long rows;
+
+        private RowSink(Writer writer, ExportFormat format, List<String> columns) {
+            this.writer = writer;
+            this.format = format;
+            this.columns = columns;
+        }
+
+        @Override
+        public void accept(T row) {
+            try {
+                if (format == ExportFormat.NDJSON) {
+                    writer.write(jsonMapper.writeValueAsString(row));
+                } else {
+                    writeCsvRow(jsonMapper.valueToTree(row));
+                }
+                writer.write('\n');
+                if (++rows % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void writeCsvRow(JsonNode node) throws IOException {
+            List<String> values = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                JsonNode value = node.get(column);
+                values.add(value == null || value.isNull() ? "" : value.asString());
+            }
+            writeCsvLine(writer, values);
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,100 @@
+package com.hackathon.securestarter.util;
+
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
+import com.hackathon.securestarter.exception.BadRequestException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset position for list endpoints ordered by (created_at DESC, id DESC).
+ *
+ * The cursor is the (createdAt, id) of the last row on the previous page,
+ * Base64url-encoded so clients treat it as opaque. The next page is read with
+ * a range predicate on the same tuple, so its cost does not depend on depth.
+ */
+public record PageCursor(LocalDateTime createdAt, UUID id) {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a client-supplied cursor; null or blank means "first page".
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split < 0) {
+                throw new BadRequestException(Constants.INVALID_PAGE_CURSOR);
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, split)),
+                    UUID.fromString(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException(Constants.INVALID_PAGE_CURSOR);
+        }
+    }
+
+    /**
+     * Requested page size clamped to 1..MAX_PAGE_SIZE.
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Limit for the page query: one extra row tells us whether another page exists.
+     */
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Build the response page from rows fetched with fetchLimit(pageSize).
+     */
+    public static <E, R> CursorPageResponse<R> toPage(List<E> rows, int pageSize,
+                                                      Function<E, LocalDateTime> createdAt,
+                                                      Function<E, UUID> id,
+                                                      Function<E, R> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<R> items = new ArrayList<>(pageRows.size());
+        for (E row : pageRows) {
+            items.add(mapper.apply(row));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            E last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new PageCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+
+        return CursorPageResponse.<R>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.hackathon.securestarter.benchmark;
+
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.security.AuthenticatedUserCache;
+import com.hackathon.securestarter.security.CustomUserDetailsService;
+import com.hackathon.securestarter.security.JwtAuthenticationFilter;
+import com.hackathon.securestarter.security.JwtService;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Per-request authentication cost in JwtAuthenticationFilter, from the Authorization
+ * header to an authenticated SecurityContext, with a no-op chain:
+ * - legacyFilter: the filter before the change (two verifications, a new parser each,
+ *   then a user load by email);
+ * - databaseSource: principal-source=database, one cached verification plus a load by email;
+ * - claimsSource: the default, one cached verification plus an AuthenticatedUserCache hit;
+ * - claimsSourceUncachedToken: the default with the verified-token cache off.
+ *
+ * The user repository is a stub, so the query that legacyFilter and databaseSource pay
+ * on every request in production is not included; the numbers are the CPU cost alone.
+ *
+ * Not part of the regular test run (the class name does not match the Surefire patterns).
+ * Run with: mvn test -Dtest=JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private final FilterChain chain = (request, response) -> { };
+
+    private SecretKey key;
+    private CustomUserDetailsService userDetailsService;
+    private JwtAuthenticationFilter databaseFilter;
+    private JwtAuthenticationFilter claimsFilter;
+    private JwtAuthenticationFilter claimsFilterUncachedToken;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("dispatcher@fleetflow.test")
+                .employeeId("EMP-1")
+                .role(Role.DISPATCHER)
+                .isVerified(true)
+                .build();
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(userRepository.findById(any())).thenReturn(Optional.of(user));
+
+        key = Keys.hmacShaKeyFor(JwtServiceBenchmark.SECRET.getBytes(StandardCharsets.UTF_8));
+        userDetailsService = new CustomUserDetailsService(userRepository);
+        JwtService cachedTokens = JwtServiceBenchmark.jwtService(1024);
+        JwtService uncachedTokens = JwtServiceBenchmark.jwtService(0);
+        AuthenticatedUserCache userCache = new AuthenticatedUserCache(userRepository, 10_000, 300);
+
+        databaseFilter = filter(cachedTokens, userCache, "database");
+        claimsFilter = filter(cachedTokens, userCache, "claims");
+        claimsFilterUncachedToken = filter(uncachedTokens, userCache, "claims");
+        authorization = "Bearer " + cachedTokens.generateToken(user);
+    }
+
+    /**
+     * JwtAuthenticationFilter.doFilterInternal as it was before the change.
+     */
+    @Benchmark
+    public Authentication legacyFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = request();
+        String jwt = request.getHeader(HttpHeaders.AUTHORIZATION).substring(7);
+        JwtServiceBenchmark.legacyParse(key, jwt);
+        String email = JwtServiceBenchmark.legacyParse(key, jwt).getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        chain.doFilter(request, new MockHttpServletResponse());
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Authentication databaseSource() throws ServletException, IOException {
+        return authenticate(databaseFilter);
+    }
+
+    @Benchmark
+    public Authentication claimsSource() throws ServletException, IOException {
+        return authenticate(claimsFilter);
+    }
+
+    @Benchmark
+    public Authentication claimsSourceUncachedToken() throws ServletException, IOException {
+        return authenticate(claimsFilterUncachedToken);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder().include(getClass().getName()).build()).run();
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter) throws ServletException, IOException {
+        // A new request each time: OncePerRequestFilter skips requests it has already seen
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+        return takeAuthentication();
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/trips");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        return request;
+    }
+
+    private static Authentication takeAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new IllegalStateException("Request was not authenticated");
+        }
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private JwtAuthenticationFilter filter(JwtService jwtService, AuthenticatedUserCache userCache, String source) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService, userCache);
+        ReflectionTestUtils.setField(filter, "principalSource", source);
+        return filter;
+    }
+}
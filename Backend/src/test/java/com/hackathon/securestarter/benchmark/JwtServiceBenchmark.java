@@ -0,0 +1,121 @@
+package com.hackathon.securestarter.benchmark;
+
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request's JWT:
+ * - legacyValidateThenExtract: the code before the change, which built a new
+ *   parser for each call and verified the token twice (validate, then extract);
+ * - sharedParserValidateThenExtract: the same two verifications on the shared parser;
+ * - singleVerification: validateAndExtract without the verified-token cache;
+ * - cacheHit: validateAndExtract answered from the verified-token cache.
+ *
+ * See JwtAuthenticationFilterBenchmark for the whole per-request cost in the filter.
+ *
+ * Not part of the regular test run (the class name does not match the Surefire patterns).
+ * Run with: mvn test -Dtest=JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123456789";
+
+    private JwtService uncached;
+    private JwtService cached;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = jwtService(0);
+        cached = jwtService(1024);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = cached.generateToken(User.builder()
+                .id(UUID.randomUUID())
+                .email("dispatcher@fleetflow.test")
+                .employeeId("EMP-1")
+                .role(Role.DISPATCHER)
+                .isVerified(true)
+                .build());
+        cached.validateAndExtract(token);
+    }
+
+    /**
+     * Before the change: validateToken and getEmailFromToken each built a parser and verified.
+     */
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        legacyParse(key, token);
+        return legacyParse(key, token).getSubject();
+    }
+
+    @Benchmark
+    public String sharedParserValidateThenExtract() {
+        return uncached.validateToken(token) ? uncached.getEmailFromToken(token) : null;
+    }
+
+    @Benchmark
+    public Claims singleVerification() {
+        return uncached.validateAndExtract(token);
+    }
+
+    @Benchmark
+    public Claims cacheHit() {
+        return cached.validateAndExtract(token);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder().include(getClass().getName()).build()).run();
+    }
+
+    /**
+     * JwtService.parseToken as it was before the shared parser.
+     */
+    static Claims legacyParse(SecretKey key, String token) {
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    static JwtService jwtService(int cacheSize) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", cacheSize);
+        jwtService.init();
+        return jwtService;
+    }
+}
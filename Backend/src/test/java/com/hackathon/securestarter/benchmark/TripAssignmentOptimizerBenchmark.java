@@ -0,0 +1,109 @@
+package com.hackathon.securestarter.benchmark;
+
+import com.hackathon.securestarter.dto.response.OptimizedAssignmentResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import com.hackathon.securestarter.service.AnalyticsService;
+import com.hackathon.securestarter.service.TripAssignmentOptimizer;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Planning time of TripAssignmentOptimizer for n DRAFT trips, n vehicles and n drivers,
+ * with the repositories stubbed so only the matching is measured.
+ *
+ * Not part of the regular test run (the class name does not match the Surefire patterns).
+ * Run with: mvn test -Dtest=TripAssignmentOptimizerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripAssignmentOptimizerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private TripAssignmentOptimizer optimizer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        List<Trip> trips = new ArrayList<>(size);
+        List<Vehicle> vehicles = new ArrayList<>(size);
+        List<Driver> drivers = new ArrayList<>(size);
+        Map<UUID, BigDecimal> costPerKm = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            trips.add(Trip.builder().id(UUID.randomUUID()).tripNumber((long) i)
+                    .cargoWeight(100.0 + random.nextInt(20_000)).build());
+            Vehicle vehicle = Vehicle.builder().id(UUID.randomUUID()).licensePlate("B-" + i)
+                    .maxLoadCapacity(500.0 + random.nextInt(20_000)).build();
+            vehicles.add(vehicle);
+            costPerKm.put(vehicle.getId(), BigDecimal.valueOf(random.nextInt(500), 2));
+            drivers.add(Driver.builder().id(UUID.randomUUID()).name("Driver " + i)
+                    .safetyScore(50.0 + random.nextInt(51)).completionRate(50.0 + random.nextInt(51)).build());
+        }
+
+        TripRepository tripRepository = mock(TripRepository.class, withSettings().stubOnly());
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class, withSettings().stubOnly());
+        DriverRepository driverRepository = mock(DriverRepository.class, withSettings().stubOnly());
+        AnalyticsService analyticsService = mock(AnalyticsService.class, withSettings().stubOnly());
+        when(tripRepository.findByStatus(TripStatus.DRAFT)).thenReturn(trips);
+        when(vehicleRepository.findByStatus(VehicleStatus.AVAILABLE)).thenReturn(vehicles);
+        when(driverRepository.findAvailableDrivers(any())).thenReturn(drivers);
+        when(analyticsService.getCostPerKmByVehicle(anyList())).thenReturn(costPerKm);
+
+        optimizer = new TripAssignmentOptimizer(tripRepository, vehicleRepository, driverRepository, analyticsService);
+        ReflectionTestUtils.setField(optimizer, "slackWeight", 1.0);
+        ReflectionTestUtils.setField(optimizer, "costPerKmWeight", 10.0);
+        ReflectionTestUtils.setField(optimizer, "safetyWeight", 5.0);
+        ReflectionTestUtils.setField(optimizer, "completionWeight", 2.0);
+    }
+
+    @Benchmark
+    public OptimizedAssignmentResponse optimizePendingTrips() {
+        return optimizer.optimizePendingTrips(null);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder().include(getClass().getName()).build()).run();
+    }
+}
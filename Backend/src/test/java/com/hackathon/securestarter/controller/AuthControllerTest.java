@@ -0,0 +1,135 @@
+package com.hackathon.securestarter.controller;
+
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.security.LoginAdmissionControl;
+import com.hackathon.securestarter.util.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login throttling as the client sees it: 429 with a Retry-After header.
+ */
+@SpringBootTest(properties = {
+        "auth.login.max-attempts-per-account=3",
+        "auth.password-hash.threads=1",
+        "auth.password-hash.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private LoginAdmissionControl loginAdmissionControl;
+    @Autowired @Qualifier("passwordHashExecutor") private ThreadPoolTaskExecutor hashExecutor;
+
+    @MockitoBean private AuthenticationManager authenticationManager;
+
+    @Test
+    void fullAccountWindowAnswers429WithRetryAfter() throws Exception {
+        String email = createUser("throttled").getEmail();
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(login(email)).andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(login(email))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "300"))
+                .andExpect(jsonPath("$.message").value(Constants.TOO_MANY_LOGIN_ATTEMPTS));
+    }
+
+    @Test
+    void unknownEmailsGetNoAccountWindow() throws Exception {
+        long trackedBefore = loginAdmissionControl.getStats().getTrackedAccounts();
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(login("nobody-" + UUID.randomUUID() + "@fleetflow.test"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        assertThat(loginAdmissionControl.getStats().getTrackedAccounts()).isEqualTo(trackedBefore);
+    }
+
+    @Test
+    void fullHashQueueAnswers429WithRetryAfter() throws Exception {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            emails.add(createUser("busy").getEmail());
+        }
+        CountDownLatch release = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        // Occupy the single hash thread and the single queue slot
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        try {
+            inFlight.add(performAsync(login(emails.get(0))));
+            await().atMost(Duration.ofSeconds(5)).until(() -> hashExecutor.getActiveCount() == 1);
+            inFlight.add(performAsync(login(emails.get(1))));
+            await().atMost(Duration.ofSeconds(5)).until(() -> hashExecutor.getQueueSize() == 1);
+
+            mockMvc.perform(login(emails.get(2)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.message").value(Constants.LOGIN_BUSY));
+        } finally {
+            release.countDown();
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    }
+
+    // ---- Internal helper methods ----
+
+    private User createUser(String prefix) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder().name("Dispatcher").email(prefix + "-" + run + "@fleetflow.test")
+                .passwordHash("x").employeeId(prefix.toUpperCase() + "-" + run).role(Role.DISPATCHER).build());
+    }
+
+    private static MockHttpServletRequestBuilder login(String email) {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"secret\"}");
+    }
+
+    private CompletableFuture<Void> performAsync(MockHttpServletRequestBuilder request) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                mockMvc.perform(request);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
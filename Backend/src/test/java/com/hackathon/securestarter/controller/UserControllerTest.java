@@ -0,0 +1,123 @@
+package com.hackathon.securestarter.controller;
+
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request authentication reads users through AuthenticatedUserCache, so every
+ * account change must evict the user before the next request sees it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTest {
+
+    private static final String PASSWORD = "Secret#123";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtService jwtService;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    @Test
+    void deactivatedUsersTokenIsRejectedOnceDeactivationCommits() throws Exception {
+        User manager = createUser(Role.FLEET_MANAGER);
+        User dispatcher = createUser(Role.DISPATCHER);
+        // Cache the dispatcher as active
+        mockMvc.perform(as(dispatcher, get("/api/users/me"))).andExpect(status().isOk());
+
+        mockMvc.perform(as(manager, patch("/api/users/{id}/deactivate", dispatcher.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(as(dispatcher, get("/api/users/me"))).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void onlyFleetManagersCanDeactivate() throws Exception {
+        User dispatcher = createUser(Role.DISPATCHER);
+        User other = createUser(Role.DISPATCHER);
+
+        mockMvc.perform(as(dispatcher, patch("/api/users/{id}/deactivate", other.getId())))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(as(other, get("/api/users/me"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void managerCannotDeactivateThemselves() throws Exception {
+        User manager = createUser(Role.FLEET_MANAGER);
+
+        mockMvc.perform(as(manager, patch("/api/users/{id}/deactivate", manager.getId())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void profileUpdateEvictsTheCachedUser() throws Exception {
+        User user = createUser(Role.DISPATCHER);
+        mockMvc.perform(as(user, get("/api/users/me"))).andExpect(status().isOk());
+
+        mockMvc.perform(as(user, put("/api/users/update-profile"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+
+        assertReloadedOnNextRequest(user);
+    }
+
+    @Test
+    void passwordChangeEvictsTheCachedUser() throws Exception {
+        User user = createUser(Role.DISPATCHER);
+        mockMvc.perform(as(user, get("/api/users/me"))).andExpect(status().isOk());
+
+        mockMvc.perform(as(user, post("/api/users/change-password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"" + PASSWORD + "\",\"newPassword\":\"Changed#456\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Password changed successfully"));
+
+        assertReloadedOnNextRequest(user);
+    }
+
+    // ---- Internal helper methods ----
+
+    /**
+     * Deactivate the user behind the cache's back (no event): only a request that
+     * reloads the user from the database sees it.
+     */
+    private void assertReloadedOnNextRequest(User user) throws Exception {
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setIsActive(false);
+        userRepository.save(stored);
+
+        mockMvc.perform(as(user, get("/api/users/me"))).andExpect(status().isUnauthorized());
+    }
+
+    private User createUser(Role role) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder().name("User").email("user-" + run + "@fleetflow.test")
+                .passwordHash(passwordEncoder.encode(PASSWORD)).employeeId("USR-" + run).role(role)
+                .isVerified(true).build());
+    }
+
+    private MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user));
+    }
+}
@@ -0,0 +1,110 @@
+package com.hackathon.securestarter.security;
+
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.event.UserAccountChangedEvent;
+import com.hackathon.securestarter.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticatedUserCacheTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findById(any())).thenAnswer(invocation ->
+                Optional.of(User.builder().id(invocation.getArgument(0)).email("cached@fleetflow.test").build()));
+    }
+
+    @Test
+    void freshEntryIsServedFromMemory() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(userRepository, 100, 300);
+
+        User first = cache.get(userId);
+        User second = cache.get(userId);
+
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findById(userId);
+    }
+
+    @Test
+    void entryIsReloadedAfterTheTtl() throws InterruptedException {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(userRepository, 100, 1);
+        cache.get(userId);
+        cache.get(userId);
+        verify(userRepository, times(1)).findById(userId);
+
+        Thread.sleep(1100);
+        cache.get(userId);
+
+        verify(userRepository, times(2)).findById(userId);
+    }
+
+    @Test
+    void accountChangeEvictsTheEntry() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(userRepository, 100, 300);
+        cache.get(userId);
+
+        cache.onUserAccountChanged(new UserAccountChangedEvent(userId));
+        cache.get(userId);
+
+        verify(userRepository, times(2)).findById(userId);
+    }
+
+    @Test
+    void loadOverlappingAnEvictionIsNotCached() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(userRepository, 100, 300);
+        User stale = User.builder().id(userId).email("stale@fleetflow.test").build();
+        when(userRepository.findById(userId)).thenAnswer(invocation -> {
+            // The account changes and commits while this load is reading the old row
+            cache.evict(userId);
+            return Optional.of(stale);
+        }).thenReturn(Optional.of(User.builder().id(userId).email("fresh@fleetflow.test").build()));
+
+        assertThat(cache.get(userId)).isSameAs(stale);
+
+        assertThat(cache.get(userId).getEmail()).isEqualTo("fresh@fleetflow.test");
+        verify(userRepository, times(2)).findById(userId);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsDroppedPastMaxSize() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(userRepository, 2, 300);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        cache.get(a);
+        cache.get(b);
+        cache.get(a);
+        cache.get(c);
+
+        cache.get(a);
+        cache.get(b);
+
+        verify(userRepository, times(1)).findById(a);
+        verify(userRepository, times(2)).findById(b);
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(userRepository, 100, 300);
+
+        assertThat(cache.get(userId)).isNull();
+        assertThat(cache.get(userId)).isNull();
+
+        verify(userRepository, times(2)).findById(userId);
+    }
+}
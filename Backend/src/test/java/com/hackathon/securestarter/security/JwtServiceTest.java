@@ -0,0 +1,100 @@
+package com.hackathon.securestarter.security;
+
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.Role;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123456789";
+
+    @Test
+    void cachedTokenIsAnsweredWithTheSameClaims() {
+        JwtService jwtService = jwtService(60_000, 16);
+        User user = user();
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.validateAndExtract(token);
+        Claims second = jwtService.validateAndExtract(token);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isSameAs(first);
+        assertThat(second.getSubject()).isEqualTo(user.getEmail());
+        assertThat(second.get("userId", String.class)).isEqualTo(user.getId().toString());
+    }
+
+    @Test
+    void cacheHitStillRejectsAnExpiredToken() throws InterruptedException {
+        JwtService jwtService = jwtService(1_000, 16);
+        String token = jwtService.generateToken(user());
+        assertThat(jwtService.validateAndExtract(token)).isNotNull();
+
+        // exp has one-second resolution; wait until it has certainly passed
+        Thread.sleep(2_100);
+
+        assertThat(jwtService.validateAndExtract(token)).isNull();
+        assertThat(jwtService.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void tamperedTokenMissesTheCache() {
+        JwtService jwtService = jwtService(60_000, 16);
+        String token = jwtService.generateToken(user());
+        assertThat(jwtService.validateAndExtract(token)).isNotNull();
+
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String elevated = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                payload.replace(Role.DISPATCHER.name(), Role.FLEET_MANAGER.name()).getBytes(StandardCharsets.UTF_8));
+        String forgedPayload = parts[0] + "." + elevated + "." + parts[2];
+
+        int middle = parts[2].length() / 2;
+        char flipped = parts[2].charAt(middle) == 'A' ? 'B' : 'A';
+        String forgedSignature = parts[0] + "." + parts[1] + "."
+                + parts[2].substring(0, middle) + flipped + parts[2].substring(middle + 1);
+
+        assertThat(jwtService.validateAndExtract(forgedPayload)).isNull();
+        assertThat(jwtService.validateAndExtract(forgedSignature)).isNull();
+        assertThat(jwtService.validateAndExtract(token)).isNotNull();
+    }
+
+    @Test
+    void disabledCacheVerifiesEveryTime() {
+        JwtService jwtService = jwtService(60_000, 0);
+        String token = jwtService.generateToken(user());
+
+        Claims first = jwtService.validateAndExtract(token);
+        Claims second = jwtService.validateAndExtract(token);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull().isNotSameAs(first);
+    }
+
+    static JwtService jwtService(long expirationMs, int cacheSize) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", cacheSize);
+        jwtService.init();
+        return jwtService;
+    }
+
+    static User user() {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .name("Dispatcher")
+                .email("dispatcher@fleetflow.test")
+                .employeeId("EMP-1")
+                .role(Role.DISPATCHER)
+                .isVerified(true)
+                .build();
+    }
+}
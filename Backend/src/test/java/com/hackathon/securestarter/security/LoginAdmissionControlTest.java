@@ -0,0 +1,146 @@
+package com.hackathon.securestarter.security;
+
+import com.hackathon.securestarter.exception.TooManyRequestsException;
+import com.hackathon.securestarter.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoginAdmissionControlTest {
+
+    private AuthenticationManager authenticationManager;
+    private ThreadPoolTaskExecutor hashExecutor;
+    private LoginAdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        authenticationManager = mock(AuthenticationManager.class);
+        hashExecutor = new ThreadPoolTaskExecutor();
+        hashExecutor.setCorePoolSize(1);
+        hashExecutor.setMaxPoolSize(1);
+        hashExecutor.setQueueCapacity(1);
+        hashExecutor.initialize();
+
+        admissionControl = new LoginAdmissionControl(authenticationManager, hashExecutor);
+        ReflectionTestUtils.setField(admissionControl, "maxAttemptsPerAccount", 3);
+        ReflectionTestUtils.setField(admissionControl, "maxAttemptsPerIp", 0);
+        ReflectionTestUtils.setField(admissionControl, "windowSeconds", 300L);
+        ReflectionTestUtils.setField(admissionControl, "queueCapacity", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashExecutor.shutdown();
+    }
+
+    @Test
+    void fullAccountWindowIsThrottledUntilItsOldestAttemptExpires() {
+        for (int i = 0; i < 3; i++) {
+            admissionControl.admitAccount("a@fleetflow.test");
+        }
+
+        assertThatThrownBy(() -> admissionControl.admitAccount("a@fleetflow.test"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class, e -> {
+                    assertThat(e.getMessage()).isEqualTo(Constants.TOO_MANY_LOGIN_ATTEMPTS);
+                    assertThat(e.getRetryAfterSeconds()).isBetween(299L, 300L);
+                });
+        assertThatCode(() -> admissionControl.admitAccount("b@fleetflow.test")).doesNotThrowAnyException();
+
+        // A successful login forgets the account's attempts
+        admissionControl.recordSuccess("a@fleetflow.test");
+        assertThatCode(() -> admissionControl.admitAccount("a@fleetflow.test")).doesNotThrowAnyException();
+        assertThat(admissionControl.getStats().getThrottledByAccount()).isEqualTo(1);
+    }
+
+    @Test
+    void windowSlidesOnceTheOldestAttemptIsOlderThanTheWindow() {
+        ReflectionTestUtils.setField(admissionControl, "windowSeconds", 1L);
+        ReflectionTestUtils.setField(admissionControl, "maxAttemptsPerAccount", 2);
+        admissionControl.admitAccount("a@fleetflow.test");
+        admissionControl.admitAccount("a@fleetflow.test");
+
+        assertThatThrownBy(() -> admissionControl.admitAccount("a@fleetflow.test"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+
+        // Rejected attempts take no slot, so the window reopens one window after the first attempt
+        await().atMost(Duration.ofSeconds(3)).pollInterval(Duration.ofMillis(50)).untilAsserted(() ->
+                assertThatCode(() -> admissionControl.admitAccount("a@fleetflow.test"))
+                        .doesNotThrowAnyException());
+    }
+
+    @Test
+    void ipWindowIsOffByDefault() {
+        for (int i = 0; i < 50; i++) {
+            admissionControl.admitClient("10.0.0.1");
+        }
+
+        assertThat(admissionControl.getStats().getTrackedIps()).isZero();
+        assertThat(admissionControl.getStats().getThrottledByIp()).isZero();
+    }
+
+    @Test
+    void enabledIpWindowThrottlesTheClient() {
+        ReflectionTestUtils.setField(admissionControl, "maxAttemptsPerIp", 2);
+        admissionControl.admitClient("10.0.0.1");
+        admissionControl.admitClient("10.0.0.1");
+
+        assertThatThrownBy(() -> admissionControl.admitClient("10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> admissionControl.admitClient("10.0.0.2")).doesNotThrowAnyException();
+        assertThat(admissionControl.getStats().getThrottledByIp()).isEqualTo(1);
+    }
+
+    @Test
+    void fullHashQueueRejectsAtOnceWithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Authentication authenticated = new UsernamePasswordAuthenticationToken("a@fleetflow.test", null, List.of());
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return authenticated;
+        });
+
+        // One check runs on the single hash thread, the next waits in the one queue slot
+        List<CompletableFuture<Authentication>> inFlight = new ArrayList<>();
+        inFlight.add(CompletableFuture.supplyAsync(() -> admissionControl.authenticate("a@fleetflow.test", "pw")));
+        await().atMost(Duration.ofSeconds(5)).until(() -> hashExecutor.getActiveCount() == 1);
+        inFlight.add(CompletableFuture.supplyAsync(() -> admissionControl.authenticate("a@fleetflow.test", "pw")));
+        await().atMost(Duration.ofSeconds(5)).until(() -> hashExecutor.getQueueSize() == 1);
+
+        try {
+            assertThatThrownBy(() -> admissionControl.authenticate("a@fleetflow.test", "pw"))
+                    .isInstanceOfSatisfying(TooManyRequestsException.class, e -> {
+                        assertThat(e.getMessage()).isEqualTo(Constants.LOGIN_BUSY);
+                        assertThat(e.getRetryAfterSeconds()).isEqualTo(1);
+                    });
+        } finally {
+            release.countDown();
+        }
+
+        for (CompletableFuture<Authentication> login : inFlight) {
+            assertThat(login.get(5, TimeUnit.SECONDS)).isSameAs(authenticated);
+        }
+        assertThat(admissionControl.getStats().getRejectedQueueFull()).isEqualTo(1);
+        assertThat(admissionControl.getStats().getVerifications()).isEqualTo(2);
+    }
+}
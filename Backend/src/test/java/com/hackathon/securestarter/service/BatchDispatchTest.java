@@ -0,0 +1,153 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.BatchDispatchResponse;
+import com.hackathon.securestarter.dto.response.BatchDispatchResponse.TripResult;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.DriverStatus;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import com.hackathon.securestarter.support.SqlStatementCounter;
+import com.hackathon.securestarter.util.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch dispatch validates every trip against the batch's own earlier claims and
+ * flushes the survivors in JDBC batches, so the statement count does not grow with the batch.
+ */
+@SpringBootTest(properties = "outbox.relay.interval-ms=3600000")
+class BatchDispatchTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private DriverRepository driverRepository;
+    @Autowired private TripRepository tripRepository;
+
+    @Autowired private TripService tripService;
+
+    private String run;
+    private User dispatcher;
+    private long nextTripNumber;
+    private int nextParent;
+
+    @BeforeEach
+    void createDispatcher() {
+        run = UUID.randomUUID().toString().substring(0, 8);
+        dispatcher = userRepository.save(User.builder().name("Dispatcher").email("batch-" + run + "@fleetflow.test")
+                .passwordHash("x").employeeId("BAT-" + run).role(Role.DISPATCHER).build());
+        nextTripNumber = Math.abs(UUID.randomUUID().getMostSignificantBits() % 1_000_000_000L) * 10_000;
+    }
+
+    @Test
+    void batchIsFiveStatementsHoweverManyTripsItDispatches() {
+        // One select for trips with vehicles and drivers, one batched outbox insert,
+        // one batched update each for trips, vehicles and drivers
+        assertThat(dispatchedStatementCount(3)).isEqualTo(5);
+        assertThat(dispatchedStatementCount(30)).isEqualTo(5);
+    }
+
+    @Test
+    void failingTripsAreReportedAndTheRestAreDispatched() {
+        Vehicle sharedVehicle = vehicle();
+        Driver sharedDriver = driver();
+        Vehicle freeVehicle = vehicle();
+        Driver freeDriver = driver();
+        Trip first = draftTrip(sharedVehicle, sharedDriver);
+        Trip sameVehicle = draftTrip(sharedVehicle, freeDriver);
+        Trip sameDriver = draftTrip(freeVehicle, sharedDriver);
+        Trip cancelled = trip(vehicle(), driver(), TripStatus.CANCELLED);
+        // Uses the vehicle and driver the two rejected trips asked for: a rejection claims nothing
+        Trip last = draftTrip(freeVehicle, freeDriver);
+        UUID missing = UUID.randomUUID();
+
+        BatchDispatchResponse response = tripService.dispatchTrips(List.of(first.getId(), sameVehicle.getId(),
+                sameDriver.getId(), cancelled.getId(), missing, first.getId(), last.getId()), dispatcher);
+
+        assertThat(response.getRequested()).isEqualTo(6);
+        assertThat(response.getDispatched()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getResults()).extracting(TripResult::getTripId).containsExactly(first.getId(),
+                sameVehicle.getId(), sameDriver.getId(), cancelled.getId(), missing, last.getId());
+        assertThat(response.getResults()).extracting(TripResult::getDispatched)
+                .containsExactly(true, false, false, false, false, true);
+        assertThat(response.getResults().get(1).getError()).startsWith(Constants.VEHICLE_NOT_AVAILABLE);
+        assertThat(response.getResults().get(2).getError()).startsWith(Constants.DRIVER_NOT_AVAILABLE);
+        assertThat(response.getResults().get(3).getError()).contains("Only DRAFT trips can be dispatched");
+        assertThat(response.getResults().get(4).getError()).isEqualTo(Constants.TRIP_NOT_FOUND);
+        assertThat(response.getResults().get(4).getTripNumber()).isNull();
+
+        assertThat(statusOf(first)).isEqualTo(TripStatus.DISPATCHED);
+        assertThat(statusOf(sameVehicle)).isEqualTo(TripStatus.DRAFT);
+        assertThat(statusOf(sameDriver)).isEqualTo(TripStatus.DRAFT);
+        assertThat(statusOf(cancelled)).isEqualTo(TripStatus.CANCELLED);
+        assertThat(statusOf(last)).isEqualTo(TripStatus.DISPATCHED);
+        for (Vehicle vehicle : List.of(sharedVehicle, freeVehicle)) {
+            assertThat(vehicleRepository.findById(vehicle.getId()).orElseThrow().getStatus())
+                    .isEqualTo(VehicleStatus.ON_TRIP);
+        }
+        for (Driver driver : List.of(sharedDriver, freeDriver)) {
+            Driver reloaded = driverRepository.findById(driver.getId()).orElseThrow();
+            assertThat(reloaded.getStatus()).isEqualTo(DriverStatus.ON_TRIP);
+            assertThat(reloaded.getTotalTripsAssigned()).isEqualTo(1);
+        }
+    }
+
+    // ---- Helpers ----
+
+    private int dispatchedStatementCount(int trips) {
+        List<UUID> tripIds = new ArrayList<>();
+        for (int i = 0; i < trips; i++) {
+            tripIds.add(draftTrip(vehicle(), driver()).getId());
+        }
+
+        SqlStatementCounter.reset();
+        BatchDispatchResponse response = tripService.dispatchTrips(tripIds, dispatcher);
+        int statements = SqlStatementCounter.count();
+
+        assertThat(response.getDispatched()).isEqualTo(trips);
+        return statements;
+    }
+
+    private TripStatus statusOf(Trip trip) {
+        return tripRepository.findById(trip.getId()).orElseThrow().getStatus();
+    }
+
+    private Vehicle vehicle() {
+        int i = nextParent++;
+        return vehicleRepository.save(Vehicle.builder().licensePlate("BAT-" + run + "-" + i).name("Truck " + i)
+                .model("M").type(VehicleType.TRUCK).maxLoadCapacity(1000.0).build());
+    }
+
+    private Driver driver() {
+        int i = nextParent++;
+        return driverRepository.save(Driver.builder().name("Driver " + i).licenseNumber("BAT-" + run + "-" + i)
+                .licenseExpiryDate(LocalDate.now().plusYears(1)).licenseCategory("Truck").build());
+    }
+
+    private Trip draftTrip(Vehicle vehicle, Driver driver) {
+        return trip(vehicle, driver, TripStatus.DRAFT);
+    }
+
+    private Trip trip(Vehicle vehicle, Driver driver, TripStatus status) {
+        return tripRepository.save(Trip.builder().tripNumber(nextTripNumber++).vehicle(vehicle).driver(driver)
+                .cargoWeight(100.0).origin("A").destination("B").status(status).build());
+    }
+}
@@ -0,0 +1,156 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.EmailMessage;
+import com.hackathon.securestarter.enums.EmailStatus;
+import com.hackathon.securestarter.repository.EmailMessageRepository;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The email queue against an in-process SMTP server.
+ * The scheduled poll is pushed out of the way; the test drives dispatch() by hand.
+ */
+@SpringBootTest(properties = {
+        "email.dispatcher.poll-interval-ms=3600000",
+        "email.dispatcher.backoff-ms=200",
+        "email.dispatcher.max-attempts=3"
+})
+class EmailDispatcherTest {
+
+    private static final int SMTP_PORT = freePort();
+
+    @Autowired private EmailService emailService;
+    @Autowired private EmailDispatcher emailDispatcher;
+    @Autowired private EmailMessageRepository emailMessageRepository;
+
+    private GreenMail smtpServer;
+
+    @DynamicPropertySource
+    static void smtpProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", () -> SMTP_PORT);
+    }
+
+    @BeforeEach
+    void startSmtpServer() {
+        smtpServer = new GreenMail(new ServerSetup(SMTP_PORT, null, ServerSetup.PROTOCOL_SMTP));
+        smtpServer.start();
+    }
+
+    @AfterEach
+    void stopSmtpServer() {
+        smtpServer.stop();
+    }
+
+    @Test
+    void queuedEmailIsSent() throws Exception {
+        String recipient = recipient();
+        emailService.enqueueWelcomeEmail(recipient, "Ada");
+        assertThat(email(recipient).getStatus()).isEqualTo(EmailStatus.PENDING);
+
+        emailDispatcher.dispatch();
+
+        EmailMessage sent = awaitStatus(recipient, EmailStatus.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(1);
+        assertThat(sent.getSentAt()).isNotNull();
+        assertThat(smtpServer.waitForIncomingEmail(5_000, 1)).isTrue();
+        MimeMessage received = smtpServer.getReceivedMessages()[0];
+        assertThat(received.getAllRecipients()[0].toString()).isEqualTo(recipient);
+        assertThat(received.getSubject()).startsWith("Welcome to Fleet Flow!");
+    }
+
+    @Test
+    void failedEmailIsRetriedAfterBackoff() {
+        String recipient = recipient();
+        emailService.enqueueWelcomeEmail(recipient, "Ada");
+        smtpServer.stop();
+
+        LocalDateTime beforeDispatch = LocalDateTime.now();
+        emailDispatcher.dispatch();
+        EmailMessage failed = awaitAttempts(recipient, 1);
+        assertThat(failed.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(failed.getLastError()).isNotBlank();
+        assertThat(failed.getNextAttemptAt()).isAfter(beforeDispatch.plusNanos(150_000_000));
+
+        // Not due yet: an immediate poll leaves it alone
+        smtpServer.start();
+        emailDispatcher.dispatch();
+        assertThat(email(recipient).getAttempts()).isEqualTo(1);
+
+        await().atMost(Duration.ofSeconds(10)).pollInterval(Duration.ofMillis(100)).until(() -> {
+            emailDispatcher.dispatch();
+            return email(recipient).getStatus() == EmailStatus.SENT;
+        });
+        assertThat(email(recipient).getAttempts()).isEqualTo(2);
+        assertThat(smtpServer.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    void emailIsDeadAfterMaxAttempts() {
+        String recipient = recipient();
+        emailService.enqueueWelcomeEmail(recipient, "Ada");
+        smtpServer.stop();
+
+        await().atMost(Duration.ofSeconds(10)).pollInterval(Duration.ofMillis(100)).until(() -> {
+            emailDispatcher.dispatch();
+            return email(recipient).getStatus() == EmailStatus.DEAD;
+        });
+
+        EmailMessage dead = email(recipient);
+        assertThat(dead.getAttempts()).isEqualTo(3);
+        assertThat(dead.getNextAttemptAt()).isNull();
+        assertThat(dead.getLastError()).isNotBlank();
+
+        // A dead message is never claimed again
+        smtpServer.start();
+        emailDispatcher.dispatch();
+        assertThat(email(recipient).getStatus()).isEqualTo(EmailStatus.DEAD);
+        assertThat(smtpServer.getReceivedMessages()).isEmpty();
+    }
+
+    private EmailMessage awaitStatus(String recipient, EmailStatus status) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> email(recipient).getStatus() == status);
+        return email(recipient);
+    }
+
+    private EmailMessage awaitAttempts(String recipient, int attempts) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> email(recipient).getAttempts() == attempts);
+        return email(recipient);
+    }
+
+    private EmailMessage email(String recipient) {
+        return emailMessageRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String recipient() {
+        return "mail-" + UUID.randomUUID().toString().substring(0, 8) + "@fleetflow.test";
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
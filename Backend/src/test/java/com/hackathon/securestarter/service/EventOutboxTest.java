@@ -0,0 +1,47 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.event.VehicleChangedEvent;
+import com.hackathon.securestarter.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batches of two, at most two batches per run. The scheduled relay is pushed
+ * out of the way; the test drives it by hand.
+ */
+@SpringBootTest(properties = {
+        "outbox.relay.interval-ms=3600000",
+        "outbox.relay.batch-size=2",
+        "outbox.relay.max-batches-per-run=2"
+})
+class EventOutboxTest {
+
+    private static final List<String> EVENT_TYPES = List.of(VehicleChangedEvent.class.getName());
+
+    @Autowired private EventOutbox eventOutbox;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void backlogIsDrainedOverSeveralRuns() {
+        eventOutbox.relay();
+        for (int i = 0; i < 5; i++) {
+            eventPublisher.publishEvent(new VehicleChangedEvent(UUID.randomUUID()));
+        }
+        assertThat(outboxEventRepository.findByDeliveredAtIsNullAndEventTypeIn(EVENT_TYPES)).hasSize(5);
+
+        // One run stops after two batches so the other scheduled jobs get the thread back
+        eventOutbox.relay();
+        assertThat(outboxEventRepository.findByDeliveredAtIsNullAndEventTypeIn(EVENT_TYPES)).hasSize(1);
+
+        eventOutbox.relay();
+        assertThat(outboxEventRepository.findByDeliveredAtIsNullAndEventTypeIn(EVENT_TYPES)).isEmpty();
+    }
+}
@@ -0,0 +1,89 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.CompleteTripRequest;
+import com.hackathon.securestarter.dto.request.CreateTripRequest;
+import com.hackathon.securestarter.dto.response.MonthlyFinancialSummaryResponse;
+import com.hackathon.securestarter.dto.response.TripResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A full recompute leaves out changes whose events are still in the outbox,
+ * so the relay delivering them afterwards counts them exactly once.
+ * The scheduled relay is pushed out of the way; the test drives it by hand.
+ */
+@SpringBootTest(properties = "outbox.relay.interval-ms=3600000")
+class FinancialSummaryRecomputeTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private DriverRepository driverRepository;
+
+    @Autowired private TripService tripService;
+    @Autowired private AnalyticsService analyticsService;
+    @Autowired private EventOutbox eventOutbox;
+
+    @Test
+    void pendingEventIsCountedOnceAcrossRecomputeAndDelivery() {
+        YearMonth period = YearMonth.now();
+        eventOutbox.relay();
+        MonthlyFinancialSummaryResponse baseline = recompute(period);
+
+        completeTrip(new BigDecimal("500.00"), 120.0);
+
+        // The trip is in the source tables but its TripCompletedEvent is not delivered yet
+        MonthlyFinancialSummaryResponse beforeDelivery = recompute(period);
+        assertThat(beforeDelivery.getRevenue()).isEqualByComparingTo(baseline.getRevenue());
+        assertThat(beforeDelivery.getTotalTrips()).isEqualTo(baseline.getTotalTrips());
+
+        eventOutbox.relay();
+        MonthlyFinancialSummaryResponse delivered = analyticsService.getFinancialSummaries(period.getYear()).stream()
+                .filter(summary -> summary.getMonth() == period.getMonthValue())
+                .findFirst()
+                .orElseThrow();
+        assertThat(delivered.getRevenue()).isEqualByComparingTo(baseline.getRevenue().add(new BigDecimal("500.00")));
+        assertThat(delivered.getTotalTrips()).isEqualTo(baseline.getTotalTrips() + 1);
+        assertThat(delivered.getTotalDistance()).isEqualTo(baseline.getTotalDistance() + 120.0);
+
+        MonthlyFinancialSummaryResponse afterDelivery = recompute(period);
+        assertThat(afterDelivery.getRevenue()).isEqualByComparingTo(delivered.getRevenue());
+        assertThat(afterDelivery.getTotalTrips()).isEqualTo(delivered.getTotalTrips());
+        assertThat(afterDelivery.getTotalDistance()).isEqualTo(delivered.getTotalDistance());
+    }
+
+    private MonthlyFinancialSummaryResponse recompute(YearMonth period) {
+        return analyticsService.generateMonthlySummary(period.getYear(), period.getMonthValue());
+    }
+
+    private void completeTrip(BigDecimal revenue, double distance) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User dispatcher = userRepository.save(User.builder().name("Dispatcher").email("recompute-" + run + "@fleetflow.test")
+                .passwordHash("x").employeeId("REC-" + run).role(Role.DISPATCHER).build());
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder().licensePlate("REC-" + run).name("Truck").model("M")
+                .type(VehicleType.TRUCK).maxLoadCapacity(1000.0).build());
+        Driver driver = driverRepository.save(Driver.builder().name("Driver").licenseNumber("REC-" + run)
+                .licenseExpiryDate(LocalDate.now().plusYears(1)).licenseCategory("Truck").build());
+
+        TripResponse trip = tripService.createTrip(
+                new CreateTripRequest(vehicle.getId(), driver.getId(), 100.0, "A", "B", null), dispatcher);
+        tripService.dispatchTrip(trip.getId(), dispatcher);
+        tripService.completeTrip(trip.getId(), new CompleteTripRequest(vehicle.getOdometer() + distance, revenue),
+                dispatcher);
+    }
+}
@@ -0,0 +1,135 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.event.VehicleStatusChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class FleetSummaryCacheTest {
+
+    private static final int FOLLOWERS = 4;
+
+    @Autowired private FleetSummaryCache fleetSummaryCache;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void vehicleStatusChangeInvalidatesTheSnapshot() {
+        AtomicInteger loads = new AtomicInteger();
+        fleetSummaryCache.invalidate();
+        fleetSummaryCache.get(() -> summary(loads));
+        fleetSummaryCache.get(() -> summary(loads));
+        assertThat(loads).hasValue(1);
+
+        // Utilization counts vehicles ON_TRIP, so a dispatch must not be served from the old snapshot
+        eventPublisher.publishEvent(new VehicleStatusChangedEvent(
+                UUID.randomUUID(), VehicleStatus.AVAILABLE, VehicleStatus.ON_TRIP));
+        fleetSummaryCache.get(() -> summary(loads));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void followersShareTheLeadersLoad() throws Exception {
+        FleetSummaryCache cache = new FleetSummaryCache(60);
+        AnalyticsService.FleetAnalyticsSummary loaded = AnalyticsService.FleetAnalyticsSummary.builder().build();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<AnalyticsService.FleetAnalyticsSummary>> callers = raceLeaderAndFollowers(cache, () -> {
+            loads.incrementAndGet();
+            awaitQuietly(release);
+            return loaded;
+        }, release);
+
+        for (CompletableFuture<AnalyticsService.FleetAnalyticsSummary> caller : callers) {
+            assertThat(caller.get(5, TimeUnit.SECONDS)).isSameAs(loaded);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void errorInTheLeadersLoadReachesEveryFollower() throws Exception {
+        FleetSummaryCache cache = new FleetSummaryCache(60);
+        CountDownLatch release = new CountDownLatch(1);
+        LinkageError failure = new LinkageError("loader class broken");
+
+        List<CompletableFuture<AnalyticsService.FleetAnalyticsSummary>> callers = raceLeaderAndFollowers(cache, () -> {
+            awaitQuietly(release);
+            throw failure;
+        }, release);
+
+        // Each caller must finish (not hang in join) with the leader's Error
+        for (CompletableFuture<AnalyticsService.FleetAnalyticsSummary> caller : callers) {
+            assertThatThrownBy(() -> caller.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(failure);
+        }
+        assertThat(cache.getStats().getLoadFailures()).isEqualTo(1);
+
+        // The failed flight is cleared, so the next caller loads again
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(() -> summary(loads));
+        assertThat(loads).hasValue(1);
+    }
+
+    // ---- Internal helper methods ----
+
+    /**
+     * Start a leader whose loader blocks on the latch, park FOLLOWERS callers behind it,
+     * then open the latch. Returns the leader's and the followers' results.
+     */
+    private static List<CompletableFuture<AnalyticsService.FleetAnalyticsSummary>> raceLeaderAndFollowers(
+            FleetSummaryCache cache,
+            Supplier<AnalyticsService.FleetAnalyticsSummary> leaderLoader,
+            CountDownLatch release) throws InterruptedException {
+        ExecutorService callers = Executors.newFixedThreadPool(FOLLOWERS + 1);
+        List<CompletableFuture<AnalyticsService.FleetAnalyticsSummary>> results = new ArrayList<>();
+        results.add(CompletableFuture.supplyAsync(() -> cache.get(leaderLoader), callers));
+        await().atMost(Duration.ofSeconds(5)).until(() -> cache.getStats().getMisses() == 1);
+
+        for (int i = 0; i < FOLLOWERS; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> cache.get(() -> {
+                throw new AssertionError("Follower must not run its own load");
+            }), callers));
+        }
+        await().atMost(Duration.ofSeconds(5)).until(() -> cache.getStats().getMisses() == FOLLOWERS + 1);
+        // Let the followers get from the miss count to join()
+        Thread.sleep(100);
+
+        release.countDown();
+        callers.shutdown();
+        return results;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AnalyticsService.FleetAnalyticsSummary summary(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return AnalyticsService.FleetAnalyticsSummary.builder().build();
+    }
+}
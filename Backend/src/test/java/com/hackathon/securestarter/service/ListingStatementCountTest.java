@@ -0,0 +1,123 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.*;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.repository.*;
+import com.hackathon.securestarter.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listings load their to-one associations through the entity graphs:
+ * one statement for 1,000 rows, however many distinct vehicles, drivers and users they reference.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListingStatementCountTest {
+
+    private static final int ROWS = 1000;
+    private static final int DISTINCT_PARENTS = 50;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private DriverRepository driverRepository;
+    @Autowired private TripRepository tripRepository;
+    @Autowired private ExpenseRepository expenseRepository;
+    @Autowired private FuelLogRepository fuelLogRepository;
+    @Autowired private MaintenanceLogRepository maintenanceLogRepository;
+
+    @Autowired private TripService tripService;
+    @Autowired private ExpenseService expenseService;
+    @Autowired private FuelLogService fuelLogService;
+    @Autowired private MaintenanceLogService maintenanceLogService;
+
+    @BeforeAll
+    void createRows() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<User> users = new ArrayList<>();
+        List<Vehicle> vehicles = new ArrayList<>();
+        List<Driver> drivers = new ArrayList<>();
+        for (int i = 0; i < DISTINCT_PARENTS; i++) {
+            users.add(User.builder().name("User " + i).email("listing-" + run + "-" + i + "@fleetflow.test")
+                    .passwordHash("x").employeeId("LST-" + run + "-" + i).role(Role.DISPATCHER).build());
+            vehicles.add(Vehicle.builder().licensePlate("LST-" + run + "-" + i).name("Truck " + i).model("M")
+                    .type(VehicleType.TRUCK).maxLoadCapacity(1000.0).build());
+            drivers.add(Driver.builder().name("Driver " + i).licenseNumber("LST-" + run + "-" + i)
+                    .licenseExpiryDate(LocalDate.now().plusYears(1)).licenseCategory("Truck").build());
+        }
+        userRepository.saveAll(users);
+        vehicleRepository.saveAll(vehicles);
+        driverRepository.saveAll(drivers);
+
+        long firstTripNumber = Math.abs(UUID.randomUUID().getMostSignificantBits() % 1_000_000_000L) * 10_000;
+        List<Trip> trips = new ArrayList<>();
+        List<FuelLog> fuelLogs = new ArrayList<>();
+        List<MaintenanceLog> maintenanceLogs = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            int parent = i % DISTINCT_PARENTS;
+            trips.add(Trip.builder().tripNumber(firstTripNumber + i)
+                    .vehicle(vehicles.get(parent)).driver(drivers.get(parent)).dispatchedBy(users.get(parent))
+                    .cargoWeight(100.0).origin("A").destination("B").status(TripStatus.DRAFT).build());
+            fuelLogs.add(FuelLog.builder().vehicle(vehicles.get(parent)).recordedBy(users.get(parent))
+                    .liters(40.0).cost(BigDecimal.TEN).fillDate(LocalDateTime.now()).build());
+            maintenanceLogs.add(MaintenanceLog.builder().vehicle(vehicles.get(parent)).createdBy(users.get(parent))
+                    .serviceName("Oil change").serviceDate(LocalDate.now()).build());
+        }
+        tripRepository.saveAll(trips);
+        fuelLogRepository.saveAll(fuelLogs);
+        maintenanceLogRepository.saveAll(maintenanceLogs);
+
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Trip trip = trips.get(i);
+            expenses.add(Expense.builder().trip(trip).vehicle(trip.getVehicle()).driver(trip.getDriver())
+                    .createdBy(trip.getDispatchedBy()).fuelCost(BigDecimal.ONE).build());
+        }
+        expenseRepository.saveAll(expenses);
+    }
+
+    @Test
+    void tripListingIsOneStatement() {
+        assertSingleStatement(tripService::getAllTrips);
+        assertSingleStatement(() -> tripService.getTripsByStatus(TripStatus.DRAFT));
+    }
+
+    @Test
+    void expenseListingIsOneStatement() {
+        assertSingleStatement(expenseService::getAllExpenses);
+    }
+
+    @Test
+    void fuelLogListingIsOneStatement() {
+        assertSingleStatement(fuelLogService::getAllFuelLogs);
+    }
+
+    @Test
+    void maintenanceLogListingIsOneStatement() {
+        assertSingleStatement(maintenanceLogService::getAllMaintenanceLogs);
+    }
+
+    private void assertSingleStatement(Supplier<List<?>> listing) {
+        SqlStatementCounter.reset();
+        List<?> rows = listing.get();
+        int statements = SqlStatementCounter.count();
+
+        assertThat(rows).hasSizeGreaterThanOrEqualTo(ROWS);
+        assertThat(statements).isEqualTo(1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.hackathon.securestarter.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "fleet.conflict-retry.max-retries=2",
+        "fleet.conflict-retry.delay-ms=1",
+        "fleet.conflict-retry.jitter-ms=0"
+})
+class RetryOnConflictTest {
+
+    @Autowired private ConflictingTransition transition;
+
+    @BeforeEach
+    void reset() {
+        transition.reset();
+    }
+
+    @Test
+    void lostRaceIsRetried() {
+        assertThat(transition.apply(2)).isEqualTo(3);
+    }
+
+    @Test
+    void givesUpAfterMaxRetries() {
+        assertThatThrownBy(() -> transition.apply(5)).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(transition.calls()).isEqualTo(3);
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        assertThatThrownBy(() -> transition.failWith(new IllegalStateException("invalid transition")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(transition.calls()).isEqualTo(1);
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ConflictingTransition conflictingTransition() {
+            return new ConflictingTransition();
+        }
+    }
+
+    static class ConflictingTransition {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        public int calls() {
+            return calls.get();
+        }
+
+        public void reset() {
+            calls.set(0);
+        }
+
+        /**
+         * Loses the race the given number of times, then returns the number of calls.
+         */
+        @RetryOnConflict
+        public int apply(int conflicts) {
+            int call = calls.incrementAndGet();
+            if (call <= conflicts) {
+                throw new OptimisticLockingFailureException("Row was updated by another transaction");
+            }
+            return call;
+        }
+
+        @RetryOnConflict
+        public int failWith(RuntimeException failure) {
+            calls.incrementAndGet();
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.DriverStatus;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.event.DriverStatusChangedEvent;
+import com.hackathon.securestarter.event.TripStatusChangedEvent;
+import com.hackathon.securestarter.event.UserAccountChangedEvent;
+import com.hackathon.securestarter.event.VehicleStatusChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockConstruction;
+
+class StatusEventStreamTest {
+
+    private static final String STREAM_THREAD_PREFIX = "status-stream-";
+    private static final int BUFFER_SIZE = 4;
+    private static final Pattern EVENT_NAME = Pattern.compile("event:(\\S+)");
+
+    private final ThreadPoolTaskExecutor streamExecutor = new ThreadPoolTaskExecutor();
+    private final Map<SseEmitter, List<String>> sent = new ConcurrentHashMap<>();
+    private final Map<SseEmitter, String> completedOn = new ConcurrentHashMap<>();
+
+    /** When set, sends to the next subscribed emitter signal sendBlocked and wait for this gate. */
+    private CountDownLatch nextSendGate;
+    private final CountDownLatch sendBlocked = new CountDownLatch(1);
+
+    private MockedConstruction<SseEmitter> emitters;
+    private StatusEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        streamExecutor.setCorePoolSize(2);
+        streamExecutor.setMaxPoolSize(2);
+        streamExecutor.setQueueCapacity(100);
+        streamExecutor.setThreadNamePrefix(STREAM_THREAD_PREFIX);
+        streamExecutor.initialize();
+
+        // Stand in for the connection: record what is written, and on which thread the emitter is completed
+        emitters = mockConstruction(SseEmitter.class, (emitter, context) -> {
+            CountDownLatch gate = nextSendGate;
+            nextSendGate = null;
+            List<String> events = new CopyOnWriteArrayList<>();
+            sent.put(emitter, events);
+            doAnswer(invocation -> {
+                if (gate != null) {
+                    sendBlocked.countDown();
+                    gate.await();
+                }
+                events.add(describe(invocation.getArgument(0)));
+                return null;
+            }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+            doAnswer(invocation -> {
+                completedOn.put(emitter, Thread.currentThread().getName());
+                return null;
+            }).when(emitter).complete();
+        });
+
+        stream = new StatusEventStream(streamExecutor);
+        ReflectionTestUtils.setField(stream, "bufferSize", BUFFER_SIZE);
+        ReflectionTestUtils.setField(stream, "timeoutMs", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.close();
+        streamExecutor.shutdown();
+    }
+
+    @Test
+    void subscribersOnlyReceiveTheEntityTypesTheirRoleCanRead() {
+        SseEmitter dispatcher = stream.subscribe(user(Role.DISPATCHER));
+        SseEmitter analyst = stream.subscribe(user(Role.FINANCIAL_ANALYST));
+        SseEmitter safetyOfficer = stream.subscribe(user(Role.SAFETY_OFFICER));
+
+        stream.onTripStatusChanged(new TripStatusChangedEvent(
+                UUID.randomUUID(), TripStatus.DRAFT, TripStatus.DISPATCHED, UUID.randomUUID(), LocalDateTime.now()));
+        stream.onVehicleStatusChanged(new VehicleStatusChangedEvent(
+                UUID.randomUUID(), VehicleStatus.AVAILABLE, VehicleStatus.ON_TRIP));
+        stream.onDriverStatusChanged(new DriverStatusChangedEvent(UUID.randomUUID(), null, DriverStatus.ON_DUTY));
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(sent.get(dispatcher))
+                    .containsExactly(":connected", "trip.dispatched", "vehicle.on-trip", "driver.created");
+            assertThat(sent.get(analyst)).containsExactly(":connected", "trip.dispatched", "vehicle.on-trip");
+            assertThat(sent.get(safetyOfficer)).containsExactly(":connected", "vehicle.on-trip", "driver.created");
+        });
+    }
+
+    @Test
+    void fullBufferDropsOnlyThatSubscriberAndCompletesItOnTheStreamExecutor() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        nextSendGate = release;
+        SseEmitter slow = stream.subscribe(user(Role.DISPATCHER));
+        SseEmitter fast = stream.subscribe(user(Role.DISPATCHER));
+        assertThat(sendBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The slow client's drain is stuck in send(); one event more than its buffer holds,
+        // each one paced so the fast client keeps up
+        for (int i = 0; i <= BUFFER_SIZE; i++) {
+            stream.onVehicleStatusChanged(new VehicleStatusChangedEvent(
+                    UUID.randomUUID(), VehicleStatus.AVAILABLE, VehicleStatus.ON_TRIP));
+            int expected = i + 2;
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                    assertThat(sent.get(fast)).hasSize(expected));
+        }
+
+        assertThat(stream.getDroppedSubscribers()).isEqualTo(1);
+        assertThat(stream.getSubscriberCount()).isEqualTo(1);
+        // The publisher never completes the emitter itself: that would wait on the stuck send
+        assertThat(completedOn).doesNotContainKey(slow);
+
+        release.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(completedOn.get(slow)).startsWith(STREAM_THREAD_PREFIX));
+        assertThat(sent.get(slow)).containsExactly(":connected");
+        assertThat(completedOn).doesNotContainKey(fast);
+    }
+
+    @Test
+    void accountChangeClosesOnlyThatUsersStreams() {
+        User changed = user(Role.DISPATCHER);
+        User other = user(Role.DISPATCHER);
+        SseEmitter first = stream.subscribe(changed);
+        SseEmitter second = stream.subscribe(changed);
+        SseEmitter unaffected = stream.subscribe(other);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(sent.values()).allSatisfy(events -> assertThat(events).containsExactly(":connected")));
+
+        stream.onUserAccountChanged(new UserAccountChangedEvent(changed.getId()));
+        stream.onTripStatusChanged(new TripStatusChangedEvent(
+                UUID.randomUUID(), TripStatus.DRAFT, TripStatus.DISPATCHED, UUID.randomUUID(), LocalDateTime.now()));
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(completedOn.get(first)).startsWith(STREAM_THREAD_PREFIX);
+            assertThat(completedOn.get(second)).startsWith(STREAM_THREAD_PREFIX);
+            assertThat(sent.get(unaffected)).containsExactly(":connected", "trip.dispatched");
+        });
+        assertThat(sent.get(first)).containsExactly(":connected");
+        assertThat(sent.get(second)).containsExactly(":connected");
+        assertThat(completedOn).doesNotContainKey(unaffected);
+        assertThat(stream.getSubscriberCount()).isEqualTo(1);
+        // Closing on an account change is not a slow-consumer drop
+        assertThat(stream.getDroppedSubscribers()).isZero();
+    }
+
+    // ---- Helpers ----
+
+    private static User user(Role role) {
+        return User.builder().id(UUID.randomUUID()).name("Subscriber").role(role).build();
+    }
+
+    /** The event name, or the comment line for comment-only events. */
+    private static String describe(SseEmitter.SseEventBuilder event) {
+        String text = event.build().stream()
+                .map(part -> String.valueOf(part.getData()))
+                .collect(Collectors.joining());
+        Matcher name = EVENT_NAME.matcher(text);
+        return name.find() ? name.group(1) : text.strip();
+    }
+}
@@ -0,0 +1,259 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.OptimizedAssignmentResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The load-line matching against exhaustive search on small instances:
+ * same number of trips served and same total cost.
+ */
+class TripAssignmentOptimizerTest {
+
+    private static final double SLACK_WEIGHT = 1.0;
+    private static final double COST_PER_KM_WEIGHT = 10.0;
+    private static final double SAFETY_WEIGHT = 5.0;
+    private static final double COMPLETION_WEIGHT = 2.0;
+
+    private final TripRepository tripRepository = mock(TripRepository.class);
+    private final VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+    private final DriverRepository driverRepository = mock(DriverRepository.class);
+    private final AnalyticsService analyticsService = mock(AnalyticsService.class);
+
+    private TripAssignmentOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        optimizer = new TripAssignmentOptimizer(tripRepository, vehicleRepository, driverRepository, analyticsService);
+        ReflectionTestUtils.setField(optimizer, "slackWeight", SLACK_WEIGHT);
+        ReflectionTestUtils.setField(optimizer, "costPerKmWeight", COST_PER_KM_WEIGHT);
+        ReflectionTestUtils.setField(optimizer, "safetyWeight", SAFETY_WEIGHT);
+        ReflectionTestUtils.setField(optimizer, "completionWeight", COMPLETION_WEIGHT);
+    }
+
+    @Test
+    void seededRandomInstancesMatchBruteForce() {
+        for (long seed = 0; seed < 1000; seed++) {
+            Random random = new Random(seed);
+            Instance instance = randomInstance(random, random.nextInt(7), random.nextInt(7), random.nextInt(8));
+            assertMatchesBruteForce(instance, "seed " + seed);
+        }
+    }
+
+    @Test
+    void tiesAtEqualLoadAreAllServed() {
+        Random random = new Random(42);
+        Instance instance = new Instance();
+        for (int i = 0; i < 6; i++) {
+            instance.trips.add(trip(500.0));
+            instance.vehicles.add(vehicle(500.0));
+            instance.costPerKm.put(instance.vehicles.get(i).getId(), BigDecimal.valueOf(random.nextInt(3)));
+            instance.drivers.add(driver(90.0, 80.0));
+        }
+
+        OptimizedAssignmentResponse plan = assertMatchesBruteForce(instance, "equal loads");
+        assertThat(plan.getAssigned()).isEqualTo(6);
+        assertThat(plan.getTotalCapacitySlack()).isZero();
+    }
+
+    @Test
+    void moreTripsThanVehiclesServesEveryVehicle() {
+        Random random = new Random(7);
+        for (int run = 0; run < 200; run++) {
+            Instance instance = randomInstance(random, 6, 2, 6);
+            // The heaviest vehicle can carry every trip, so both vehicles always find one
+            instance.vehicles.get(0).setMaxLoadCapacity(1000.0);
+            instance.vehicles.get(1).setMaxLoadCapacity(1000.0);
+
+            OptimizedAssignmentResponse plan = assertMatchesBruteForce(instance, "run " + run);
+            assertThat(plan.getAssigned()).isEqualTo(2);
+            assertThat(plan.getUnassignedTripIds()).hasSize(4);
+        }
+    }
+
+    @Test
+    void driverLimitedRoundsKeepTheCheapestPairsAndBestDrivers() {
+        Random random = new Random(11);
+        for (int run = 0; run < 200; run++) {
+            Instance instance = randomInstance(random, 6, 6, 2);
+
+            OptimizedAssignmentResponse plan = assertMatchesBruteForce(instance, "run " + run);
+            assertThat(plan.getAssigned()).isLessThanOrEqualTo(2);
+        }
+
+        Instance instance = new Instance();
+        for (int i = 0; i < 4; i++) {
+            instance.trips.add(trip(100.0 * (i + 1)));
+            instance.vehicles.add(vehicle(100.0 * (i + 1)));
+        }
+        Driver best = driver(100.0, 100.0);
+        instance.drivers.add(driver(50.0, 50.0));
+        instance.drivers.add(best);
+
+        OptimizedAssignmentResponse plan = assertMatchesBruteForce(instance, "one driver");
+        assertThat(plan.getAssigned()).isEqualTo(2);
+        assertThat(plan.getAssignments()).extracting(OptimizedAssignmentResponse.Assignment::getDriverId)
+                .contains(best.getId());
+    }
+
+    // ---- Helpers ----
+
+    private OptimizedAssignmentResponse assertMatchesBruteForce(Instance instance, String description) {
+        when(tripRepository.findByStatus(TripStatus.DRAFT)).thenReturn(instance.trips);
+        when(vehicleRepository.findByStatus(VehicleStatus.AVAILABLE)).thenReturn(instance.vehicles);
+        when(driverRepository.findAvailableDrivers(any())).thenReturn(instance.drivers);
+        when(analyticsService.getCostPerKmByVehicle(anyList())).thenReturn(instance.costPerKm);
+
+        OptimizedAssignmentResponse plan = optimizer.optimizePendingTrips(null);
+        double[] expected = bruteForce(instance);
+
+        assertValidPlan(instance, plan, description);
+        assertThat(plan.getAssigned()).as(description).isEqualTo((int) expected[0]);
+        assertThat(plan.getTotalCost()).as(description).isCloseTo(expected[1], within(1e-6));
+        return plan;
+    }
+
+    private void assertValidPlan(Instance instance, OptimizedAssignmentResponse plan, String description) {
+        Map<UUID, Trip> trips = new HashMap<>();
+        instance.trips.forEach(trip -> trips.put(trip.getId(), trip));
+        Map<UUID, Vehicle> vehicles = new HashMap<>();
+        instance.vehicles.forEach(vehicle -> vehicles.put(vehicle.getId(), vehicle));
+
+        Set<UUID> tripIds = new HashSet<>();
+        Set<UUID> vehicleIds = new HashSet<>();
+        Set<UUID> driverIds = new HashSet<>();
+        double totalCost = 0.0;
+        for (OptimizedAssignmentResponse.Assignment assignment : plan.getAssignments()) {
+            assertThat(tripIds.add(assignment.getTripId())).as(description).isTrue();
+            assertThat(vehicleIds.add(assignment.getVehicleId())).as(description).isTrue();
+            assertThat(driverIds.add(assignment.getDriverId())).as(description).isTrue();
+            assertThat(trips.get(assignment.getTripId()).getCargoWeight()).as(description)
+                    .isLessThanOrEqualTo(vehicles.get(assignment.getVehicleId()).getMaxLoadCapacity());
+            totalCost += assignment.getCost();
+        }
+        assertThat(plan.getTotalCost()).as(description).isCloseTo(totalCost, within(1e-6));
+        assertThat(plan.getUnassignedTripIds()).as(description)
+                .hasSize(instance.trips.size() - plan.getAssignments().size())
+                .noneMatch(tripIds::contains);
+    }
+
+    /**
+     * {trips served, total cost}: the most (trip, vehicle) pairs the drivers allow,
+     * at the lowest pair cost over every partial matching, plus the cheapest drivers.
+     */
+    private double[] bruteForce(Instance instance) {
+        int limit = Math.min(instance.drivers.size(), Math.min(instance.trips.size(), instance.vehicles.size()));
+        double[] bestByCount = new double[limit + 1];
+        Arrays.fill(bestByCount, Double.POSITIVE_INFINITY);
+        search(instance, 0, new boolean[instance.vehicles.size()], 0, 0.0, limit, bestByCount);
+
+        int served = limit;
+        while (bestByCount[served] == Double.POSITIVE_INFINITY) {
+            served--;
+        }
+        double[] driverCosts = instance.drivers.stream().mapToDouble(TripAssignmentOptimizerTest::driverCost)
+                .sorted().toArray();
+        double cost = bestByCount[served];
+        for (int i = 0; i < served; i++) {
+            cost += driverCosts[i];
+        }
+        return new double[]{served, cost};
+    }
+
+    private void search(Instance instance, int tripIndex, boolean[] usedVehicles, int count, double cost,
+                        int limit, double[] bestByCount) {
+        bestByCount[count] = Math.min(bestByCount[count], cost);
+        if (tripIndex == instance.trips.size()) {
+            return;
+        }
+        search(instance, tripIndex + 1, usedVehicles, count, cost, limit, bestByCount);
+        if (count == limit) {
+            return;
+        }
+        Trip trip = instance.trips.get(tripIndex);
+        for (int v = 0; v < instance.vehicles.size(); v++) {
+            Vehicle vehicle = instance.vehicles.get(v);
+            if (!usedVehicles[v] && trip.getCargoWeight() <= vehicle.getMaxLoadCapacity()) {
+                usedVehicles[v] = true;
+                double pairCost = SLACK_WEIGHT * (vehicle.getMaxLoadCapacity() - trip.getCargoWeight())
+                        + COST_PER_KM_WEIGHT * instance.costPerKm.getOrDefault(vehicle.getId(), BigDecimal.ZERO)
+                        .doubleValue();
+                search(instance, tripIndex + 1, usedVehicles, count + 1, cost + pairCost, limit, bestByCount);
+                usedVehicles[v] = false;
+            }
+        }
+    }
+
+    private static double driverCost(Driver driver) {
+        return SAFETY_WEIGHT * (100.0 - driver.getSafetyScore())
+                + COMPLETION_WEIGHT * (100.0 - driver.getCompletionRate());
+    }
+
+    /**
+     * Loads and costs drawn from a few values, so equal loads and equal costs are common.
+     */
+    private static Instance randomInstance(Random random, int trips, int vehicles, int drivers) {
+        Instance instance = new Instance();
+        for (int i = 0; i < trips; i++) {
+            instance.trips.add(trip(100.0 * (1 + random.nextInt(5))));
+        }
+        for (int i = 0; i < vehicles; i++) {
+            Vehicle vehicle = vehicle(100.0 * (1 + random.nextInt(5)));
+            instance.vehicles.add(vehicle);
+            if (random.nextBoolean()) {
+                instance.costPerKm.put(vehicle.getId(), BigDecimal.valueOf(random.nextInt(4), 1));
+            }
+        }
+        for (int i = 0; i < drivers; i++) {
+            instance.drivers.add(driver(50.0 + 10 * random.nextInt(6), 50.0 + 10 * random.nextInt(6)));
+        }
+        return instance;
+    }
+
+    private static Trip trip(double cargoWeight) {
+        return Trip.builder().id(UUID.randomUUID()).tripNumber(1L).cargoWeight(cargoWeight).build();
+    }
+
+    private static Vehicle vehicle(double capacity) {
+        return Vehicle.builder().id(UUID.randomUUID()).licensePlate("T").maxLoadCapacity(capacity).build();
+    }
+
+    private static Driver driver(double safetyScore, double completionRate) {
+        return Driver.builder().id(UUID.randomUUID()).name("D")
+                .safetyScore(safetyScore).completionRate(completionRate).build();
+    }
+
+    private static final class Instance {
+        private final List<Trip> trips = new ArrayList<>();
+        private final List<Vehicle> vehicles = new ArrayList<>();
+        private final List<Driver> drivers = new ArrayList<>();
+        private final Map<UUID, BigDecimal> costPerKm = new HashMap<>();
+    }
+}
@@ -0,0 +1,138 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.ConsolidationPlanResponse;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TripConsolidationServiceTest {
+
+    private static final String[] PLACES = {"Mumbai", "Pune", "Nashik", "Surat"};
+
+    private final TripRepository tripRepository = mock(TripRepository.class);
+    private final VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+    private final TripConsolidationService consolidationService =
+            new TripConsolidationService(tripRepository, vehicleRepository);
+
+    private long nextTripNumber = 1;
+
+    @Test
+    void loadsNeverExceedVehicleCapacity() {
+        for (long seed = 0; seed < 500; seed++) {
+            Random random = new Random(seed);
+            List<Trip> trips = new ArrayList<>();
+            for (int i = random.nextInt(30); i > 0; i--) {
+                trips.add(trip(PLACES[random.nextInt(2)], PLACES[2 + random.nextInt(2)],
+                        50.0 * (1 + random.nextInt(40))));
+            }
+            List<Vehicle> vehicles = new ArrayList<>();
+            for (int i = random.nextInt(15); i > 0; i--) {
+                vehicles.add(vehicle(250.0 * (1 + random.nextInt(8))));
+            }
+
+            ConsolidationPlanResponse plan = plan(trips, vehicles);
+
+            assertConsistentPlan(trips, vehicles, plan, "seed " + seed);
+        }
+    }
+
+    @Test
+    void tripHeavierThanEveryFreeVehicleIsUnplanned() {
+        Trip oversized = trip("Mumbai", "Pune", 5000.0);
+        Trip small = trip("Mumbai", "Pune", 300.0);
+        Trip medium = trip("Mumbai", "Pune", 600.0);
+        List<Trip> trips = List.of(oversized, small, medium);
+        List<Vehicle> vehicles = List.of(vehicle(1000.0), vehicle(2000.0));
+
+        ConsolidationPlanResponse plan = plan(trips, vehicles);
+
+        assertThat(plan.getUnplannedTripIds()).containsExactly(oversized.getId());
+        assertThat(plan.getPlannedTrips()).isEqualTo(2);
+        assertThat(plan.getVehiclesUsed()).isEqualTo(1);
+        // The two remaining trips share the smallest vehicle that carries both
+        assertThat(plan.getLoads().get(0).getVehicleCapacity()).isEqualTo(1000.0);
+        assertConsistentPlan(trips, vehicles, plan, "oversized");
+    }
+
+    @Test
+    void routeGroupingIgnoresCaseAndSurroundingSpaces() {
+        List<Trip> trips = List.of(
+                trip("Mumbai", "Pune", 200.0),
+                trip("  mumbai", "PUNE ", 300.0),
+                trip("MUMBAI ", " pune", 100.0),
+                trip("Mumbai", "Nashik", 100.0));
+        List<Vehicle> vehicles = List.of(vehicle(1000.0), vehicle(1000.0));
+
+        ConsolidationPlanResponse plan = plan(trips, vehicles);
+
+        assertThat(plan.getRoutes()).isEqualTo(2);
+        assertThat(plan.getVehiclesUsed()).isEqualTo(2);
+        assertThat(plan.getLoads().get(0).getTrips()).hasSize(3);
+        assertThat(plan.getLoads().get(0).getTotalCargoWeight()).isEqualTo(600.0);
+        assertConsistentPlan(trips, vehicles, plan, "route case");
+    }
+
+    // ---- Helpers ----
+
+    private ConsolidationPlanResponse plan(List<Trip> trips, List<Vehicle> vehicles) {
+        when(tripRepository.findByStatus(TripStatus.DRAFT)).thenReturn(trips);
+        when(vehicleRepository.findByStatus(VehicleStatus.AVAILABLE)).thenReturn(vehicles);
+        return consolidationService.planConsolidation(null);
+    }
+
+    /**
+     * Every load fits its vehicle, no vehicle is used twice, and every trip is planned once or reported unplanned.
+     */
+    private static void assertConsistentPlan(List<Trip> trips, List<Vehicle> vehicles,
+                                             ConsolidationPlanResponse plan, String description) {
+        Map<UUID, Vehicle> vehiclesById = new HashMap<>();
+        vehicles.forEach(vehicle -> vehiclesById.put(vehicle.getId(), vehicle));
+        Map<UUID, Trip> tripsById = new HashMap<>();
+        trips.forEach(trip -> tripsById.put(trip.getId(), trip));
+
+        Set<UUID> usedVehicles = new HashSet<>();
+        Set<UUID> seenTrips = new HashSet<>(plan.getUnplannedTripIds());
+        for (ConsolidationPlanResponse.ConsolidatedLoad load : plan.getLoads()) {
+            Vehicle vehicle = vehiclesById.get(load.getVehicleId());
+            assertThat(usedVehicles.add(vehicle.getId())).as(description).isTrue();
+            double cargo = 0.0;
+            for (ConsolidationPlanResponse.TripLoad tripLoad : load.getTrips()) {
+                assertThat(seenTrips.add(tripLoad.getTripId())).as(description).isTrue();
+                cargo += tripsById.get(tripLoad.getTripId()).getCargoWeight();
+            }
+            assertThat(load.getTotalCargoWeight()).as(description).isCloseTo(cargo, within(1e-9));
+            assertThat(cargo).as(description).isLessThanOrEqualTo(vehicle.getMaxLoadCapacity());
+        }
+        assertThat(seenTrips).as(description).isEqualTo(tripsById.keySet());
+        assertThat(plan.getPlannedTrips()).as(description).isEqualTo(trips.size() - plan.getUnplannedTripIds().size());
+        assertThat(plan.getVehiclesUsed()).as(description).isEqualTo(plan.getLoads().size());
+    }
+
+    private Trip trip(String origin, String destination, double cargoWeight) {
+        return Trip.builder().id(UUID.randomUUID()).tripNumber(nextTripNumber++)
+                .origin(origin).destination(destination).cargoWeight(cargoWeight).build();
+    }
+
+    private static Vehicle vehicle(double capacity) {
+        return Vehicle.builder().id(UUID.randomUUID()).name("Truck").licensePlate("C")
+                .maxLoadCapacity(capacity).build();
+    }
+}
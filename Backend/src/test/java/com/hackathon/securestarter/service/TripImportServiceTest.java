@@ -0,0 +1,127 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.TripImportResponse;
+import com.hackathon.securestarter.dto.response.TripTransitionResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.event.TripStatusChangedEvent;
+import com.hackathon.securestarter.exception.BadRequestException;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.OutboxEventRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import com.hackathon.securestarter.util.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CSV import with chunks of three rows, so bad rows land in the middle of chunks.
+ * The scheduled outbox relay is pushed out of the way; the test drives it by hand.
+ */
+@SpringBootTest(properties = {
+        "trips.import.batch-size=3",
+        "outbox.relay.interval-ms=3600000"
+})
+class TripImportServiceTest {
+
+    @Autowired private TripImportService tripImportService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private DriverRepository driverRepository;
+    @Autowired private TripRepository tripRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private EventOutbox eventOutbox;
+    @Autowired private TripTransitionLog tripTransitionLog;
+
+    private User dispatcher;
+    private Vehicle vehicle;
+    private Driver driver;
+
+    @BeforeEach
+    void createFleet() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        dispatcher = userRepository.save(User.builder().name("Dispatcher").email("import-" + run + "@fleetflow.test")
+                .passwordHash("x").employeeId("IMP-" + run).role(Role.DISPATCHER).build());
+        vehicle = vehicleRepository.save(Vehicle.builder().licensePlate("IMP-" + run).name("Truck").model("M")
+                .type(VehicleType.TRUCK).maxLoadCapacity(1000.0).build());
+        driver = driverRepository.save(Driver.builder().name("Driver").licenseNumber("IMP-" + run)
+                .licenseExpiryDate(LocalDate.now().plusYears(1)).licenseCategory("Truck").build());
+    }
+
+    @Test
+    void badRowsAreReportedWithoutAbortingTheirChunk() throws IOException {
+        String origin = "Mumbai, Andheri " + UUID.randomUUID();
+        String csv = String.join("\n",
+                "origin,destination,vehicleId,driverId,cargoWeight,estimatedFuelCost",
+                "\"" + origin + "\",\"Pune \"\"East\"\"\"," + vehicle.getId() + "," + driver.getId() + ",100,12.50",
+                "A,B," + vehicle.getId() + "," + driver.getId() + ",heavy,",
+                "A,B," + UUID.randomUUID() + "," + driver.getId() + ",100,",
+                "A,B," + vehicle.getId() + "," + UUID.randomUUID() + ",100,",
+                "A,B," + vehicle.getId() + "," + driver.getId() + ",5000,",
+                "\"" + origin + "\",\"two",
+                "lines\"," + vehicle.getId() + "," + driver.getId() + ",50,",
+                "\"" + origin + "\",B," + vehicle.getId() + "," + driver.getId() + ",75,");
+
+        TripImportResponse response = tripImportService.importTrips(new StringReader(csv), dispatcher);
+
+        assertThat(response.getTotalRows()).isEqualTo(7);
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getErrorsTruncated()).isFalse();
+        assertThat(response.getErrors()).extracting(TripImportResponse.RowError::getLine)
+                .containsExactly(3L, 4L, 5L, 6L);
+        assertThat(response.getErrors().get(0).getMessage()).isEqualTo("Invalid cargoWeight: heavy");
+        assertThat(response.getErrors().get(1).getMessage()).isEqualTo(Constants.VEHICLE_NOT_FOUND);
+        assertThat(response.getErrors().get(2).getMessage()).isEqualTo(Constants.DRIVER_NOT_FOUND);
+        assertThat(response.getErrors().get(3).getMessage()).startsWith(Constants.CARGO_EXCEEDS_CAPACITY);
+
+        List<Trip> imported = tripRepository.findByStatus(TripStatus.DRAFT).stream()
+                .filter(trip -> trip.getOrigin().equals(origin))
+                .toList();
+        assertThat(imported).extracting(Trip::getDestination)
+                .containsExactlyInAnyOrder("Pune \"East\"", "two\nlines", "B");
+
+        // Every imported trip has its DRAFT event in the outbox, and the relay logs it
+        assertThat(outboxEventRepository.findByDeliveredAtIsNullAndEventTypeIn(
+                List.of(TripStatusChangedEvent.class.getName()))).hasSize(3);
+        eventOutbox.relay();
+        for (Trip trip : imported) {
+            assertThat(tripTransitionLog.getHistory(trip.getId()))
+                    .extracting(TripTransitionResponse::getToStatus)
+                    .containsExactly(TripStatus.DRAFT);
+        }
+    }
+
+    @Test
+    void missingColumnsRejectTheFile() {
+        assertThatThrownBy(() -> tripImportService.importTrips(
+                new StringReader("origin,destination,vehicleId\nA,B," + vehicle.getId()), dispatcher))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("driverId")
+                .hasMessageContaining("cargoWeight");
+    }
+
+    @Test
+    void emptyFileIsRejected() {
+        assertThatThrownBy(() -> tripImportService.importTrips(new StringReader(""), dispatcher))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(Constants.IMPORT_EMPTY_FILE);
+    }
+}
@@ -0,0 +1,141 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.CreateTripRequest;
+import com.hackathon.securestarter.dto.response.TripResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.NumberSequenceRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A pool of four connections and blocks of five numbers, so concurrent creates
+ * outnumber the connections and refill often.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "trips.number-allocator.block-size=5"
+})
+class TripNumberAllocatorTest {
+
+    private static final int THREADS = 8;
+    private static final int TRIPS_PER_THREAD = 10;
+
+    @Autowired private TripService tripService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private DriverRepository driverRepository;
+    @Autowired private TripRepository tripRepository;
+    @Autowired private NumberSequenceRepository sequenceRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentCreatesBeyondThePoolSizeGetUniqueNumbers() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User dispatcher = userRepository.save(User.builder().name("Dispatcher").email("numbers-" + run + "@fleetflow.test")
+                .passwordHash("x").employeeId("NUM-" + run).role(Role.DISPATCHER).build());
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder().licensePlate("NUM-" + run).name("Truck").model("M")
+                .type(VehicleType.TRUCK).maxLoadCapacity(1000.0).build());
+        Driver driver = driverRepository.save(Driver.builder().name("Driver").licenseNumber("NUM-" + run)
+                .licenseExpiryDate(LocalDate.now().plusYears(1)).licenseCategory("Truck").build());
+        CreateTripRequest request = new CreateTripRequest(vehicle.getId(), driver.getId(), 100.0, "A", "B", null);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    List<Long> numbers = new ArrayList<>();
+                    for (int i = 0; i < TRIPS_PER_THREAD; i++) {
+                        TripResponse trip = tripService.createTrip(request, dispatcher);
+                        numbers.add(trip.getTripNumber());
+                    }
+                    return numbers;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> numbers = new HashSet<>();
+            for (Future<List<Long>> result : results) {
+                // A refill starved of connections would fail with a connection timeout here
+                numbers.addAll(result.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(numbers).hasSize(THREADS * TRIPS_PER_THREAD);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void instancesReserveDisjointBlocks() {
+        TripNumberAllocator first = allocator(3);
+        TripNumberAllocator second = allocator(3);
+
+        Set<Long> numbers = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            long a = first.next();
+            long b = second.next();
+            assertThat(numbers.add(a)).as("duplicate %d", a).isTrue();
+            assertThat(numbers.add(b)).as("duplicate %d", b).isTrue();
+        }
+
+        // Each instance serves consecutive numbers within its own blocks
+        long previous = first.next();
+        assertThat(first.next()).isGreaterThan(previous);
+    }
+
+    @Test
+    void firstUseStartsAfterTheHighestExistingTripNumber() {
+        sequenceRepository.deleteById(TripNumberAllocator.SEQUENCE_NAME);
+
+        long next = allocator(5).next();
+
+        assertThat(next).isEqualTo(tripRepository.findMaxTripNumber() + 1);
+    }
+
+    @Test
+    void refusesToRunInsideATransaction() {
+        TripNumberAllocator allocator = allocator(5);
+
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> allocator.next()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    // ---- Internal helper methods ----
+
+    private TripNumberAllocator allocator(int blockSize) {
+        TripNumberAllocator allocator = new TripNumberAllocator(sequenceRepository, tripRepository, transactionManager);
+        ReflectionTestUtils.setField(allocator, "blockSize", blockSize);
+        return allocator;
+    }
+}
@@ -0,0 +1,111 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.TripResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class TripServiceRecentTripsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final TripRepository tripRepository = mock(TripRepository.class);
+    private final TripService tripService = new TripService(tripRepository,
+            mock(VehicleRepository.class), mock(DriverRepository.class), mock(TripStateMachine.class),
+            mock(TripNumberAllocator.class), mock(ApplicationEventPublisher.class),
+            mock(EntityManager.class), mock(TransactionTemplate.class));
+
+    private final Vehicle vehicle = Vehicle.builder().id(UUID.randomUUID()).name("Truck").licensePlate("R").build();
+    private final Driver driver = Driver.builder().id(UUID.randomUUID()).name("Driver").build();
+
+    @Test
+    void runsOneCappedQueryPerStatusAndMergesNewestFirst() {
+        // Each status returns its own newest-first page, as the index-ordered query would
+        List<Trip> dispatched = trips(TripStatus.DISPATCHED, 0, 3, 6, 9, 12);
+        List<Trip> completed = trips(TripStatus.COMPLETED, 1, 2, 4, 5, 7);
+        List<Trip> cancelled = trips(TripStatus.CANCELLED, 8, 10, 11, 13, 14);
+        when(tripRepository.findRecentByStatus(TripStatus.DISPATCHED, Limit.of(5))).thenReturn(dispatched);
+        when(tripRepository.findRecentByStatus(TripStatus.COMPLETED, Limit.of(5))).thenReturn(completed);
+        when(tripRepository.findRecentByStatus(TripStatus.CANCELLED, Limit.of(5))).thenReturn(cancelled);
+
+        List<TripResponse> recent = tripService.getRecentTrips(
+                List.of(TripStatus.DISPATCHED, TripStatus.COMPLETED, TripStatus.CANCELLED), 5);
+
+        assertThat(recent).extracting(TripResponse::getUpdatedAt)
+                .containsExactly(minutesAgo(0), minutesAgo(1), minutesAgo(2), minutesAgo(3), minutesAgo(4));
+        assertThat(recent).extracting(TripResponse::getStatus).containsExactly(
+                TripStatus.DISPATCHED, TripStatus.COMPLETED, TripStatus.COMPLETED,
+                TripStatus.DISPATCHED, TripStatus.COMPLETED);
+        verify(tripRepository).findRecentByStatus(TripStatus.DISPATCHED, Limit.of(5));
+        verify(tripRepository).findRecentByStatus(TripStatus.COMPLETED, Limit.of(5));
+        verify(tripRepository).findRecentByStatus(TripStatus.CANCELLED, Limit.of(5));
+        verifyNoMoreInteractions(tripRepository);
+    }
+
+    @Test
+    void tiesOnUpdatedAtBreakByIdDescending() {
+        UUID low = new UUID(0, 1);
+        UUID high = new UUID(0, 2);
+        when(tripRepository.findRecentByStatus(TripStatus.DISPATCHED, Limit.of(2)))
+                .thenReturn(List.of(trip(low, TripStatus.DISPATCHED, 0)));
+        when(tripRepository.findRecentByStatus(TripStatus.COMPLETED, Limit.of(2)))
+                .thenReturn(List.of(trip(high, TripStatus.COMPLETED, 0)));
+
+        List<TripResponse> recent = tripService.getRecentTrips(
+                List.of(TripStatus.DISPATCHED, TripStatus.COMPLETED), 2);
+
+        assertThat(recent).extracting(TripResponse::getId).containsExactly(high, low);
+    }
+
+    @Test
+    void fewerRowsThanTheLimitAreAllReturned() {
+        when(tripRepository.findRecentByStatus(any(), any())).thenReturn(List.of());
+        when(tripRepository.findRecentByStatus(TripStatus.COMPLETED, Limit.of(10)))
+                .thenReturn(trips(TripStatus.COMPLETED, 2, 5));
+
+        List<TripResponse> recent = tripService.getRecentTrips(
+                List.of(TripStatus.DISPATCHED, TripStatus.COMPLETED), 10);
+
+        assertThat(recent).extracting(TripResponse::getUpdatedAt).containsExactly(minutesAgo(2), minutesAgo(5));
+    }
+
+    // ---- Helpers ----
+
+    private List<Trip> trips(TripStatus status, int... minutesAgo) {
+        List<Trip> trips = new ArrayList<>();
+        for (int m : minutesAgo) {
+            trips.add(trip(UUID.randomUUID(), status, m));
+        }
+        return trips;
+    }
+
+    private Trip trip(UUID id, TripStatus status, int minutesAgo) {
+        return Trip.builder().id(id).status(status).vehicle(vehicle).driver(driver)
+                .updatedAt(minutesAgo(minutesAgo)).build();
+    }
+
+    private static LocalDateTime minutesAgo(int minutes) {
+        return NOW.minusMinutes(minutes);
+    }
+}
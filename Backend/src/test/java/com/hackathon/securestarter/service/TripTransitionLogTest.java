@@ -0,0 +1,65 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.CreateTripRequest;
+import com.hackathon.securestarter.dto.response.TripResponse;
+import com.hackathon.securestarter.dto.response.TripTransitionResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transitions are written from the outbox, so they survive until the relay delivers them.
+ * The scheduled relay is pushed out of the way; the test drives it by hand.
+ */
+@SpringBootTest(properties = "outbox.relay.interval-ms=3600000")
+class TripTransitionLogTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private DriverRepository driverRepository;
+
+    @Autowired private TripService tripService;
+    @Autowired private TripTransitionLog tripTransitionLog;
+    @Autowired private EventOutbox eventOutbox;
+
+    @Test
+    void transitionsAreLoggedOnceWhenTheRelayDelivers() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User dispatcher = userRepository.save(User.builder().name("Dispatcher").email("transition-" + run + "@fleetflow.test")
+                .passwordHash("x").employeeId("TRN-" + run).role(Role.DISPATCHER).build());
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder().licensePlate("TRN-" + run).name("Truck").model("M")
+                .type(VehicleType.TRUCK).maxLoadCapacity(1000.0).build());
+        Driver driver = driverRepository.save(Driver.builder().name("Driver").licenseNumber("TRN-" + run)
+                .licenseExpiryDate(LocalDate.now().plusYears(1)).licenseCategory("Truck").build());
+
+        TripResponse trip = tripService.createTrip(
+                new CreateTripRequest(vehicle.getId(), driver.getId(), 100.0, "A", "B", null), dispatcher);
+        tripService.dispatchTrip(trip.getId(), dispatcher);
+        assertThat(tripTransitionLog.getHistory(trip.getId())).isEmpty();
+
+        eventOutbox.relay();
+        // Delivered events are not picked up again
+        eventOutbox.relay();
+
+        List<TripTransitionResponse> history = tripTransitionLog.getHistory(trip.getId());
+        assertThat(history).extracting(TripTransitionResponse::getToStatus)
+                .containsExactly(TripStatus.DRAFT, TripStatus.DISPATCHED);
+        assertThat(history.get(0).getFromStatus()).isNull();
+        assertThat(history.get(1).getChangedBy()).isEqualTo(dispatcher.getId());
+    }
+}
@@ -0,0 +1,253 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.CompleteTripRequest;
+import com.hackathon.securestarter.dto.request.CreateMaintenanceLogRequest;
+import com.hackathon.securestarter.dto.request.CreateTripRequest;
+import com.hackathon.securestarter.dto.request.CreateVehicleRequest;
+import com.hackathon.securestarter.dto.request.UpdateVehicleRequest;
+import com.hackathon.securestarter.dto.response.AssignmentProposalResponse;
+import com.hackathon.securestarter.dto.response.AssignmentProposalResponse.TripProposal;
+import com.hackathon.securestarter.dto.response.MaintenanceLogResponse;
+import com.hackathon.securestarter.dto.response.TripResponse;
+import com.hackathon.securestarter.entity.Driver;
+import com.hackathon.securestarter.entity.Trip;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.entity.Vehicle;
+import com.hackathon.securestarter.enums.MaintenanceStatus;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.TripStatus;
+import com.hackathon.securestarter.enums.VehicleStatus;
+import com.hackathon.securestarter.enums.VehicleType;
+import com.hackathon.securestarter.exception.ResourceNotFoundException;
+import com.hackathon.securestarter.repository.DriverRepository;
+import com.hackathon.securestarter.repository.TripRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.repository.VehicleRepository;
+import com.hackathon.securestarter.util.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class VehicleAssignmentServiceTest {
+
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private DriverRepository driverRepository;
+
+    @Autowired private VehicleService vehicleService;
+    @Autowired private TripService tripService;
+    @Autowired private MaintenanceLogService maintenanceLogService;
+    @Autowired private VehicleAssignmentService vehicleAssignmentService;
+
+    private final TripRepository tripRepository = mock(TripRepository.class);
+
+    private long nextTripNumber = 1;
+
+    @Test
+    void bestFitIsTheSmallestVehicleThatCarriesTheCargo() {
+        Vehicle small = vehicle(VehicleType.TRUCK, 500.0);
+        Vehicle medium = vehicle(VehicleType.TRUCK, 1000.0);
+        Vehicle large = vehicle(VehicleType.TRUCK, 2000.0);
+        VehicleAssignmentService service = indexOf(large, small, medium);
+
+        assertThat(service.findBestFit(10.0, VehicleType.TRUCK)).isEqualTo(small.getId());
+        // Exact capacity is a fit
+        assertThat(service.findBestFit(1000.0, VehicleType.TRUCK)).isEqualTo(medium.getId());
+        assertThat(service.findBestFit(1000.5, VehicleType.TRUCK)).isEqualTo(large.getId());
+        assertThatThrownBy(() -> service.findBestFit(2000.5, VehicleType.TRUCK))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage(Constants.NO_VEHICLE_FITS_CARGO);
+    }
+
+    @Test
+    void withoutATypeTheTightestFitAcrossTypesWins() {
+        Vehicle truck = vehicle(VehicleType.TRUCK, 1200.0);
+        Vehicle van = vehicle(VehicleType.VAN, 900.0);
+        Vehicle bike = vehicle(VehicleType.BIKE, 50.0);
+        VehicleAssignmentService service = indexOf(truck, van, bike);
+
+        assertThat(service.findBestFit(800.0, null)).isEqualTo(van.getId());
+        assertThat(service.findBestFit(950.0, null)).isEqualTo(truck.getId());
+        assertThat(service.findBestFit(20.0, null)).isEqualTo(bike.getId());
+        assertThat(service.findBestFit(800.0, VehicleType.TRUCK)).isEqualTo(truck.getId());
+        assertThatThrownBy(() -> service.findBestFit(800.0, VehicleType.BIKE))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void proposalsUseEachVehicleOnceAndPlaceAsManyTripsAsPossible() {
+        for (long seed = 0; seed < 500; seed++) {
+            Random random = new Random(seed);
+            List<Vehicle> vehicles = new ArrayList<>();
+            for (int i = random.nextInt(15); i > 0; i--) {
+                vehicles.add(vehicle(TYPES[random.nextInt(TYPES.length)], 250.0 * (1 + random.nextInt(8))));
+            }
+            List<Trip> trips = new ArrayList<>();
+            for (int i = random.nextInt(20); i > 0; i--) {
+                trips.add(draft(50.0 * (1 + random.nextInt(45))));
+            }
+            VehicleType type = random.nextBoolean() ? null : TYPES[random.nextInt(TYPES.length)];
+            VehicleAssignmentService service = indexOf(vehicles.toArray(Vehicle[]::new));
+
+            AssignmentProposalResponse response = propose(service, trips, type);
+
+            String context = "seed " + seed;
+            Map<UUID, Vehicle> vehiclesById = new HashMap<>();
+            vehicles.forEach(vehicle -> vehiclesById.put(vehicle.getId(), vehicle));
+            Set<UUID> used = new HashSet<>();
+            for (TripProposal proposal : response.getProposals()) {
+                if (proposal.getProposedVehicleId() == null) {
+                    assertThat(proposal.getReason()).as(context).isEqualTo(Constants.NO_VEHICLE_FITS_CARGO);
+                    continue;
+                }
+                Vehicle vehicle = vehiclesById.get(proposal.getProposedVehicleId());
+                assertThat(used.add(vehicle.getId())).as(context + ": vehicle proposed twice").isTrue();
+                assertThat(vehicle.getMaxLoadCapacity()).as(context).isGreaterThanOrEqualTo(proposal.getCargoWeight());
+                if (type != null) {
+                    assertThat(vehicle.getType()).as(context).isEqualTo(type);
+                }
+            }
+            assertThat(response.getProposed()).as(context).isEqualTo(maximumPlaceable(trips, vehicles, type));
+            // Proposals work on a copy: the index still offers every vehicle
+            assertThat(service.getIndexedVehicleCount()).as(context).isEqualTo(vehicles.size());
+        }
+    }
+
+    @Test
+    void tripsThatCannotBeProposedAreReportedInRequestOrder() {
+        Vehicle truck = vehicle(VehicleType.TRUCK, 1000.0);
+        VehicleAssignmentService service = indexOf(truck);
+        Trip light = draft(200.0);
+        Trip heavy = draft(900.0);
+        Trip dispatched = draft(100.0);
+        dispatched.setStatus(TripStatus.DISPATCHED);
+        UUID missing = UUID.randomUUID();
+        when(tripRepository.findByIdIn(any())).thenReturn(List.of(light, heavy, dispatched));
+
+        AssignmentProposalResponse response = service.proposeAssignments(
+                List.of(light.getId(), missing, dispatched.getId(), heavy.getId(), light.getId()), null);
+
+        assertThat(response.getRequested()).isEqualTo(4);
+        assertThat(response.getProposed()).isEqualTo(1);
+        assertThat(response.getProposals()).extracting(TripProposal::getTripId)
+                .containsExactly(light.getId(), missing, dispatched.getId(), heavy.getId());
+        // The heavier trip is planned first and takes the only truck
+        assertThat(response.getProposals().get(3).getProposedVehicleId()).isEqualTo(truck.getId());
+        assertThat(response.getProposals().get(3).getCapacitySlack()).isEqualTo(100.0);
+        assertThat(response.getProposals()).extracting(TripProposal::getReason).containsExactly(
+                Constants.NO_VEHICLE_FITS_CARGO, Constants.TRIP_NOT_FOUND,
+                "Only DRAFT trips can be assigned. Current status: DISPATCHED", null);
+    }
+
+    @Test
+    void indexFollowsDispatchCompletionMaintenanceAndEdits() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User manager = userRepository.save(User.builder().name("Manager").email("assign-" + run + "@fleetflow.test")
+                .passwordHash("x").employeeId("ASG-" + run).role(Role.FLEET_MANAGER).build());
+        Driver driver = driverRepository.save(Driver.builder().name("Driver").licenseNumber("ASG-" + run)
+                .licenseExpiryDate(LocalDate.now().plusYears(1)).licenseCategory("Truck").build());
+        // Larger than anything else in the shared context, so only this vehicle can fit it
+        double capacity = 1_000_000.0 + new Random().nextInt(1_000_000);
+        UUID vehicleId = vehicleService.createVehicle(new CreateVehicleRequest("ASG-" + run, "Truck", "M",
+                VehicleType.TRUCK, capacity, 0.0, null), manager).getId();
+        assertThat(isBestFit(vehicleId, capacity, VehicleType.TRUCK)).isTrue();
+
+        TripResponse trip = tripService.createTrip(
+                new CreateTripRequest(vehicleId, driver.getId(), 100.0, "A", "B", null), manager);
+        assertThat(isBestFit(vehicleId, capacity, VehicleType.TRUCK)).isTrue();
+
+        tripService.dispatchTrip(trip.getId(), manager);
+        assertThat(isBestFit(vehicleId, capacity, VehicleType.TRUCK)).isFalse();
+
+        tripService.completeTrip(trip.getId(), new CompleteTripRequest(150.0, null), manager);
+        assertThat(isBestFit(vehicleId, capacity, VehicleType.TRUCK)).isTrue();
+
+        MaintenanceLogResponse maintenance = maintenanceLogService.createMaintenanceLog(
+                new CreateMaintenanceLogRequest(vehicleId, "Oil change", null, LocalDate.now(), null), manager);
+        assertThat(isBestFit(vehicleId, capacity, VehicleType.TRUCK)).isFalse();
+
+        maintenanceLogService.updateMaintenanceStatus(maintenance.getId(), MaintenanceStatus.RESOLVED, manager);
+        assertThat(isBestFit(vehicleId, capacity, VehicleType.TRUCK)).isTrue();
+
+        // An edit re-reads the vehicle: new type and capacity, old entry gone
+        vehicleService.updateVehicle(vehicleId,
+                new UpdateVehicleRequest(null, null, VehicleType.VAN, capacity + 1, null), manager);
+        assertThat(isBestFit(vehicleId, capacity + 1, VehicleType.VAN)).isTrue();
+        assertThat(isBestFit(vehicleId, capacity, VehicleType.TRUCK)).isFalse();
+    }
+
+    // ---- Helpers ----
+
+    private VehicleAssignmentService indexOf(Vehicle... vehicles) {
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+        when(vehicleRepository.findByStatus(VehicleStatus.AVAILABLE)).thenReturn(List.of(vehicles));
+        VehicleAssignmentService service = new VehicleAssignmentService(vehicleRepository, tripRepository);
+        service.rebuild();
+        return service;
+    }
+
+    private AssignmentProposalResponse propose(VehicleAssignmentService service, List<Trip> trips, VehicleType type) {
+        when(tripRepository.findByIdIn(any())).thenReturn(trips);
+        return service.proposeAssignments(trips.stream().map(Trip::getId).toList(), type);
+    }
+
+    /**
+     * Most trips any one-vehicle-per-trip assignment can place: match the lightest trips
+     * to the smallest vehicles that carry them.
+     */
+    private static int maximumPlaceable(List<Trip> trips, List<Vehicle> vehicles, VehicleType type) {
+        double[] weights = trips.stream().mapToDouble(Trip::getCargoWeight).sorted().toArray();
+        double[] capacities = vehicles.stream()
+                .filter(vehicle -> type == null || vehicle.getType() == type)
+                .mapToDouble(Vehicle::getMaxLoadCapacity).sorted().toArray();
+        int placed = 0;
+        int next = 0;
+        for (double weight : weights) {
+            while (next < capacities.length && capacities[next] < weight) {
+                next++;
+            }
+            if (next == capacities.length) {
+                break;
+            }
+            placed++;
+            next++;
+        }
+        return placed;
+    }
+
+    private boolean isBestFit(UUID vehicleId, double cargoWeight, VehicleType type) {
+        try {
+            return vehicleAssignmentService.findBestFit(cargoWeight, type).equals(vehicleId);
+        } catch (ResourceNotFoundException e) {
+            return false;
+        }
+    }
+
+    private Trip draft(double cargoWeight) {
+        return Trip.builder().id(UUID.randomUUID()).tripNumber(nextTripNumber++).cargoWeight(cargoWeight)
+                .status(TripStatus.DRAFT).vehicle(vehicle(VehicleType.TRUCK, 1.0)).build();
+    }
+
+    private static Vehicle vehicle(VehicleType type, double capacity) {
+        return Vehicle.builder().id(UUID.randomUUID()).name("Truck").licensePlate("A").type(type)
+                .maxLoadCapacity(capacity).status(VehicleStatus.AVAILABLE).build();
+    }
+}
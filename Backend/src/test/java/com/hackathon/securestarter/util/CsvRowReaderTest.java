@@ -0,0 +1,51 @@
+package com.hackathon.securestarter.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        CsvRowReader csv = new CsvRowReader(new StringReader(
+                "origin,destination,note\n"
+                        + "\"Mumbai, Andheri\",\"Pune \"\"East\"\"\",\"two\nlines\"\n"
+                        + "Nashik,Surat,\n"));
+
+        assertThat(csv.next()).containsExactly("origin", "destination", "note");
+        assertThat(csv.getLineNumber()).isEqualTo(1);
+
+        assertThat(csv.next()).containsExactly("Mumbai, Andheri", "Pune \"East\"", "two\nlines");
+        assertThat(csv.getLineNumber()).isEqualTo(2);
+
+        // The previous record spanned two physical lines
+        assertThat(csv.next()).containsExactly("Nashik", "Surat", "");
+        assertThat(csv.getLineNumber()).isEqualTo(4);
+
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void crlfAndBlankLinesAreHandled() throws IOException {
+        CsvRowReader csv = new CsvRowReader(new StringReader("a,b\r\n\r\n\nc,d\r\ne,\"f\""));
+
+        assertThat(csv.next()).containsExactly("a", "b");
+        List<String> second = csv.next();
+        assertThat(second).containsExactly("c", "d");
+        assertThat(csv.getLineNumber()).isEqualTo(4);
+        assertThat(csv.next()).containsExactly("e", "f");
+        assertThat(csv.getLineNumber()).isEqualTo(5);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(new CsvRowReader(new StringReader("")).next()).isNull();
+        assertThat(new CsvRowReader(new StringReader("\n\n")).next()).isNull();
+    }
+}
@@ -0,0 +1,46 @@
+package com.hackathon.securestarter.util;
+
+import com.hackathon.securestarter.dto.response.FuelLogResponse;
+import com.hackathon.securestarter.enums.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportResponseWriterTest {
+
+    private final ExportResponseWriter writer = new ExportResponseWriter(JsonMapper.builder().build());
+
+    @Test
+    void csvWithoutRowsStillHasHeader() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.<FuelLogResponse>write(response, ExportFormat.CSV, "fuel-logs", FuelLogResponse.class, sink -> {
+        });
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(lines[0]).startsWith("id,").contains("liters", "cost");
+    }
+
+    @Test
+    void csvRowsFollowHeaderColumns() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FuelLogResponse row = FuelLogResponse.builder().liters(40.0).cost(new BigDecimal("12.50")).build();
+
+        writer.<FuelLogResponse>write(response, ExportFormat.CSV, "fuel-logs", FuelLogResponse.class,
+                sink -> sink.accept(row));
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        String[] header = lines[0].split(",", -1);
+        String[] values = lines[1].split(",", -1);
+        assertThat(values).hasSameSizeAs(header);
+        assertThat(values[Arrays.asList(header).indexOf("liters")]).isEqualTo("40.0");
+    }
+}